@@ -20,11 +20,16 @@ public class LevelDisplayDefinition {
     private GamePaneSize gamePane = new GamePaneSize();
     /** Optional override of port sizes per shape. Keys: SQUARE, TRIANGLE, HEXAGON. */
     private Map<String, Double> portSizes = new HashMap<>();
+    /** Packet drawing: "nodes", "canvas", or "auto" (canvas once the packet count gets high). */
+    private String packetRenderer = "auto";
 
     public GamePaneSize getGamePane() { return gamePane; }
     public void setGamePane(GamePaneSize gamePane) { this.gamePane = gamePane; }
 
     public Map<String, Double> getPortSizes() { return portSizes; }
     public void setPortSizes(Map<String, Double> portSizes) { this.portSizes = portSizes; }
+
+    public String getPacketRenderer() { return packetRenderer; }
+    public void setPacketRenderer(String packetRenderer) { this.packetRenderer = packetRenderer; }
 }
 
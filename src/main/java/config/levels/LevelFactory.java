@@ -7,6 +7,7 @@ import model.entity.ports.PortType;
 import model.entity.ports.SquarePort;
 import model.entity.ports.TrianglePort;
 import model.entity.systems.AntiVirusSystem;
+import model.entity.systems.BufferingSystem;
 import model.entity.systems.DDosSystem;
 import model.entity.systems.DistributorSystem;
 import model.entity.systems.EndSystem;
@@ -15,6 +16,17 @@ import model.entity.systems.MergeSystem;
 import model.entity.systems.SpySystem;
 import model.entity.systems.StartSystem;
 import model.entity.systems.System;
+import model.entity.systems.SystemBehavior;
+import service.log.Log;
+import manager.systems.AntiVirusSystemManager;
+import manager.systems.DDosSystemManager;
+import manager.systems.DistributorSystemManager;
+import manager.systems.EndSystemManager;
+import manager.systems.IntermediateSystemManager;
+import manager.systems.MergeSystemManager;
+import manager.systems.SpySystemManager;
+import manager.systems.StartSystemManager;
+import manager.systems.VPNSystemManager;
 
 /**
  * Builds a model {@link Level} instance from a {@link LevelDefinition}.
@@ -32,6 +44,12 @@ public class LevelFactory {
         if (targetCoins > currentCoins) {
             level.addCoins(targetCoins - currentCoins);
         }
+        if (definition.getModel().getRandomSeed() != null) {
+            level.setRandomSeed(definition.getModel().getRandomSeed());
+        }
+        // Logged so a run without a configured seed can be replayed by putting this one in the level file
+        long seed = level.getRandom().getSeed();
+        Log.info("LevelFactory", () -> "level random seed: " + seed);
 
         for (SystemDefinition sysDef : definition.getSystems()) {
             System system = instantiateSystem(sysDef);
@@ -40,7 +58,9 @@ public class LevelFactory {
             for (PortDefinition portDef : sysDef.getPorts()) {
                 addPortToSystem(system, portDef);
             }
+            applyStorageConfig(system, sysDef);
             level.addSystem(system);
+            system.setBehavior(createBehavior(sysDef, system, level));
         }
 
         // Optional: flags like impact/collisions can be applied once public API exists on Level
@@ -64,6 +84,38 @@ public class LevelFactory {
         }
     }
 
+    private void applyStorageConfig(System system, SystemDefinition sysDef) {
+        if (!(system instanceof BufferingSystem)) return;
+        if (sysDef.getStorageCapacity() == null && sysDef.getOverflowPolicy() == null) return;
+        BufferingSystem buffering = (BufferingSystem) system;
+        int capacity = sysDef.getStorageCapacity() != null ? sysDef.getStorageCapacity() : buffering.getStorageCapacity();
+        if (capacity < 1) throw new IllegalArgumentException("storageCapacity must be at least 1 for system " + sysDef.getId());
+        buffering.configureStorage(capacity, sysDef.getOverflowPolicy());
+    }
+
+    /**
+     * One long-lived manager per system, so per-system state survives between steps
+     */
+    private SystemBehavior createBehavior(SystemDefinition sysDef, System system, Level level) {
+        switch (sysDef.getType()) {
+            case START: return new StartSystemManager((StartSystem) system, level);
+            case INTERMEDIATE: return new IntermediateSystemManager((IntermediateSystem) system);
+            case END: return new EndSystemManager((EndSystem) system, level);
+            case DDOS: return new DDosSystemManager((DDosSystem) system);
+            case SPY: return new SpySystemManager((SpySystem) system);
+            case VPN: {
+                VPNSystemManager manager = new VPNSystemManager((model.entity.systems.VPNSystem) system);
+                manager.setLevel(level); // Required for global VPN failure handling
+                return manager;
+            }
+            case DISTRIBUTOR: return new DistributorSystemManager((DistributorSystem) system, level);
+            case MERGE: return new MergeSystemManager((MergeSystem) system);
+            case ANTIVIRUS: return new AntiVirusSystemManager((AntiVirusSystem) system, level);
+            default:
+                throw new IllegalArgumentException("Unsupported system type: " + sysDef.getType());
+        }
+    }
+
     private void addPortToSystem(System system, PortDefinition portDef) {
         Point2D p = new Point2D(portDef.getPosition().getX(), portDef.getPosition().getY());
         PortType role = portDef.getRole() == PortDefinition.PortRole.INPUT ? PortType.INPUT : PortType.OUTPUT;
@@ -8,6 +8,7 @@ public class LevelModelDefinition {
     private int initialCoins = 20;
     private boolean impactDisabled = false;
     private boolean collisionsDisabled = false;
+    private Long randomSeed; // optional; fixed seed for reproducible runs
 
     public int getWireLength() { return wireLength; }
     public void setWireLength(int wireLength) { this.wireLength = wireLength; }
@@ -20,5 +21,8 @@ public class LevelModelDefinition {
 
     public boolean isCollisionsDisabled() { return collisionsDisabled; }
     public void setCollisionsDisabled(boolean collisionsDisabled) { this.collisionsDisabled = collisionsDisabled; }
+
+    public Long getRandomSeed() { return randomSeed; }
+    public void setRandomSeed(Long randomSeed) { this.randomSeed = randomSeed; }
 }
 
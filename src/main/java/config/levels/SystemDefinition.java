@@ -2,6 +2,7 @@ package config.levels;
 
 import java.util.ArrayList;
 import java.util.List;
+import model.entity.systems.PacketStorage;
 
 /**
  * Data model for a system node defined in a level configuration file.
@@ -19,6 +20,10 @@ public class SystemDefinition {
     private Point position;
     /** Ports defined for this system. */
     private List<PortDefinition> ports = new ArrayList<>();
+    /** Optional packet storage capacity for buffering systems; type default if absent. */
+    private Integer storageCapacity;
+    /** Optional overflow policy for buffering systems; type default if absent. */
+    private PacketStorage.OverflowPolicy overflowPolicy;
 
     public SystemDefinition() {}
 
@@ -33,5 +38,11 @@ public class SystemDefinition {
 
     public List<PortDefinition> getPorts() { return ports; }
     public void setPorts(List<PortDefinition> ports) { this.ports = ports; }
+
+    public Integer getStorageCapacity() { return storageCapacity; }
+    public void setStorageCapacity(Integer storageCapacity) { this.storageCapacity = storageCapacity; }
+
+    public PacketStorage.OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+    public void setOverflowPolicy(PacketStorage.OverflowPolicy overflowPolicy) { this.overflowPolicy = overflowPolicy; }
 }
 
@@ -5,9 +5,11 @@ import model.logic.system.CollisionSystem;
 import model.levels.Level;
 import model.entity.packets.Packet;
 import manager.game.ImpactManager;
+import manager.packets.PacketManager;
 import controller.PacketController;
 import javafx.geometry.Point2D;
 import model.entity.packets.HexagonPacket;
+import service.log.Log;
 
 public class CollisionController {
     private final Level level;
@@ -37,7 +39,7 @@ public class CollisionController {
     private void handleCollisionResponse(Packet p1, Packet p2, Point2D collisionPoint) {
         // Debug output for hexagon packets
         if (p1.getType() == model.entity.packets.PacketType.HEXAGON || p2.getType() == model.entity.packets.PacketType.HEXAGON) {
-            System.out.println("🔶 HEXAGON COLLISION RESPONSE: Processing collision between " + p1.getId() + " and " + p2.getId());
+            Log.debug("CollisionController", () -> "🔶 HEXAGON COLLISION RESPONSE: Processing collision between " + p1.getId() + " and " + p2.getId());
         }
         
         // Handle hexagon packet direction changes - ONLY ONCE
@@ -45,14 +47,14 @@ public class CollisionController {
             HexagonPacket hexPacket = (HexagonPacket) p1;
             if (hexPacket.getMovementState() == model.logic.packet.PacketState.FORWARD) {
                 hexPacket.changeDirection();
-                System.out.println("🔄 HEXAGON COLLISION: " + p1.getId() + " changed to RETURNING due to collision");
+                Log.debug("CollisionController", () -> "🔄 HEXAGON COLLISION: " + p1.getId() + " changed to RETURNING due to collision");
             }
         }
         if (p2 instanceof HexagonPacket) {
             HexagonPacket hexPacket = (HexagonPacket) p2;
             if (hexPacket.getMovementState() == model.logic.packet.PacketState.FORWARD) {
                 hexPacket.changeDirection();
-                System.out.println("🔄 HEXAGON COLLISION: " + p2.getId() + " changed to RETURNING due to collision");
+                Log.debug("CollisionController", () -> "🔄 HEXAGON COLLISION: " + p2.getId() + " changed to RETURNING due to collision");
             }
         }
         
@@ -62,20 +64,20 @@ public class CollisionController {
         
         // Check if packets should be destroyed
         if (!p1.isAlive()) {
-            System.out.println("COLLISION: Packet " + p1.getId() + " destroyed due to collision");
-            packetController.killPacket(p1);
+            Log.debug("CollisionController", () -> "COLLISION: Packet " + p1.getId() + " destroyed due to collision");
+            PacketManager.killPacket(p1);
         }
         
         if (!p2.isAlive()) {
-            System.out.println("COLLISION: Packet " + p2.getId() + " destroyed due to collision");
-            packetController.killPacket(p2);
+            Log.debug("CollisionController", () -> "COLLISION: Packet " + p2.getId() + " destroyed due to collision");
+            PacketManager.killPacket(p2);
         }
         
         // Handle impact wave if not disabled
         if (!level.isImpactDisabled()) {
-            ImpactManager.handleImpactWave(collisionPoint, level.getPackets(), packetController);
+            ImpactManager.handleImpactWave(collisionPoint, level.getPacketIndex(), packetController);
         } else {
-            System.out.println("IMPACT WAVES DISABLED: Skipping impact wave generation");
+            Log.debug("CollisionController", () -> "IMPACT WAVES DISABLED: Skipping impact wave generation");
         }
     }
 }
\ No newline at end of file
@@ -3,24 +3,25 @@ package controller;
 import model.levels.Level;
 import view.game.GameScene;
 import view.game.HUDScene;
+import view.game.TemporalProgress;
 import view.game.GameButtons;
 import view.components.levels.LevelView;
 import view.components.ports.PortView;
 import manager.game.VisualManager;
 import manager.game.MovementManager;
+import manager.game.SimulationEngine;
+import manager.game.SimulationTimeline;
 import manager.game.ConnectionManager;
 import manager.game.ShopManager;
 // import manager.game.ImpactManager;
 import manager.packets.PacketManager;
 import javafx.animation.AnimationTimer;
-import javafx.animation.Timeline;
-import javafx.animation.KeyFrame;
-import javafx.util.Duration;
 import javafx.scene.layout.Pane;
 // import javafx.geometry.Point2D;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.text.Text;
 import model.wire.Wire;
+import service.log.Log;
 
 public class GameController {
     private final Level level;
@@ -37,13 +38,12 @@ public class GameController {
     
     // Managers
     private final MovementManager movementManager;
+    private final SimulationEngine simulationEngine;
     private final ConnectionManager connectionManager;
     private final ShopManager shopManager;
     
     // Game loop
     private AnimationTimer gameLoop;
-    private Timeline systemUpdateTimer;
-    private Timeline continuousTransferTimer;  // NEW: 10ms timer for packet storage transfers
     private boolean isRunning = false;
     // Aergia placement state
     private boolean awaitingAergiaPlacement = false;
@@ -93,8 +93,6 @@ public class GameController {
         // Initialize managers
         this.connectionManager = new ConnectionManager(level, level.getWireLength());
         this.shopManager = new ShopManager(level);
-        this.movementManager = new MovementManager();
-        
         // Initialize controllers
         this.packetController = new PacketController();
         this.packetController.setLevel(level);
@@ -104,6 +102,7 @@ public class GameController {
             this.packetController.setPacketLayer(gameScene.getGamePane());
         } else if (levelView != null) {
             this.packetController.setPacketLayer(levelView.getGamePane());
+            this.packetController.setRenderMode(levelView.getPacketRenderMode());
         }
         
         this.systemController = new SystemController(level, packetController);
@@ -114,12 +113,12 @@ public class GameController {
         }
         this.collisionController = new CollisionController(level, packetController);
         this.wireController = new WireController();
+        this.simulationEngine = new SimulationEngine(level, systemController.getNetworkSystem(), collisionController);
+        this.movementManager = new MovementManager(simulationEngine);
         
         // Setup controllers
         setupControllers();
         setupGameLoop();
-        setupSystemTimer();
-        setupContinuousTransferTimer(); // Setup the new timer
         setupEventHandlers();
         
         // Setup port views after everything is initialized
@@ -230,40 +229,44 @@ public class GameController {
         Pane pane = (gameScene != null) ? gameScene.getGamePane() : (levelView != null ? levelView.getGamePane() : null);
         if (pane == null) return;
         pane.addEventFilter(MouseEvent.MOUSE_CLICKED, e -> {
-            java.lang.System.out.println("DEBUG: Mouse clicked in game pane - awaitingAergiaPlacement: " + awaitingAergiaPlacement);
+            Log.debug("GameController", () -> "Mouse clicked in game pane - awaitingAergiaPlacement: " + awaitingAergiaPlacement);
             if (!awaitingAergiaPlacement) return;
             
             // Select the nearest ACTIVE wire to the click using geometric distance
             javafx.geometry.Point2D local = pane.sceneToLocal(e.getSceneX(), e.getSceneY());
-            java.lang.System.out.println("DEBUG: Click position: " + local);
+            Log.debug("GameController", () -> "Click position: " + local);
             
             Wire chosenWire = null;
             double chosenT = 0.0;
             double bestDistance = Double.MAX_VALUE;
             double tolerancePx = 16.0; // how close the click must be to a wire path
-            for (model.wire.Wire w : connectionManager.getWires()) {
+            // Only wires with a segment box within tolerance of the click can qualify
+            for (model.wire.Wire w : level.getLayoutIndex().wiresNear(local.getX(), local.getY(), tolerancePx)) {
                 if (w == null || !w.isActive()) continue;
-                double tCandidate = model.logic.Shop.AergiaLogic.findClosestProgress(w, local);
-                javafx.geometry.Point2D posOnWire = w.getPositionAtProgress(tCandidate);
-                double d = posOnWire.distance(local);
-                java.lang.System.out.println("DEBUG: Candidate wire " + w.getId() + " distance=" + String.format("%.1f", d));
+                model.wire.Wire.ClosestPoint closest = w.findClosestPoint(local);
+                double tCandidate = closest.getProgress();
+                double d = closest.getDistance();
+                Log.debug("GameController", () -> "Candidate wire " + w.getId() + " distance=" + d);
                 if (d < bestDistance) {
                     bestDistance = d;
                     chosenWire = w;
                     chosenT = tCandidate;
                 }
             }
-            if (chosenWire == null || bestDistance > tolerancePx) {
-                java.lang.System.out.println("DEBUG: No ACTIVE wire close enough to click (bestDistance=" + String.format("%.1f", bestDistance) + ")");
+            final double closestDistance = bestDistance;
+            if (chosenWire == null || closestDistance > tolerancePx) {
+                Log.debug("GameController", () -> "No ACTIVE wire close enough to click (bestDistance=" + closestDistance + ")");
                 return;
             }
-            java.lang.System.out.println("DEBUG: Placing Aergia mark on active wire: " + chosenWire.getId() +
-                " at progress=" + String.format("%.3f", chosenT) + ", distance≈" + String.format("%.1f", bestDistance));
+            final Wire placedWire = chosenWire;
+            final double placedT = chosenT;
+            Log.debug("GameController", () -> "Placing Aergia mark on active wire: " + placedWire.getId() +
+                " at progress=" + placedT + ", distance≈" + closestDistance);
             // Place mark
             model.logic.Shop.AergiaLogic.addMark(level, chosenWire, chosenT);
             // Consume a scroll
             level.addAergiaScrolls(-1);
-            java.lang.System.out.println("DEBUG: Consumed 1 Aergia scroll - remaining: " + level.getAergiaScrolls());
+            Log.debug("GameController", () -> "Consumed 1 Aergia scroll - remaining: " + level.getAergiaScrolls());
             
             // Visualize a ❌ at that position
             javafx.geometry.Point2D p = chosenWire.getPositionAtProgress(chosenT);
@@ -273,22 +276,13 @@ public class GameController {
             cross.setY(p.getY() + 6);
             pane.getChildren().add(cross);
             
-            // Track this visual mark for position updates
-            long removeTime = java.lang.System.nanoTime() + 20_000_000_000L; // 20 seconds
+            // Track this visual mark for position updates; removed when the effect ends on the simulation clock
+            long removeTime = level.getClock().nanoTime() + model.logic.Shop.AergiaLogic.EFFECT_DURATION_NANOS;
             AergiaMarkVisual visual = new AergiaMarkVisual(cross, chosenWire, chosenT, removeTime);
             activeAergiaVisuals.add(visual);
-            
-            // Remove cross when effect ends (20s)
-            javafx.animation.PauseTransition delay = new javafx.animation.PauseTransition(javafx.util.Duration.seconds(20));
-            delay.setOnFinished(ev -> {
-                pane.getChildren().remove(cross);
-                activeAergiaVisuals.remove(visual);
-                java.lang.System.out.println("DEBUG: Aergia mark visual removed after 20 seconds");
-            });
-            delay.play();
             awaitingAergiaPlacement = false;
-            java.lang.System.out.println("DEBUG: Aergia placement complete - awaitingPlacement set to false");
-            java.lang.System.out.println("DEBUG: Current cooldown status: " + level.isAergiaOnCooldown() + 
+            Log.debug("GameController", () -> "Aergia placement complete - awaitingPlacement set to false");
+            Log.debug("GameController", () -> "Current cooldown status: " + level.isAergiaOnCooldown() + 
                 ", cooldownEnd: " + level.getAergiaCooldownEnd());
             if (gameScene != null) gameScene.updateAergiaButtonText();
             HUDScene currentHud = getHUDScene();
@@ -307,11 +301,11 @@ public class GameController {
             double chosenT = 0.0;
             double bestDistance = Double.MAX_VALUE;
             double tolerancePx = 16.0;
-            for (model.wire.Wire w : connectionManager.getWires()) {
+            for (model.wire.Wire w : level.getLayoutIndex().wiresNear(local.getX(), local.getY(), tolerancePx)) {
                 if (w == null || !w.isActive()) continue;
-                double tCandidate = model.logic.Shop.AergiaLogic.findClosestProgress(w, local);
-                javafx.geometry.Point2D posOnWire = w.getPositionAtProgress(tCandidate);
-                double d = posOnWire.distance(local);
+                model.wire.Wire.ClosestPoint closest = w.findClosestPoint(local);
+                double tCandidate = closest.getProgress();
+                double d = closest.getDistance();
                 if (d < bestDistance) {
                     bestDistance = d;
                     chosenWire = w;
@@ -327,15 +321,9 @@ public class GameController {
             cross.setX(p.getX() - 6);
             cross.setY(p.getY() + 6);
             pane.getChildren().add(cross);
-            long removeTime = java.lang.System.nanoTime() + 30_000_000_000L; // 30 seconds
+            long removeTime = level.getClock().nanoTime() + model.logic.Shop.EliphasLogic.EFFECT_DURATION_NANOS;
             AergiaMarkVisual visual = new AergiaMarkVisual(cross, chosenWire, chosenT, removeTime);
             activeEliphasVisuals.add(visual);
-            javafx.animation.PauseTransition delay = new javafx.animation.PauseTransition(javafx.util.Duration.seconds(30));
-            delay.setOnFinished(ev -> {
-                pane.getChildren().remove(cross);
-                activeEliphasVisuals.remove(visual);
-            });
-            delay.play();
             awaitingEliphasPlacement = false;
             HUDScene currentHud = getHUDScene();
             if (currentHud != null) updateEliphasHudButtonEnabled(currentHud);
@@ -376,23 +364,13 @@ public class GameController {
      * Find a port at the given scene coordinates
      */
     private PortView findPortAtPosition(double sceneX, double sceneY) {
-        if (levelView == null) return null;
+        if (levelView == null || level == null) return null;
         
         Pane gamePane = levelView.getGamePane();
         
         // Convert scene coordinates to local coordinates relative to the game pane
         javafx.geometry.Point2D localPoint = gamePane.sceneToLocal(sceneX, sceneY);
-        
-        for (javafx.scene.Node node : gamePane.getChildren()) {
-            if (node instanceof view.components.ports.PortView) {
-                view.components.ports.PortView portView = (view.components.ports.PortView) node;
-                // Check if the local coordinates are within the port's bounds
-                if (portView.getBoundsInParent().contains(localPoint.getX(), localPoint.getY())) {
-                    return portView;
-                }
-            }
-        }
-        return null;
+        return view.components.ViewRegistry.findPortViewAt(level.getLayoutIndex(), localPoint.getX(), localPoint.getY());
     }
 
     /**
@@ -402,15 +380,19 @@ public class GameController {
         gameLoop = new AnimationTimer() {
             @Override
             public void handle(long now) {
+                // View changes from simulation steps, then packet views, are applied once per frame,
+                // paused or not (rewind moves packets)
+                PacketManager.applyViewUpdates();
+                packetController.renderFrame();
                 if (!level.isPaused()) {
-                    // Update packet movement
-                    movementManager.handle(now);
-                    
-                    // Update collision detection
-                    collisionController.runCollisionCheck();
-                    
+                    // Simulation is stepped by the SimulationEngine; this loop only renders
                     // Update UI
                     uiController.updateHUD();
+                    HUDScene hud = getHUDScene();
+                    if (hud != null) {
+                        updateTimeScaleButton(hud);
+                        updateTemporalProgress(hud);
+                    }
                     
             // Update cross mark positions to follow wire changes
             updateAergiaMarkPositions();
@@ -423,79 +405,17 @@ public class GameController {
         };
     }
 
-    /**
-     * Setup system update timer
-     */
-    private void setupSystemTimer() {
-        systemUpdateTimer = new Timeline(new KeyFrame(Duration.millis(100), e -> {
-            if (!level.isPaused()) {
-                systemController.processSystems();
-                systemController.updateSystemStates();
-            }
-        }));
-        systemUpdateTimer.setCycleCount(Timeline.INDEFINITE);
-    }
-
-    /**
-     * Continuous transfer timer for processing intermediate systems
-     */
-    private void setupContinuousTransferTimer() {
-        continuousTransferTimer = new Timeline(
-            new KeyFrame(Duration.millis(10), event -> {
-                if (level != null && !level.isPaused()) {
-                    // Process all intermediate, DDoS, AntiVirus, and spy systems for packet forwarding
-                    for (model.entity.systems.System system : level.getSystems()) {
-                        if (system instanceof model.entity.systems.IntermediateSystem) {
-                            model.entity.systems.IntermediateSystem intermediateSystem = 
-                                (model.entity.systems.IntermediateSystem) system;
-                            
-                            // Process the intermediate system for packet forwarding
-                            manager.systems.IntermediateSystemManager manager = 
-                                new manager.systems.IntermediateSystemManager(intermediateSystem);
-                            manager.forwardPackets();
-                        } else if (system instanceof model.entity.systems.DDosSystem) {
-                            model.entity.systems.DDosSystem ddosSystem = 
-                                (model.entity.systems.DDosSystem) system;
-                            
-                            // Process the DDoS system for packet forwarding
-                            manager.systems.DDosSystemManager manager = 
-                                new manager.systems.DDosSystemManager(ddosSystem);
-                            manager.forwardPackets();
-                        } else if (system instanceof model.entity.systems.AntiVirusSystem) {
-                            model.entity.systems.AntiVirusSystem antivirusSystem = 
-                                (model.entity.systems.AntiVirusSystem) system;
-                            
-                            // Process the AntiVirus system for packet forwarding
-                            manager.systems.AntiVirusSystemManager manager = 
-                                new manager.systems.AntiVirusSystemManager(antivirusSystem);
-                            manager.forwardPackets();
-                            
-                            // Process active trojan packets in range
-                            manager.processActiveTrojanPackets(level.getPackets());
-                        }
-                    }
-                    
-                    // Handle spy system packet forwarding at network level
-                    // This allows packets to exit from any spy system, even those without input ports
-                    manager.systems.SpySystemManager.forwardPacketsFromAnySpySystem(level);
-                }
-            })
-        );
-        continuousTransferTimer.setCycleCount(Timeline.INDEFINITE);
-        continuousTransferTimer.play();
-    }
-
     /**
      * Setup event handlers for UI components
      */
     private void setupEventHandlers() {
         GameButtons buttons = getGameButtons();
-        System.out.println("DEBUG: GameController.setupEventHandlers - buttons: " + (buttons != null));
+        Log.debug("GameController", () -> "GameController.setupEventHandlers - buttons: " + (buttons != null));
         if (buttons != null) {
-            System.out.println("DEBUG: GameController.setupEventHandlers - Setting up shop button");
+            Log.debug("GameController", () -> "GameController.setupEventHandlers - Setting up shop button");
             buttons.getShopButton().setOnAction(e -> {
-                System.out.println("DEBUG: Shop button clicked!");
-                System.out.println("DEBUG: Shop button event: " + e);
+                Log.debug("GameController", () -> "Shop button clicked!");
+                Log.debug("GameController", () -> "Shop button event: " + e);
                 service.AudioManager.playButtonClick();
                 handleShopButton();
             });
@@ -515,22 +435,22 @@ public class GameController {
                     service.AudioManager.playButtonClick();
                     
                     // Detailed debug logging for button click
-                    java.lang.System.out.println("DEBUG: Aergia button clicked!");
-                    java.lang.System.out.println("DEBUG: - scrolls: " + level.getAergiaScrolls());
-                    java.lang.System.out.println("DEBUG: - cooldown: " + level.isAergiaOnCooldown());
-                    java.lang.System.out.println("DEBUG: - cooldownEnd: " + level.getAergiaCooldownEnd());
-                    java.lang.System.out.println("DEBUG: - currentTime: " + java.lang.System.nanoTime());
-                    java.lang.System.out.println("DEBUG: - awaitingPlacement: " + awaitingAergiaPlacement);
+                    Log.debug("GameController", () -> "Aergia button clicked!");
+                    Log.debug("GameController", () -> "- scrolls: " + level.getAergiaScrolls());
+                    Log.debug("GameController", () -> "- cooldown: " + level.isAergiaOnCooldown());
+                    Log.debug("GameController", () -> "- cooldownEnd: " + level.getAergiaCooldownEnd());
+                    Log.debug("GameController", () -> "- currentTime: " + level.getClock().nanoTime());
+                    Log.debug("GameController", () -> "- awaitingPlacement: " + awaitingAergiaPlacement);
                     
                     // Check if we have active wires to place marks on
                     boolean hasActiveWires = connectionManager.getWires().stream().anyMatch(wire -> wire.isActive());
                     boolean hasAnyWires = !connectionManager.getWires().isEmpty();
-                    java.lang.System.out.println("DEBUG: - hasActiveWires: " + hasActiveWires);
-                    java.lang.System.out.println("DEBUG: - hasAnyWires: " + hasAnyWires);
-                    java.lang.System.out.println("DEBUG: - totalWires: " + connectionManager.getWires().size());
+                    Log.debug("GameController", () -> "- hasActiveWires: " + hasActiveWires);
+                    Log.debug("GameController", () -> "- hasAnyWires: " + hasAnyWires);
+                    Log.debug("GameController", () -> "- totalWires: " + connectionManager.getWires().size());
                     
                     if (!hasActiveWires) {
-                        java.lang.System.out.println("DEBUG: Aergia button clicked but no active wires available - will show message but allow placement attempt");
+                        Log.debug("GameController", () -> "Aergia button clicked but no active wires available - will show message but allow placement attempt");
                         // Don't return here - let the user try to click and get feedback about inactive wires
                     }
                     
@@ -541,9 +461,9 @@ public class GameController {
                             gameScene.updateAergiaButtonText();
                             gameScene.showAergiaPlacementHint();
                         }
-                        java.lang.System.out.println("DEBUG: Aergia placement mode activated - click on an active wire to place mark");
+                        Log.debug("GameController", () -> "Aergia placement mode activated - click on an active wire to place mark");
                     } else {
-                        java.lang.System.out.println("DEBUG: Aergia placement NOT activated - conditions not met");
+                        Log.debug("GameController", () -> "Aergia placement NOT activated - conditions not met");
                     }
                 });
                 
@@ -552,17 +472,17 @@ public class GameController {
                 hud.getSisyphusButton().setOnAction(e -> {
                     service.AudioManager.playButtonClick();
                     
-                    System.out.println("DEBUG: Sisyphus button clicked!");
-                    System.out.println("DEBUG: - scrolls: " + level.getSisyphusScrolls());
+                    Log.debug("GameController", () -> "Sisyphus button clicked!");
+                    Log.debug("GameController", () -> "- scrolls: " + level.getSisyphusScrolls());
                     
                     updateSisyphusHudButtonEnabled(hud);
                     if (level.getSisyphusScrolls() > 0) {
                         awaitingSisyphusSystemSelection = true;
                         selectedSystem = null;
                         originalSystemPosition = null;
-                        System.out.println("DEBUG: Sisyphus system selection mode activated - click on a non-reference system to select it");
+                        Log.debug("GameController", () -> "Sisyphus system selection mode activated - click on a non-reference system to select it");
                     } else {
-                        System.out.println("DEBUG: Sisyphus selection NOT activated - no scrolls available");
+                        Log.debug("GameController", () -> "Sisyphus selection NOT activated - no scrolls available");
                     }
                 });
 
@@ -574,13 +494,22 @@ public class GameController {
                         updateEliphasHudButtonEnabled(hud);
                         if (level.getEliphasScrolls() > 0) {
                             awaitingEliphasPlacement = true;
-                            System.out.println("DEBUG: Eliphas placement mode activated - click on an active wire to place mark");
+                            Log.debug("GameController", () -> "Eliphas placement mode activated - click on an active wire to place mark");
                         }
                     });
                 }
+                // Fast-forward button cycles through the engine's time scales
+                hud.getTimeScaleButton().setOnAction(e -> {
+                    service.AudioManager.playButtonClick();
+                    cycleTimeScale();
+                });
+                updateTimeScaleButton(hud);
+            }
+            if (hud != null && hud.getTemporalProgress() != null) {
+                hud.getTemporalProgress().setOnSeek(this::seekTimeline);
             }
         } else {
-            System.out.println("DEBUG: GameController.setupEventHandlers - buttons is null!");
+            Log.debug("GameController", () -> "GameController.setupEventHandlers - buttons is null!");
         }
         
         // Note: HUD hide/show button functionality is handled internally by HUDScene
@@ -591,13 +520,13 @@ public class GameController {
             // Check input ports - must be connected AND have active wire
             for (model.entity.ports.Port p : sys.getInPorts()) {
                 if (!p.isConnected()) {
-                    java.lang.System.out.println("DEBUG: areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
+                    Log.debug("GameController", () -> "areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
                         ", input port " + p.getId() + " not connected");
                     return false;
                 }
                 model.wire.Wire wire = p.getWire();
                 if (wire != null && !wire.isActive()) {
-                    java.lang.System.out.println("DEBUG: areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
+                    Log.debug("GameController", () -> "areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
                         ", input port " + p.getId() + " wire " + wire.getId() + " is INACTIVE");
                     return false;
                 }
@@ -605,19 +534,19 @@ public class GameController {
             // Check output ports - must be connected AND have active wire  
             for (model.entity.ports.Port p : sys.getOutPorts()) {
                 if (!p.isConnected()) {
-                    java.lang.System.out.println("DEBUG: areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
+                    Log.debug("GameController", () -> "areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
                         ", output port " + p.getId() + " not connected");
                     return false;
                 }
                 model.wire.Wire wire = p.getWire();
                 if (wire != null && !wire.isActive()) {
-                    java.lang.System.out.println("DEBUG: areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
+                    Log.debug("GameController", () -> "areAllSystemsConnected - FAILED: system=" + sys.getClass().getSimpleName() + 
                         ", output port " + p.getId() + " wire " + wire.getId() + " is INACTIVE");
                     return false;
                 }
             }
         }
-        java.lang.System.out.println("DEBUG: areAllSystemsConnected - SUCCESS: All systems have active wire connections");
+        Log.debug("GameController", () -> "areAllSystemsConnected - SUCCESS: All systems have active wire connections");
         return true;
     }
 
@@ -631,12 +560,12 @@ public class GameController {
         // Debug log the decision with wire details
         boolean hasActiveWires = !connectionManager.getWires().isEmpty() && connectionManager.getWires().stream().anyMatch(wire -> wire.isActive());
         boolean hasAnyWires = !connectionManager.getWires().isEmpty();
-        java.lang.System.out.println("DEBUG: updateAergiaHudButtonEnabled - scrolls: " + level.getAergiaScrolls() + 
+        Log.debug("GameController", () -> "updateAergiaHudButtonEnabled - scrolls: " + level.getAergiaScrolls() + 
             ", cooldown: " + level.isAergiaOnCooldown() + ", hasActiveWires: " + hasActiveWires + 
             ", hasAnyWires: " + hasAnyWires + ", enabled: " + enabled);
-        java.lang.System.out.println("DEBUG: Wire status:");
+        Log.debug("GameController", () -> "Wire status:");
         for (model.wire.Wire wire : connectionManager.getWires()) {
-            java.lang.System.out.println("DEBUG:   - Wire " + wire.getId() + ": active=" + wire.isActive());
+            Log.debug("GameController", () -> "  - Wire " + wire.getId() + ": active=" + wire.isActive());
         }
     }
 
@@ -654,7 +583,7 @@ public class GameController {
         if (pane == null) return;
         // Click to select a system, drag to position, release to apply
         pane.addEventFilter(MouseEvent.MOUSE_PRESSED, e -> {
-            System.out.println("DEBUG: Mouse clicked in game pane - awaitingSisyphusSystemSelection: " + awaitingSisyphusSystemSelection);
+            Log.debug("GameController", () -> "Mouse clicked in game pane - awaitingSisyphusSystemSelection: " + awaitingSisyphusSystemSelection);
             if (!awaitingSisyphusSystemSelection) return;
             
             javafx.geometry.Point2D local = pane.sceneToLocal(e.getSceneX(), e.getSceneY());
@@ -667,7 +596,7 @@ public class GameController {
                     originalSystemPosition = clickedSystem.getPosition();
                     selectedSystemView = findSystemViewFor(clickedSystem);
                     isDraggingSystemForSisyphus = true;
-                    System.out.println("DEBUG: Sisyphus - drag start for " + clickedSystem.getType() + " at " + originalSystemPosition);
+                    Log.debug("GameController", () -> "Sisyphus - drag start for " + clickedSystem.getType() + " at " + originalSystemPosition);
                 }
             } else {
                 isDraggingSystemForSisyphus = true;
@@ -691,7 +620,7 @@ public class GameController {
                 javafx.geometry.Point2D delta = local.subtract(originalSystemPosition);
                 previewPortViewsForSystem(selectedSystem, delta);
             }
-            System.out.println("DEBUG: Sisyphus dragging preview to " + local);
+            Log.debug("GameController", () -> "Sisyphus dragging preview to " + local);
             e.consume();
         });
 
@@ -703,9 +632,9 @@ public class GameController {
             if (selectedSystemView != null) selectedSystemView.updatePosition();
             boolean moved = model.logic.Shop.SisyphusLogic.moveSystem(level, selectedSystem, local);
             if (moved) {
-                System.out.println("DEBUG: System moved successfully via Sisyphus drag");
+                Log.debug("GameController", () -> "System moved successfully via Sisyphus drag");
                 level.addSisyphusScrolls(-1);
-                System.out.println("DEBUG: Consumed 1 Sisyphus scroll - remaining: " + level.getSisyphusScrolls());
+                Log.debug("GameController", () -> "Consumed 1 Sisyphus scroll - remaining: " + level.getSisyphusScrolls());
                 if (selectedSystemView != null) selectedSystemView.updatePosition();
                 // After committing, sync all port views to the model's updated port positions
                 updatePortViewsForSystem(selectedSystem);
@@ -715,7 +644,7 @@ public class GameController {
                 HUDScene currentHud = getHUDScene();
                 if (currentHud != null) updateSisyphusHudButtonEnabled(currentHud);
             } else {
-                System.out.println("DEBUG: System movement failed - reverting position");
+                Log.debug("GameController", () -> "System movement failed - reverting position");
                 selectedSystem.setPosition(originalSystemPosition);
                 if (selectedSystemView != null) selectedSystemView.updatePosition();
                 // Also ensure ports visually remain at original model positions
@@ -758,15 +687,7 @@ public class GameController {
     }
 
     private view.components.systems.SystemView findSystemViewFor(model.entity.systems.System system) {
-        Pane pane = (gameScene != null) ? gameScene.getGamePane() : (levelView != null ? levelView.getGamePane() : null);
-        if (pane == null) return null;
-        for (javafx.scene.Node node : pane.getChildren()) {
-            if (node instanceof view.components.systems.SystemView) {
-                view.components.systems.SystemView sv = (view.components.systems.SystemView) node;
-                if (sv.getSystem() == system) return sv;
-            }
-        }
-        return null;
+        return view.components.ViewRegistry.getSystemView(system);
     }
 
     /**
@@ -774,25 +695,7 @@ public class GameController {
      * the underlying model `Port` positions. This is needed after Sisyphus commits the move.
      */
     private void updatePortViewsForSystem(model.entity.systems.System system) {
-        Pane pane = (gameScene != null) ? gameScene.getGamePane() : (levelView != null ? levelView.getGamePane() : null);
-        if (pane == null) return;
-
-        java.util.Set<model.entity.ports.Port> systemPorts = new java.util.HashSet<>();
-        systemPorts.addAll(system.getInPorts());
-        systemPorts.addAll(system.getOutPorts());
-
-        for (javafx.scene.Node node : pane.getChildren()) {
-            if (node instanceof view.components.ports.PortView) {
-                view.components.ports.PortView pv = (view.components.ports.PortView) node;
-                model.entity.ports.Port modelPort = pv.getModelPort();
-                if (systemPorts.contains(modelPort)) {
-                    double size = getPortVisualSize(pv);
-                    javafx.geometry.Point2D p = modelPort.getPosition();
-                    pv.setLayoutX(p.getX() - size / 2.0);
-                    pv.setLayoutY(p.getY() - size / 2.0);
-                }
-            }
-        }
+        previewPortViewsForSystem(system, javafx.geometry.Point2D.ZERO);
     }
 
     private double getPortVisualSize(view.components.ports.PortView pv) {
@@ -806,40 +709,23 @@ public class GameController {
      * The underlying model positions are not changed here.
      */
     private void previewPortViewsForSystem(model.entity.systems.System system, javafx.geometry.Point2D delta) {
-        Pane pane = (gameScene != null) ? gameScene.getGamePane() : (levelView != null ? levelView.getGamePane() : null);
-        if (pane == null) return;
-        java.util.Set<model.entity.ports.Port> systemPorts = new java.util.HashSet<>();
-        systemPorts.addAll(system.getInPorts());
+        java.util.List<model.entity.ports.Port> systemPorts = new java.util.ArrayList<>(system.getInPorts());
         systemPorts.addAll(system.getOutPorts());
-        for (javafx.scene.Node node : pane.getChildren()) {
-            if (node instanceof view.components.ports.PortView) {
-                view.components.ports.PortView pv = (view.components.ports.PortView) node;
-                model.entity.ports.Port modelPort = pv.getModelPort();
-                if (systemPorts.contains(modelPort)) {
-                    double size = getPortVisualSize(pv);
-                    javafx.geometry.Point2D p = modelPort.getPosition().add(delta);
-                    pv.setLayoutX(p.getX() - size / 2.0);
-                    pv.setLayoutY(p.getY() - size / 2.0);
-                }
-            }
+        for (model.entity.ports.Port modelPort : systemPorts) {
+            view.components.ports.PortView pv = view.components.ViewRegistry.getPortView(modelPort);
+            if (pv == null) continue;
+            double size = getPortVisualSize(pv);
+            javafx.geometry.Point2D p = modelPort.getPosition().add(delta);
+            pv.setLayoutX(p.getX() - size / 2.0);
+            pv.setLayoutY(p.getY() - size / 2.0);
         }
     }
     
     private model.entity.systems.System findSystemAtPosition(javafx.geometry.Point2D position) {
-        for (model.entity.systems.System system : level.getSystems()) {
-            javafx.geometry.Point2D systemPos = system.getPosition();
-            double width = model.entity.systems.System.WIDTH;
-            double height = model.entity.systems.System.HEIGHT;
-            
-            // Check if click is within system bounds
-            if (position.getX() >= systemPos.getX() - width/2 && 
-                position.getX() <= systemPos.getX() + width/2 &&
-                position.getY() >= systemPos.getY() - height/2 && 
-                position.getY() <= systemPos.getY() + height/2) {
-                return system;
-            }
-        }
-        return null;
+        // The index stores exact system rectangles, so any hit is inside the system bounds
+        java.util.List<model.entity.systems.System> hits =
+            level.getLayoutIndex().systemsAt(position.getX(), position.getY());
+        return hits.isEmpty() ? null : hits.get(0);
     }
     
     private void updateSisyphusHudButtonEnabled(HUDScene hud) {
@@ -849,7 +735,7 @@ public class GameController {
         hud.getSisyphusButton().setText(sisyphusText);
         hud.getSisyphusButton().setDisable(!enabled);
 
-        System.out.println("DEBUG: updateSisyphusHudButtonEnabled - scrolls: " + level.getSisyphusScrolls() +
+        Log.debug("GameController", () -> "updateSisyphusHudButtonEnabled - scrolls: " + level.getSisyphusScrolls() +
             ", enabled: " + enabled);
     }
 
@@ -906,10 +792,8 @@ public class GameController {
     public void startGame() {
         if (!isRunning) {
             isRunning = true;
-            gameLoop.start();
             movementManager.startMovementUpdates();
-            systemUpdateTimer.play();
-            continuousTransferTimer.play(); // Start the new timer
+            gameLoop.start();
             updatePauseButtonText();
             
             // Start background music
@@ -925,11 +809,73 @@ public class GameController {
             isRunning = false;
             gameLoop.stop();
             movementManager.stopMovementUpdates();
-            systemUpdateTimer.stop();
-            if (continuousTransferTimer != null) {
-                continuousTransferTimer.stop(); // Stop the new timer
+        }
+    }
+
+    /**
+     * Switch to the next fast-forward speed (1x, 2x, 4x, 16x, then back to 1x)
+     */
+    public void cycleTimeScale() {
+        double[] scales = SimulationEngine.TIME_SCALES;
+        double current = simulationEngine.getTimeScale();
+        int next = 0;
+        for (int i = 0; i < scales.length; i++) {
+            if (scales[i] == current) {
+                next = (i + 1) % scales.length;
+                break;
             }
         }
+        setTimeScale(scales[next]);
+    }
+
+    public void setTimeScale(double timeScale) {
+        simulationEngine.setTimeScale(timeScale);
+        HUDScene hud = getHUDScene();
+        if (hud != null) updateTimeScaleButton(hud);
+        Log.debug("GameController", () -> "time scale set to " + timeScale + "x");
+    }
+
+    public double getTimeScale() {
+        return simulationEngine.getTimeScale();
+    }
+
+    /**
+     * Show the current speed; the hourglass marks frames where the machine could not keep up
+     */
+    private void updateTimeScaleButton(HUDScene hud) {
+        String text = "Speed " + (int) simulationEngine.getTimeScale() + "x";
+        if (simulationEngine.isThrottled()) text += " \u23F3";
+        hud.getTimeScaleButton().setText(text);
+    }
+
+    /**
+     * Rewind to a point on the temporal bar; the bar spans the engine's full history window.
+     * Called once when a click or drag on the bar is released.
+     * @param fraction released position along the bar (0-1)
+     */
+    public void seekTimeline(double fraction) {
+        SimulationTimeline timeline = simulationEngine.getTimeline();
+        long oldest = timeline.getOldestNanos();
+        long newest = timeline.getNewestNanos();
+        if (newest <= oldest) return;
+        long target = Math.min(newest, oldest + (long) (fraction * SimulationEngine.getHistoryNanos()));
+        if (target < newest && simulationEngine.rewindTo(target)) {
+            Log.debug("GameController", () -> "rewound timeline to " + target / 1_000_000 + " ms");
+            dropRewoundMarkVisuals();
+        }
+        HUDScene hud = getHUDScene();
+        if (hud != null) {
+            updateTemporalProgress(hud);
+            uiController.updateHUD();
+        }
+    }
+
+    private void updateTemporalProgress(HUDScene hud) {
+        TemporalProgress bar = hud.getTemporalProgress();
+        if (bar == null) return;
+        SimulationTimeline timeline = simulationEngine.getTimeline();
+        bar.showTimeline(timeline.getOldestNanos(), timeline.getNewestNanos(),
+                SimulationEngine.getHistoryNanos(), level.getClock().nanoTime());
     }
 
     /**
@@ -997,15 +943,15 @@ public class GameController {
             // Update coins with debug logging
             int currentCoins = level.getCoins();
             String coinsText = String.valueOf(currentCoins);
-            java.lang.System.out.println("DEBUG: GameController.updateHUD - Setting coins to: " + coinsText);
+            Log.debug("GameController", () -> "GameController.updateHUD - Setting coins to: " + coinsText);
             hud.getCoinsBox().setValue(coinsText);
             
             // Update packets collected (actual count from end systems)
             int packetsCollected = level.getPacketsCollected();
             hud.getPacketsBox().setValue(String.valueOf(packetsCollected));
-            java.lang.System.out.println("DEBUG: GameController.updateHUD - Updated HUD: coins=" + currentCoins + ", packets=" + packetsCollected + ", loss=" + String.format("%.1f%%", lossPercentage));
+            Log.debug("GameController", () -> "GameController.updateHUD - Updated HUD: coins=" + currentCoins + ", packets=" + packetsCollected + ", loss=" + lossPercentage + "%");
         } else {
-            java.lang.System.out.println("DEBUG: GameController.updateHUD - HUD scene is null!");
+            Log.debug("GameController", () -> "GameController.updateHUD - HUD scene is null!");
         }
         // Update Aergia button text/cooldown state (both GameScene and LevelView modes)
         HUDScene currentHud = getHUDScene();
@@ -1022,8 +968,9 @@ public class GameController {
                 String text = "Aergia (" + level.getAergiaScrolls() + ")";
                 if (level.isAergiaOnCooldown()) text += " \u23F3";
                 currentHud.getAergiaButton().setText(text);
-                java.lang.System.out.println(
-                    "DEBUG: updateAergiaButtonText(LevelView) - text='" + text + "', scrolls=" + level.getAergiaScrolls() +
+                final String buttonText = text;
+                Log.debug("GameController", () -> 
+                    "updateAergiaButtonText(LevelView) - text='" + buttonText + "', scrolls=" + level.getAergiaScrolls() +
                     ", onCooldown=" + level.isAergiaOnCooldown() + 
                     ", currentlyDisabled=" + currentHud.getAergiaButton().isDisabled()
                 );
@@ -1069,14 +1016,14 @@ public class GameController {
      * Get GameButtons from GameScene or LevelView (helper method)
      */
     private GameButtons getGameButtons() {
-        System.out.println("DEBUG: GameController.getGameButtons - gameScene: " + (gameScene != null) + ", levelView: " + (levelView != null));
+        Log.debug("GameController", () -> "GameController.getGameButtons - gameScene: " + (gameScene != null) + ", levelView: " + (levelView != null));
         if (gameScene != null) {
             GameButtons buttons = gameScene.getGameButtons();
-            System.out.println("DEBUG: GameController.getGameButtons - from gameScene: " + (buttons != null));
+            Log.debug("GameController", () -> "GameController.getGameButtons - from gameScene: " + (buttons != null));
             return buttons;
         } else if (levelView != null) {
             GameButtons buttons = levelView.getGameButtons();
-            System.out.println("DEBUG: GameController.getGameButtons - from levelView: " + (buttons != null));
+            Log.debug("GameController", () -> "GameController.getGameButtons - from levelView: " + (buttons != null));
             return buttons;
         }
         return null;
@@ -1121,24 +1068,50 @@ public class GameController {
      * Manually setup event handlers (call this if automatic setup fails)
      */
     public void setupEventHandlersManually() {
-        System.out.println("DEBUG: GameController.setupEventHandlersManually - called");
+        Log.debug("GameController", () -> "GameController.setupEventHandlersManually - called");
         setupEventHandlers();
     }
     
+    /**
+     * Take down the cross marks whose Aergia/Eliphas mark the rewind removed from the level
+     */
+    private void dropRewoundMarkVisuals() {
+        activeAergiaVisuals.removeIf(visual -> {
+            if (hasMark(level.getAergiaMarks(), visual)) return false;
+            removeMarkVisual(visual);
+            return true;
+        });
+        activeEliphasVisuals.removeIf(visual -> {
+            if (hasMark(level.getEliphasMarks(), visual)) return false;
+            removeMarkVisual(visual);
+            return true;
+        });
+    }
+
+    private static boolean hasMark(java.util.Collection<? extends model.logic.Shop.WireMark> marks, AergiaMarkVisual visual) {
+        for (model.logic.Shop.WireMark mark : marks) {
+            if (mark.getWire() == visual.wire && mark.getProgress() == visual.progress) return true;
+        }
+        return false;
+    }
+
+    private void removeMarkVisual(AergiaMarkVisual visual) {
+        if (gameScene != null && gameScene.getGamePane() != null) {
+            gameScene.getGamePane().getChildren().remove(visual.crossText);
+        } else if (levelView != null && levelView.getGamePane() != null) {
+            levelView.getGamePane().getChildren().remove(visual.crossText);
+        }
+    }
+
     /**
      * Update positions of all active Aergia cross marks to follow wire changes
      */
     private void updateAergiaMarkPositions() {
-        long now = java.lang.System.nanoTime();
+        long now = level.getClock().nanoTime();
         // Remove expired visuals
         activeAergiaVisuals.removeIf(visual -> {
             if (now >= visual.removeTime) {
-                // Remove from scene if still present
-                if (gameScene != null && gameScene.getGamePane() != null) {
-                    gameScene.getGamePane().getChildren().remove(visual.crossText);
-                } else if (levelView != null && levelView.getGamePane() != null) {
-                    levelView.getGamePane().getChildren().remove(visual.crossText);
-                }
+                removeMarkVisual(visual);
                 return true;
             }
             return false;
@@ -1158,16 +1131,11 @@ public class GameController {
      * Update positions of all active Eliphas cross marks to follow wire changes
      */
     private void updateEliphasMarkPositions() {
-        long now = java.lang.System.nanoTime();
+        long now = level.getClock().nanoTime();
         // Remove expired visuals
         activeEliphasVisuals.removeIf(visual -> {
             if (now >= visual.removeTime) {
-                // Remove from scene if still present
-                if (gameScene != null && gameScene.getGamePane() != null) {
-                    gameScene.getGamePane().getChildren().remove(visual.crossText);
-                } else if (levelView != null && levelView.getGamePane() != null) {
-                    levelView.getGamePane().getChildren().remove(visual.crossText);
-                }
+                removeMarkVisual(visual);
                 return true;
             }
             return false;
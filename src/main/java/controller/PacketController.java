@@ -16,26 +16,98 @@ import view.components.packets.ConfidentialPacketView;
 import view.components.packets.MassivePacketView;
 import view.components.packets.BitCirclePacketView;
 import view.components.packets.BitRectPacketView;
+import view.components.packets.PacketCanvasRenderer;
+import view.components.packets.PacketRenderMode;
 import javafx.scene.layout.Pane;
 import model.levels.Level;
+import model.logic.packet.PacketChanges;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import service.log.Log;
 
 public class PacketController {
+    // AUTO mode switches to the canvas above this many packets, and back below half of it
+    public static final int CANVAS_THRESHOLD = 150;
+
     private Level level;
     private Pane packetLayer; // The pane to which PacketViews are added/removed
     private final Map<Packet, PacketView> packetViewMap = new HashMap<>();
+    // Canvas mode: packets drawn each frame, mapped to their visibility
+    private final Map<Packet, Boolean> drawnPackets = new LinkedHashMap<>();
+    private final PacketCanvasRenderer canvasRenderer = new PacketCanvasRenderer(PacketController::createView);
+    private PacketRenderMode renderMode = PacketRenderMode.AUTO;
 
     public void setLevel(Level level) {
         this.level = level;
+        if (level != null) level.getPacketChanges().track(level.getPackets());
     }
 
     public void setPacketLayer(Pane packetLayer) {
+        if (canvasRenderer.isAttached()) canvasRenderer.attach(packetLayer);
         this.packetLayer = packetLayer;
     }
 
-    public void addPacket(Packet packet) {
+    public PacketRenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    public void setRenderMode(PacketRenderMode renderMode) {
+        this.renderMode = renderMode != null ? renderMode : PacketRenderMode.AUTO;
+        applyRenderMode();
+    }
+
+    public boolean isCanvasActive() {
+        return canvasRenderer.isAttached();
+    }
+
+    /**
+     * Bring the packet views up to date with the level and, in canvas mode, draw them.
+     * Called once per rendered frame; simulation steps never touch packet views.
+     */
+    public void renderFrame() {
+        applyRenderMode();
+        applyLevelChanges();
+        if (canvasRenderer.isAttached()) {
+            canvasRenderer.render(visibleDrawnPackets());
+        }
+    }
+
+    /**
+     * Apply the packets the level added, removed or changed since the last frame.
+     * Untouched packets, including those a system holds, are not visited.
+     */
+    private void applyLevelChanges() {
+        if (level == null || packetLayer == null) return;
+        PacketChanges changes = level.getPacketChanges();
+        for (Packet packet : changes.removed()) {
+            drawnPackets.remove(packet);
+            PacketView view = packetViewMap.remove(packet);
+            if (view != null) packetLayer.getChildren().remove(view);
+        }
+        for (Packet packet : changes.added()) {
+            addPacket(packet);
+            syncPacket(packet, packet.consumeDirty() | Packet.DIRTY_ALL);
+        }
+        for (Packet packet : changes.changed()) {
+            syncPacket(packet, packet.consumeDirty());
+        }
+        changes.clear();
+    }
+
+    private void addPacket(Packet packet) {
         if (packet == null || packetViewMap.containsKey(packet) || packetLayer == null) return;
+        if (canvasRenderer.isAttached()) {
+            drawnPackets.putIfAbsent(packet, Boolean.TRUE);
+            return;
+        }
+        PacketView view = createView(packet);
+        if (view == null) return;
+        packetViewMap.put(packet, view);
+        packetLayer.getChildren().add(view);
+    }
+
+    private static PacketView createView(Packet packet) {
         PacketView view;
         if (packet instanceof ProtectedPacket) {
             view = new ProtectedPacketView((ProtectedPacket) packet);
@@ -54,60 +126,85 @@ public class PacketController {
         } else if (packet instanceof HexagonPacket) {
             view = new HexagonPacketView((HexagonPacket) packet);
         } else {
-            return;
+            return null;
         }
-        packetViewMap.put(packet, view);
-        packetLayer.getChildren().add(view);
+        return view;
     }
 
-    public void updatePacket(Packet packet) {
-        PacketView view = packetViewMap.get(packet);
-        if (view != null) {
-            view.updatePosition();
-            view.updateHealth();
-            view.updateDeflection();
-            
-            // Update hexagon packet movement state if applicable
-            if (packet instanceof HexagonPacket && view instanceof HexagonPacketView) {
-                ((HexagonPacketView) view).updateMovementState();
+    /**
+     * Switch between node and canvas drawing when the mode (or, in AUTO, the packet count) asks for it
+     */
+    private void applyRenderMode() {
+        if (packetLayer == null) return;
+        boolean canvas = canvasRenderer.isAttached();
+        boolean wantCanvas;
+        switch (renderMode) {
+            case CANVAS: wantCanvas = true; break;
+            case NODES: wantCanvas = false; break;
+            default:
+                int count = packetViewMap.size() + drawnPackets.size();
+                wantCanvas = canvas ? count >= CANVAS_THRESHOLD / 2 : count > CANVAS_THRESHOLD;
+        }
+        if (wantCanvas == canvas) return;
+        if (wantCanvas) {
+            for (Map.Entry<Packet, PacketView> entry : packetViewMap.entrySet()) {
+                drawnPackets.put(entry.getKey(), entry.getValue().isVisible());
+            }
+            packetLayer.getChildren().removeAll(packetViewMap.values());
+            packetViewMap.clear();
+            canvasRenderer.attach(packetLayer);
+        } else {
+            canvasRenderer.detach();
+            java.util.List<Packet> drawn = new java.util.ArrayList<>(drawnPackets.keySet());
+            drawnPackets.clear();
+            for (Packet packet : drawn) {
+                addPacket(packet);
+                // Fresh views only know the packet's construction-time state
+                syncPacket(packet, packet.consumeDirty() | Packet.DIRTY_ALL);
             }
         }
+        Log.debug("PacketController", () -> "packet rendering switched to " + (wantCanvas ? "canvas" : "nodes"));
     }
 
-    public void removePacket(Packet packet) {
-        PacketView view = packetViewMap.remove(packet);
-        if (view != null && packetLayer != null) {
-            packetLayer.getChildren().remove(view);
-        }
-        if (level != null && packet != null) {
-            level.removePacket(packet);
-            // Do not automatically count as loss here. Systems determine loss/coins.
+    private java.util.List<Packet> visibleDrawnPackets() {
+        java.util.List<Packet> visible = new java.util.ArrayList<>(drawnPackets.size());
+        for (Map.Entry<Packet, Boolean> entry : drawnPackets.entrySet()) {
+            if (entry.getValue()) visible.add(entry.getKey());
         }
+        return visible;
     }
 
     /**
-     * Remove packet from view only (for successful deliveries).
-     * This method should be used when packets successfully reach their destination
-     * and should not be counted as packet loss.
+     * Push the given dirty bits into the packet's view. A packet is shown while it travels on a
+     * wire and hidden while a system holds it; hidden views skip updates and are fully refreshed
+     * when shown again.
      */
-    public void deliverPacket(Packet packet) {
-        java.lang.System.out.println("DEBUG: PacketController.deliverPacket called for packet " + packet.getId());
-        PacketView view = packetViewMap.remove(packet);
-        java.lang.System.out.println("DEBUG: PacketView found and removed: " + (view != null));
-        if (view != null && packetLayer != null) {
-            boolean removed = packetLayer.getChildren().remove(view);
-            java.lang.System.out.println("DEBUG: Removed from packetLayer: " + removed + " (packetLayer children count: " + packetLayer.getChildren().size() + ")");
-        } else {
-            java.lang.System.out.println("DEBUG: view=" + (view != null) + ", packetLayer=" + (packetLayer != null));
+    private void syncPacket(Packet packet, int dirty) {
+        if (dirty == 0) return;
+        PacketView view = packetViewMap.get(packet);
+        if ((dirty & Packet.DIRTY_VISIBILITY) != 0) {
+            boolean shown = packet.isMoving();
+            drawnPackets.replace(packet, shown);
+            if (view != null && view.isVisible() != shown) {
+                view.setPacketVisible(shown);
+                if (shown) dirty = Packet.DIRTY_ALL;
+            }
+        }
+        if (view == null || !view.isVisible()) return;
+        if ((dirty & (Packet.DIRTY_POSITION | Packet.DIRTY_DEFLECTION)) != 0) {
+            view.updatePosition();
+        }
+        if ((dirty & Packet.DIRTY_HEALTH) != 0) {
+            view.updateHealth();
+        }
+        if ((dirty & Packet.DIRTY_DEFLECTION) != 0) {
+            view.updateDeflection();
+        }
+        
+        // Only hexagon views draw the movement state
+        if ((dirty & Packet.DIRTY_STATE) != 0) {
+            view.updateMovementState();
         }
-        // Note: Don't remove from level or increment packet loss - 
-        // the receiving system (EndSystem.claimPacket) handles that
-        java.lang.System.out.println("DEBUG: PacketController.deliverPacket completed");
-    }
-
-    // Restore for compatibility with ImpactManager and other usages
-    public void killPacket(Packet packet) {
-        removePacket(packet);
     }
 
     public PacketView getPacketView(Packet packet) {
@@ -120,31 +217,12 @@ public class PacketController {
     public Pane getPacketLayer() {
         return packetLayer;
     }
-    
-    /**
-     * Show a packet (make it visible)
-     */
-    public void showPacket(Packet packet) {
-        PacketView view = packetViewMap.get(packet);
-        if (view != null) {
-            view.setPacketVisible(true);
-        }
-    }
-    
-    /**
-     * Hide a packet (make it invisible)
-     */
-    public void hidePacket(Packet packet) {
-        PacketView view = packetViewMap.get(packet);
-        if (view != null) {
-            view.setPacketVisible(false);
-        }
-    }
 
     public void clearAll() {
         if (packetLayer != null) {
             packetLayer.getChildren().removeAll(packetViewMap.values());
         }
         packetViewMap.clear();
+        drawnPackets.clear();
     }
 }
@@ -36,6 +36,10 @@ public class SystemController {
         networkSystem.processSystems();
     }
 
+    public NetworkSystem getNetworkSystem() {
+        return networkSystem;
+    }
+
     /**
      * Update system ready states
      */
@@ -10,6 +10,7 @@ import manager.game.ShopManager;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
+import service.log.Log;
 
 public class UIController {
     private final GameScene gameScene;
@@ -200,7 +201,7 @@ public class UIController {
         // Update coins with debug logging
         int currentCoins = level.getCoins();
         String coinsText = String.valueOf(currentCoins);
-        java.lang.System.out.println("DEBUG: UIController.updateHUDStats - Setting coins to: " + coinsText);
+        Log.debug("UIController", () -> "UIController.updateHUDStats - Setting coins to: " + coinsText);
         hud.getCoinsBox().setValue(coinsText);
         
         // Update packets collected (actual count from end systems)
@@ -211,7 +212,7 @@ public class UIController {
         String sisyphusText = "Sisyphus (" + level.getSisyphusScrolls() + ")";
         hud.getSisyphusButton().setText(sisyphusText);
         
-        java.lang.System.out.println("DEBUG: UIController.updateHUDStats - Updated HUD: coins=" + currentCoins + ", packets=" + packetsCollected + ", loss=" + String.format("%.1f%%", lossPercentage));
+        Log.debug("UIController", () -> "UIController.updateHUDStats - Updated HUD: coins=" + currentCoins + ", packets=" + packetsCollected + ", loss=" + lossPercentage + "%");
     }
     
     /**
@@ -240,16 +241,9 @@ public class UIController {
      */
     private void updateCapacityInGameScene(model.entity.systems.System system, int currentCapacity) {
         // Find the system view in the game scene's game pane
-        javafx.scene.layout.Pane gamePane = gameScene.getGamePane();
-        for (javafx.scene.Node node : gamePane.getChildren()) {
-            if (node instanceof view.components.systems.IntermediateSystemView) {
-                view.components.systems.IntermediateSystemView systemView = 
-                    (view.components.systems.IntermediateSystemView) node;
-                if (systemView.getSystem() == system) {
-                    systemView.updateCapacity(currentCapacity);
-                    break;
-                }
-            }
+        view.components.systems.SystemView systemView = view.components.ViewRegistry.getSystemView(system);
+        if (systemView instanceof view.components.systems.IntermediateSystemView) {
+            ((view.components.systems.IntermediateSystemView) systemView).updateCapacity(currentCapacity);
         }
     }
     
@@ -258,16 +252,9 @@ public class UIController {
      */
     private void updateCapacityInLevelView(model.entity.systems.System system, int currentCapacity) {
         // Find the system view in the level view's game pane
-        javafx.scene.layout.Pane gamePane = levelView.getGamePane();
-        for (javafx.scene.Node node : gamePane.getChildren()) {
-            if (node instanceof view.components.systems.IntermediateSystemView) {
-                view.components.systems.IntermediateSystemView systemView = 
-                    (view.components.systems.IntermediateSystemView) node;
-                if (systemView.getSystem() == system) {
-                    systemView.updateCapacity(currentCapacity);
-                    break;
-                }
-            }
+        view.components.systems.SystemView systemView = view.components.ViewRegistry.getSystemView(system);
+        if (systemView instanceof view.components.systems.IntermediateSystemView) {
+            ((view.components.systems.IntermediateSystemView) systemView).updateCapacity(currentCapacity);
         }
     }
 }
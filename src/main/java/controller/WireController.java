@@ -61,7 +61,7 @@ public class WireController {
         this.dragging = true;
         this.currentMousePosition = new Point2D(sceneX, sceneY);
         if (gameScene != null || gamePane != null) {
-            tempWireView = new WireView(new TempWireModel(source.getModelPort(), sceneX, sceneY));
+            tempWireView = new WireView(new TempWireModel(source.getModelPort(), sceneX, sceneY), false);
             tempWireView.setDragging();
             Pane targetPane = gameScene != null ? gameScene.getGamePane() : gamePane;
             targetPane.getChildren().add(tempWireView);
@@ -115,19 +115,10 @@ public class WireController {
         
         // Find the actual port at the mouse position
         PortView actualTarget = null;
-        if (gameScene != null || gamePane != null) {
+        if ((gameScene != null || gamePane != null) && level != null) {
             Pane targetPane = gameScene != null ? gameScene.getGamePane() : gamePane;
             Point2D localPoint = targetPane.sceneToLocal(sceneX, sceneY);
-            
-            for (javafx.scene.Node node : targetPane.getChildren()) {
-                if (node instanceof view.components.ports.PortView) {
-                    view.components.ports.PortView portView = (view.components.ports.PortView) node;
-                    if (portView.getBoundsInParent().contains(localPoint.getX(), localPoint.getY())) {
-                        actualTarget = portView;
-                        break;
-                    }
-                }
-            }
+            actualTarget = view.components.ViewRegistry.findPortViewAt(level.getLayoutIndex(), localPoint.getX(), localPoint.getY());
         }
         
         this.targetPort = actualTarget;
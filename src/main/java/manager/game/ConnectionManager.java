@@ -5,6 +5,8 @@ import model.entity.ports.Port;
 import model.levels.Level;
 import java.util.ArrayList;
 import java.util.List;
+import service.log.Log;
+import view.components.ViewRegistry;
 
 public class ConnectionManager {
     private final List<Wire> wires = new ArrayList<>();
@@ -15,42 +17,45 @@ public class ConnectionManager {
     public ConnectionManager(Level level, double maxWireLength) {
         this.level = level;
         this.maxWireLength = maxWireLength;
-        System.out.println("DEBUG: ConnectionManager constructor - maxWireLength: " + maxWireLength);
-        System.out.println("DEBUG: ConnectionManager constructor - level.getWireLength(): " + level.getWireLength());
+        Log.debug("ConnectionManager", () -> "ConnectionManager constructor - maxWireLength: " + maxWireLength);
+        Log.debug("ConnectionManager", () -> "ConnectionManager constructor - level.getWireLength(): " + level.getWireLength());
     }
 
     public boolean canAddWire(Wire wire) {
         // For now, use a fixed length per wire (e.g., 10 units)
         double wireLen = getWireLength(wire);
-        System.out.println("DEBUG: ConnectionManager.canAddWire() - Wire length: " + wireLen);
-        System.out.println("DEBUG: ConnectionManager.canAddWire() - Used wire: " + usedWireLength + "/" + maxWireLength);
-        System.out.println("DEBUG: ConnectionManager.canAddWire() - Would need: " + (usedWireLength + wireLen));
+        Log.debug("ConnectionManager", () -> "ConnectionManager.canAddWire() - Wire length: " + wireLen);
+        Log.debug("ConnectionManager", () -> "ConnectionManager.canAddWire() - Used wire: " + usedWireLength + "/" + maxWireLength);
+        Log.debug("ConnectionManager", () -> "ConnectionManager.canAddWire() - Would need: " + (usedWireLength + wireLen));
         return (usedWireLength + wireLen) <= maxWireLength;
     }
 
     public boolean addWire(Wire wire) {
         double wireLen = getWireLength(wire);
-        System.out.println("DEBUG: ConnectionManager.addWire() - Wire length: " + wireLen);
-        System.out.println("DEBUG: ConnectionManager.addWire() - Used wire: " + usedWireLength + "/" + maxWireLength);
+        Log.debug("ConnectionManager", () -> "ConnectionManager.addWire() - Wire length: " + wireLen);
+        Log.debug("ConnectionManager", () -> "ConnectionManager.addWire() - Used wire: " + usedWireLength + "/" + maxWireLength);
         
         if (!canAddWire(wire)) {
-            System.out.println("DEBUG: ConnectionManager.addWire() - REJECTED: Not enough wire remaining");
+            Log.debug("ConnectionManager", () -> "ConnectionManager.addWire() - REJECTED: Not enough wire remaining");
             return false;
         }
         
         wires.add(wire);
+        level.registerWire(wire);
         usedWireLength += wireLen;
         
         // Synchronize with Level's wire length
         level.subtractWireLength(wireLen);
         
-        System.out.println("DEBUG: ConnectionManager.addWire() - SUCCESS: Used wire now: " + usedWireLength + "/" + maxWireLength);
-        System.out.println("DEBUG: ConnectionManager.addWire() - Level remaining wire: " + level.getRemainingWireLength());
+        Log.debug("ConnectionManager", () -> "ConnectionManager.addWire() - SUCCESS: Used wire now: " + usedWireLength + "/" + maxWireLength);
+        Log.debug("ConnectionManager", () -> "ConnectionManager.addWire() - Level remaining wire: " + level.getRemainingWireLength());
         return true;
     }
 
     public void removeWire(Wire wire) {
         if (wires.remove(wire)) {
+            level.unregisterWire(wire);
+            ViewRegistry.unregister(wire);
             double wireLen = getWireLength(wire);
             usedWireLength -= wireLen;
             if (usedWireLength < 0) usedWireLength = 0;
@@ -58,9 +63,9 @@ public class ConnectionManager {
             // Synchronize with Level's wire length
             level.addWireLength(wireLen);
             
-            System.out.println("DEBUG: ConnectionManager.removeWire() - Wire length: " + wireLen);
-            System.out.println("DEBUG: ConnectionManager.removeWire() - Used wire now: " + usedWireLength + "/" + maxWireLength);
-            System.out.println("DEBUG: ConnectionManager.removeWire() - Level remaining wire: " + level.getRemainingWireLength());
+            Log.debug("ConnectionManager", () -> "ConnectionManager.removeWire() - Wire length: " + wireLen);
+            Log.debug("ConnectionManager", () -> "ConnectionManager.removeWire() - Used wire now: " + usedWireLength + "/" + maxWireLength);
+            Log.debug("ConnectionManager", () -> "ConnectionManager.removeWire() - Level remaining wire: " + level.getRemainingWireLength());
         }
     }
 
@@ -110,9 +115,9 @@ public class ConnectionManager {
             level.addWireLength(-difference);
         }
         
-        System.out.println("DEBUG: ConnectionManager.recalculateWireLengths() - Wire length change: " + String.format("%.1f", difference));
-        System.out.println("DEBUG: ConnectionManager.recalculateWireLengths() - Used wire now: " + String.format("%.1f", usedWireLength) + "/" + maxWireLength);
-        System.out.println("DEBUG: ConnectionManager.recalculateWireLengths() - Level remaining wire: " + String.format("%.1f", level.getRemainingWireLength()));
+        Log.debug("ConnectionManager", () -> "ConnectionManager.recalculateWireLengths() - Wire length change: " + difference);
+        Log.debug("ConnectionManager", () -> "ConnectionManager.recalculateWireLengths() - Used wire now: " + usedWireLength + "/" + maxWireLength);
+        Log.debug("ConnectionManager", () -> "ConnectionManager.recalculateWireLengths() - Level remaining wire: " + level.getRemainingWireLength());
     }
 
     private double getWireLength(Wire wire) {
@@ -1,36 +1,48 @@
 package manager.game;
 
 import javafx.animation.AnimationTimer;
-import manager.packets.PacketManager;
 
+/**
+ * Feeds JavaFX frame time into the fixed-step SimulationEngine.
+ */
 public class MovementManager extends AnimationTimer {
+    private final SimulationEngine engine;
     private long lastUpdateTime = 0;
-    
+    private boolean running = false;
+
+    public MovementManager(SimulationEngine engine) {
+        this.engine = engine;
+    }
+
     @Override
     public void handle(long currentTimeNanos) {
         if (lastUpdateTime == 0) {
             lastUpdateTime = currentTimeNanos;
             return;
         }
-        
+
         double deltaTimeSeconds = (currentTimeNanos - lastUpdateTime) / 1_000_000_000.0;
         lastUpdateTime = currentTimeNanos;
-        
-        PacketManager.updateMovingPackets(deltaTimeSeconds);
+
+        engine.advance(deltaTimeSeconds);
     }
-    
+
     public void startMovementUpdates() {
+        lastUpdateTime = 0;
+        running = true;
         start();
     }
-    
+
     public void stopMovementUpdates() {
+        running = false;
         stop();
     }
-    
+
     public boolean isRunning() {
-        // AnimationTimer doesn't have a direct isRunning method, 
-        // so we track state through start/stop calls
-        // For now, we assume it's running if start() has been called
-        return true;
+        return running;
+    }
+
+    public SimulationEngine getEngine() {
+        return engine;
     }
-} 
\ No newline at end of file
+}
@@ -50,6 +50,7 @@ public class ShopManager {
         System.out.println("DEBUG: ShopManager.purchase() - Applying item effect...");
         
         item.apply(level);
+        level.markHistoryBarrier();
         
         System.out.println("DEBUG: ShopManager.purchase() - Purchase SUCCESS - " + item.getName() + " purchased");
         
@@ -0,0 +1,193 @@
+package manager.game;
+
+import controller.CollisionController;
+import manager.packets.PacketManager;
+import model.entity.systems.System;
+import model.entity.systems.SystemBehavior;
+import model.levels.Level;
+import model.logic.system.NetworkSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Advances the level simulation on a fixed timestep, independent of the JavaFX pulse.
+ * Callers feed real (or scaled) elapsed time into {@link #advance(double)}; the engine
+ * consumes it in whole {@link #STEP_SECONDS} steps and keeps the remainder for the next call.
+ * Fast-forward scales the elapsed time, never the step, so high speeds run more steps per
+ * frame with the same collision and mark checks as 1x.
+ */
+public class SimulationEngine {
+    /** Fixed simulation step (matches the old 10 ms transfer timer). */
+    public static final double STEP_SECONDS = 0.01;
+    /** System processing cadence, in steps (100 ms of simulated time). */
+    private static final int SYSTEM_PROCESS_EVERY_STEPS = 10;
+    /** Upper bound on steps taken per advance() so a stalled UI thread cannot spiral. */
+    private static final int MAX_SUBSTEPS = 10;
+    /** Speed multipliers offered to the player. */
+    public static final double[] TIME_SCALES = {1.0, 2.0, 4.0, 16.0};
+    /** Wall-clock time advance() may spend on fast-forward steps after the 1x share has run. */
+    private static final long FAST_FORWARD_BUDGET_NANOS = 8_000_000L;
+
+    private final Level level;
+    private final NetworkSystem networkSystem;
+    private final CollisionController collisionController;
+
+    private final List<System> readySystems = new ArrayList<>();
+    private final SimulationTimeline timeline;
+
+    private double accumulator = 0.0;
+    private long stepCount = 0;
+    private double timeScale = 1.0;
+    private boolean throttled = false;
+
+    public SimulationEngine(Level level, NetworkSystem networkSystem, CollisionController collisionController) {
+        this.level = level;
+        this.networkSystem = networkSystem;
+        this.collisionController = collisionController;
+        this.timeline = new SimulationTimeline(level);
+    }
+
+    /**
+     * Accumulate scaled elapsed time and run as many fixed steps as fit, up to MAX_SUBSTEPS
+     * per unit of time scale. The 1x share (the steps the unscaled elapsed time covers) always runs;
+     * the budget clock starts after it, and the fast-forward steps stop once the budget is spent.
+     * Time that does not fit is dropped rather than carried over, so an overloaded
+     * fast-forward just runs slower than requested.
+     * @return number of steps executed
+     */
+    public int advance(double elapsedSeconds) {
+        if (level == null || level.isPaused() || elapsedSeconds <= 0) {
+            accumulator = 0.0;
+            throttled = false;
+            return 0;
+        }
+        accumulator += elapsedSeconds * timeScale;
+        int maxSteps = (int) Math.ceil(MAX_SUBSTEPS * timeScale);
+        int realTimeSteps = (int) Math.min(MAX_SUBSTEPS, Math.ceil(elapsedSeconds / STEP_SECONDS));
+        long deadline = 0L;
+        int steps = 0;
+        while (accumulator >= STEP_SECONDS && steps < maxSteps) {
+            if (steps == realTimeSteps) {
+                deadline = java.lang.System.nanoTime() + FAST_FORWARD_BUDGET_NANOS;
+            } else if (steps > realTimeSteps && java.lang.System.nanoTime() >= deadline) {
+                break;
+            }
+            step();
+            accumulator -= STEP_SECONDS;
+            steps++;
+        }
+        throttled = accumulator >= STEP_SECONDS;
+        if (throttled) {
+            accumulator = 0.0;
+        }
+        return steps;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Set the fast-forward multiplier (1 = real time)
+     */
+    public void setTimeScale(double timeScale) {
+        if (timeScale <= 0) throw new IllegalArgumentException("time scale must be positive");
+        this.timeScale = timeScale;
+    }
+
+    /**
+     * True if the last advance() could not keep up with the requested speed and dropped time
+     */
+    public boolean isThrottled() {
+        return throttled;
+    }
+
+    /**
+     * Run the simulation for the given simulated duration without any substep cap.
+     * Intended for headless runs (tests, build servers) where no frame clock exists.
+     */
+    public void runFor(double simulatedSeconds) {
+        long steps = Math.round(simulatedSeconds / STEP_SECONDS);
+        for (long i = 0; i < steps && !level.isPaused() && !level.isGameOver(); i++) {
+            step();
+        }
+    }
+
+    /**
+     * Execute exactly one fixed step.
+     */
+    public void step() {
+        level.getClock().advance(STEP_SECONDS);
+        PacketManager.updateMovingPackets(STEP_SECONDS);
+        if (collisionController != null) {
+            collisionController.runCollisionCheck();
+        }
+        forwardStoredPackets();
+        updateSystems();
+        stepCount++;
+        if (stepCount % SYSTEM_PROCESS_EVERY_STEPS == 0) {
+            networkSystem.processSystems(getSimulatedTimeMillis());
+            networkSystem.updateSystemStates();
+        }
+        if (stepCount % SimulationTimeline.RECORD_EVERY_STEPS == 0) {
+            timeline.record();
+        }
+    }
+
+    /**
+     * Scrub the level back to the newest recorded frame at or before the given clock time
+     * @return false if that time is outside the recorded history
+     */
+    public boolean rewindTo(long clockNanos) {
+        if (!timeline.restore(clockNanos)) {
+            return false;
+        }
+        accumulator = 0.0;
+        stepCount = Math.round(level.getClock().nanoTime() / (STEP_SECONDS * 1_000_000_000.0));
+        return true;
+    }
+
+    public SimulationTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Length of simulated time the timeline can hold
+     */
+    public static long getHistoryNanos() {
+        return Math.round(SimulationTimeline.CAPACITY * SimulationTimeline.RECORD_EVERY_STEPS * STEP_SECONDS * 1_000_000_000.0);
+    }
+
+    /**
+     * Let systems that stored a packet or had an output wire free up push packets onward.
+     * Idle systems are never on the ready queue, so they cost nothing here.
+     */
+    private void forwardStoredPackets() {
+        level.getReadyQueue().drainTo(readySystems);
+        for (System system : readySystems) {
+            SystemBehavior behavior = system.getBehavior();
+            if (behavior != null) {
+                behavior.forward();
+            }
+        }
+        readySystems.clear();
+    }
+
+    private void updateSystems() {
+        for (System system : level.getSystems()) {
+            SystemBehavior behavior = system.getBehavior();
+            if (behavior != null) {
+                behavior.update();
+            }
+        }
+    }
+
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public long getSimulatedTimeMillis() {
+        return level.getClock().millis();
+    }
+}
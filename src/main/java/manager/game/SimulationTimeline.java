@@ -0,0 +1,509 @@
+package manager.game;
+
+import javafx.geometry.Point2D;
+import manager.packets.PacketManager;
+import model.entity.packets.Packet;
+import model.entity.ports.Port;
+import model.entity.systems.System;
+import model.levels.Level;
+import model.logic.Shop.AergiaLogic;
+import model.logic.Shop.EliphasLogic;
+import model.logic.state.SimulationRandom;
+import model.wire.Wire;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Fixed-size in-memory history of a level for scrubbing back along its timeline.
+ * A frame is recorded every {@link #RECORD_EVERY_STEPS} steps; every {@link #KEYFRAME_INTERVAL}th
+ * frame holds every packet, the frames in between only the packets that changed since the previous
+ * frame. Packets are kept by reference with their mutable fields packed into flat arrays, so a
+ * restore is a few array copies rather than the save-file path.
+ * Purchases and Sisyphus moves raise the level's history barrier; the frames recorded before one are
+ * dropped, so a rewind never refunds coins for something that stays bought.
+ */
+public class SimulationTimeline {
+    /** Simulation steps between recorded frames (100 ms). */
+    public static final int RECORD_EVERY_STEPS = 10;
+    /** Every n-th frame is a keyframe. */
+    static final int KEYFRAME_INTERVAL = 10;
+    /** Keyframe segments kept in the ring; about one minute of history. */
+    private static final int SEGMENTS = 60;
+    public static final int CAPACITY = SEGMENTS * KEYFRAME_INTERVAL;
+
+    // Per-packet layout of the double fields
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int PROGRESS = 2;
+    private static final int DEFLECT_X = 3;
+    private static final int DEFLECT_Y = 4;
+    private static final int FROZEN_SPEED = 5;
+    private static final int MOTION = 6;
+    private static final int VALUE_STRIDE = MOTION + Packet.MOTION_STATE_SLOTS;
+    // Per-packet layout of the long fields
+    private static final int FROZEN_UNTIL = 0;
+    private static final int MOVE_START = 1;
+    private static final int PACKED = 2;
+    private static final int WORD_STRIDE = 3;
+    // PACKED holds health (bits 0-15), noise (bits 16-31) and these flags
+    private static final long MOVING = 1L << 32;
+    private static final long IN_SYSTEM = 1L << 33;
+    private static final long TROJAN = 1L << 34;
+    private static final long BIT_FRAGMENT = 1L << 35;
+    private static final long COMPATIBLE = 1L << 36;
+    private static final long IN_LEVEL = 1L << 37;
+
+    private final Level level;
+    private final Frame[] frames = new Frame[CAPACITY];
+    /** Number of the next frame to record; frame n lives in slot n % CAPACITY. */
+    private long recorded = 0;
+    /** Level history barrier the recorded frames belong to. */
+    private int barrier;
+
+    // Packet state as of the newest frame (what deltas are taken against), plus scratch tables
+    private PacketTable baseline = new PacketTable();
+    private PacketTable scratch = new PacketTable();
+    private final List<Packet> storedScratch = new ArrayList<>();
+
+    public SimulationTimeline(Level level) {
+        this.level = level;
+        this.barrier = level.getHistoryBarrier();
+    }
+
+    /**
+     * Record the current state as the newest frame
+     */
+    public void record() {
+        dropHistoryBeforeBarrier();
+        long n = recorded;
+        Frame frame = new Frame();
+        frame.keyframe = n % KEYFRAME_INTERVAL == 0;
+        frame.clockNanos = level.getClock().nanoTime();
+        frame.generated = level.getPacketsGenerated();
+        frame.loss = level.getPacketLoss();
+        frame.collected = level.getPacketsCollected();
+        frame.coins = level.getCoins();
+        frame.aergiaScrolls = level.getAergiaScrolls();
+        frame.sisyphusScrolls = level.getSisyphusScrolls();
+        frame.eliphasScrolls = level.getEliphasScrolls();
+        frame.aergiaCooldownEnd = level.getAergiaCooldownEnd();
+        frame.impactEnd = level.getLevelState().getImpactDisableEndNanos();
+        frame.collisionsEnd = level.getLevelState().getCollisionsDisableEndNanos();
+        frame.aergiaMarks = level.getAergiaMarks().toArray(new AergiaLogic.AergiaMark[0]);
+        frame.eliphasMarks = level.getEliphasMarks().toArray(new EliphasLogic.EliphasMark[0]);
+        frame.lastGeneration = level.getLastPacketGenerationTime();
+        frame.packetIds = level.getLevelState().getPacketIdCounter();
+        frame.random = level.getRandom().saveState();
+
+        scratch.clear();
+        for (Packet packet : level.getPackets()) {
+            if (scratch.indexOf(packet) < 0) pack(scratch, packet, true);
+        }
+        recordSystems(frame);
+        for (Packet packet : frame.stored) {
+            if (scratch.indexOf(packet) < 0) pack(scratch, packet, false);
+        }
+
+        if (frame.keyframe) {
+            frame.setPackets(scratch, null, scratch.size);
+            frame.removed = new Packet[0];
+        } else {
+            int[] changed = new int[scratch.size];
+            int count = 0;
+            for (int i = 0; i < scratch.size; i++) {
+                int j = baseline.indexOf(scratch.packets[i]);
+                if (j < 0 || !scratch.sameAs(i, baseline, j)) changed[count++] = i;
+            }
+            frame.setPackets(scratch, changed, count);
+            List<Packet> removed = new ArrayList<>();
+            for (int j = 0; j < baseline.size; j++) {
+                if (scratch.indexOf(baseline.packets[j]) < 0) removed.add(baseline.packets[j]);
+            }
+            frame.removed = removed.toArray(new Packet[0]);
+        }
+
+        PacketTable previous = baseline;
+        baseline = scratch;
+        scratch = previous;
+        frames[(int) (n % CAPACITY)] = frame;
+        recorded++;
+    }
+
+    /**
+     * Put the level back to the newest frame recorded at or before the given clock time.
+     * Frames after it are discarded, so recording continues from the restored point.
+     * @return false if that time is no longer (or not yet) in the history
+     */
+    public boolean restore(long clockNanos) {
+        dropHistoryBeforeBarrier();
+        long n = frameAtOrBefore(clockNanos);
+        if (n < 0) return false;
+
+        PacketTable state = scratch;
+        state.clear();
+        long key = n - n % KEYFRAME_INTERVAL;
+        for (long k = key; k <= n; k++) {
+            Frame frame = frameAt(k);
+            for (Packet gone : frame.removed) state.remove(gone);
+            for (int i = 0; i < frame.packets.length; i++) {
+                int j = state.indexOf(frame.packets[i]);
+                if (j < 0) j = state.append(frame.packets[i]);
+                state.wires[j] = frame.wires[i];
+                java.lang.System.arraycopy(frame.values, i * VALUE_STRIDE, state.values, j * VALUE_STRIDE, VALUE_STRIDE);
+                java.lang.System.arraycopy(frame.words, i * WORD_STRIDE, state.words, j * WORD_STRIDE, WORD_STRIDE);
+            }
+        }
+        apply(frameAt(n), state);
+
+        scratch = baseline;
+        baseline = state;
+        for (long k = n + 1; k < recorded; k++) {
+            frames[(int) (k % CAPACITY)] = null;
+        }
+        recorded = n + 1;
+        return true;
+    }
+
+    /**
+     * Clock time of the oldest frame that can still be restored, or -1 if none
+     */
+    public long getOldestNanos() {
+        dropHistoryBeforeBarrier();
+        long oldest = oldestFrame();
+        return oldest < recorded ? frameAt(oldest).clockNanos : -1L;
+    }
+
+    /**
+     * Clock time of the newest recorded frame, or -1 if none
+     */
+    public long getNewestNanos() {
+        dropHistoryBeforeBarrier();
+        return recorded > 0 ? frameAt(recorded - 1).clockNanos : -1L;
+    }
+
+    public void clear() {
+        Arrays.fill(frames, null);
+        recorded = 0;
+        baseline.clear();
+        scratch.clear();
+    }
+
+    /**
+     * Forget every frame if something was bought or moved since they were recorded
+     */
+    private void dropHistoryBeforeBarrier() {
+        if (level.getHistoryBarrier() != barrier) {
+            barrier = level.getHistoryBarrier();
+            clear();
+        }
+    }
+
+    /** First frame whose keyframe has not been overwritten */
+    private long oldestFrame() {
+        long first = Math.max(0, recorded - CAPACITY);
+        long rem = first % KEYFRAME_INTERVAL;
+        return rem == 0 ? first : first + KEYFRAME_INTERVAL - rem;
+    }
+
+    private Frame frameAt(long n) {
+        return frames[(int) (n % CAPACITY)];
+    }
+
+    private long frameAtOrBefore(long clockNanos) {
+        long lo = oldestFrame();
+        long hi = recorded - 1;
+        long found = -1;
+        while (lo <= hi) {
+            long mid = (lo + hi) >>> 1;
+            if (frameAt(mid).clockNanos <= clockNanos) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private void recordSystems(Frame frame) {
+        List<System> systems = level.getSystems();
+        frame.systems = systems.toArray(new System[0]);
+        frame.storedEnds = new int[frame.systems.length];
+        List<Wire> wires = new ArrayList<>();
+        List<Port> ports = new ArrayList<>();
+        storedScratch.clear();
+        for (int i = 0; i < frame.systems.length; i++) {
+            frame.systems[i].collectStoredPackets(storedScratch);
+            frame.storedEnds[i] = storedScratch.size();
+            ports.addAll(frame.systems[i].getInPorts());
+            for (Port port : frame.systems[i].getOutPorts()) {
+                ports.add(port);
+                if (port.getWire() != null) wires.add(port.getWire());
+            }
+        }
+        frame.stored = storedScratch.toArray(new Packet[0]);
+        // Wires detached by the massive-run limit have to be reattached on rewind
+        frame.ports = ports.toArray(new Port[0]);
+        frame.portWires = new Wire[frame.ports.length];
+        frame.portKinds = new Port.ShapeKind[frame.ports.length];
+        for (int i = 0; i < frame.ports.length; i++) {
+            frame.portWires[i] = frame.ports[i].getWire();
+            // Massive packets morph the input ports they arrive at
+            frame.portKinds[i] = frame.ports[i].getShapeKind();
+        }
+        frame.wireList = wires.toArray(new Wire[0]);
+        frame.wireAvailable = new boolean[frame.wireList.length];
+        frame.massiveRuns = new int[frame.wireList.length];
+        for (int i = 0; i < frame.wireList.length; i++) {
+            frame.wireAvailable[i] = frame.wireList[i].isAvailable();
+            frame.massiveRuns[i] = frame.wireList[i].getMassivePacketRunCount();
+        }
+    }
+
+    private static void pack(PacketTable table, Packet packet, boolean inLevel) {
+        int i = table.append(packet);
+        table.wires[i] = packet.getCurrentWire();
+        int v = i * VALUE_STRIDE;
+        double[] values = table.values;
+        Point2D position = packet.getPosition();
+        values[v + X] = position != null ? position.getX() : 0.0;
+        values[v + Y] = position != null ? position.getY() : 0.0;
+        values[v + PROGRESS] = packet.getMovementProgress();
+        values[v + DEFLECT_X] = packet.getDeflectedX();
+        values[v + DEFLECT_Y] = packet.getDeflectedY();
+        values[v + FROZEN_SPEED] = packet.getAergiaFrozenSpeedOrNegative();
+        Arrays.fill(values, v + MOTION, v + VALUE_STRIDE, 0.0);
+        packet.writeMotionState(values, v + MOTION);
+
+        int w = i * WORD_STRIDE;
+        table.words[w + FROZEN_UNTIL] = packet.getAergiaEffectEndNanos();
+        table.words[w + MOVE_START] = packet.getMovementStartTime();
+        long packed = (packet.getCurrentHealth() & 0xFFFFL) | ((packet.getNoise() & 0xFFFFL) << 16);
+        if (packet.isMoving()) packed |= MOVING;
+        if (packet.isInSystem()) packed |= IN_SYSTEM;
+        if (packet.isTrojan()) packed |= TROJAN;
+        if (packet.isBitFragment()) packed |= BIT_FRAGMENT;
+        if (packet.isCompatibleWithCurrentPort()) packed |= COMPATIBLE;
+        if (inLevel) packed |= IN_LEVEL;
+        table.words[w + PACKED] = packed;
+    }
+
+    private static void unpack(PacketTable table, int i) {
+        Packet packet = table.packets[i];
+        Wire wire = table.wires[i];
+        int v = i * VALUE_STRIDE;
+        double[] values = table.values;
+        int w = i * WORD_STRIDE;
+        long packed = table.words[w + PACKED];
+
+        packet.setCurrentWire(wire);
+        if (wire != null) {
+            packet.setStartPosition(wire.getSource().getPosition());
+            packet.setTargetPosition(wire.getDest().getPosition());
+        }
+        packet.setPosition(new Point2D(values[v + X], values[v + Y]));
+        packet.setMovementProgress(values[v + PROGRESS]);
+        packet.resetDeflection();
+        packet.applyDeflection(values[v + DEFLECT_X], values[v + DEFLECT_Y]);
+        packet.clearAergiaFreezeIfExpired(Long.MAX_VALUE);
+        if (values[v + FROZEN_SPEED] >= 0.0) {
+            packet.setAergiaFreeze(values[v + FROZEN_SPEED], table.words[w + FROZEN_UNTIL]);
+        }
+        packet.readMotionState(values, v + MOTION);
+        packet.setMovementStartTime(table.words[w + MOVE_START]);
+        packet.setCurrentHealth((int) (packed & 0xFFFFL));
+        packet.setNoise((int) ((packed >>> 16) & 0xFFFFL));
+        packet.setMoving((packed & MOVING) != 0);
+        packet.setInSystem((packed & IN_SYSTEM) != 0);
+        packet.setTrojan((packed & TROJAN) != 0);
+        packet.setBitFragment((packed & BIT_FRAGMENT) != 0);
+        packet.setCompatibleWithCurrentPort((packed & COMPATIBLE) != 0);
+    }
+
+    private void apply(Frame frame, PacketTable state) {
+        level.getClock().rewindTo(frame.clockNanos);
+        level.getLevelState().restoreCounters(frame.generated, frame.loss, frame.collected);
+        level.addCoins(frame.coins - level.getCoins());
+        level.addAergiaScrolls(frame.aergiaScrolls - level.getAergiaScrolls());
+        level.addSisyphusScrolls(frame.sisyphusScrolls - level.getSisyphusScrolls());
+        level.addEliphasScrolls(frame.eliphasScrolls - level.getEliphasScrolls());
+        level.setAergiaCooldownEnd(frame.aergiaCooldownEnd);
+        level.getLevelState().setImpactDisableEndNanos(frame.impactEnd);
+        level.getLevelState().setCollisionsDisableEndNanos(frame.collisionsEnd);
+        level.getAergiaMarks().clear();
+        level.getAergiaMarks().addAll(Arrays.asList(frame.aergiaMarks));
+        level.getEliphasMarks().clear();
+        level.getEliphasMarks().addAll(Arrays.asList(frame.eliphasMarks));
+        level.setLastPacketGenerationTime(frame.lastGeneration);
+        level.getLevelState().setPacketIdCounter(frame.packetIds);
+        level.getRandom().restoreState(frame.random);
+
+        List<Packet> all = new ArrayList<>(state.size);
+        List<Packet> moving = new ArrayList<>();
+        level.clearPackets();
+        for (int i = 0; i < state.size; i++) {
+            unpack(state, i);
+            Packet packet = state.packets[i];
+            all.add(packet);
+            long packed = state.words[i * WORD_STRIDE + PACKED];
+            if ((packed & IN_LEVEL) != 0) level.addPacket(packet);
+            if ((packed & MOVING) != 0 && packet.getCurrentWire() != null) moving.add(packet);
+        }
+
+        int start = 0;
+        for (int i = 0; i < frame.systems.length; i++) {
+            int end = frame.storedEnds[i];
+            frame.systems[i].restoreStoredPackets(Arrays.asList(frame.stored).subList(start, end));
+            frame.systems[i].markReady();
+            start = end;
+        }
+        // A port relinked to its recorded wire means the massive-run limit detached that wire since
+        List<Wire> reattached = new ArrayList<>();
+        List<Port> morphed = new ArrayList<>();
+        for (int i = 0; i < frame.ports.length; i++) {
+            Port port = frame.ports[i];
+            Wire wire = frame.portWires[i];
+            if (port.getWire() != wire) {
+                port.setWire(wire);
+                if (wire != null && !reattached.contains(wire)) {
+                    reattached.add(wire);
+                    level.registerWire(wire);
+                }
+            }
+            if (port.getShapeKind() != frame.portKinds[i]) {
+                port.setShapeKind(frame.portKinds[i]);
+                morphed.add(port);
+            }
+        }
+        for (int i = 0; i < frame.wireList.length; i++) {
+            Wire wire = frame.wireList[i];
+            wire.setAvailable(frame.wireAvailable[i]);
+            wire.setMassivePacketRunCount(frame.massiveRuns[i]);
+        }
+
+        PacketManager.restoreTimeline(all, moving, reattached, morphed);
+    }
+
+    /**
+     * Packets with their fields packed into parallel flat arrays
+     */
+    private static final class PacketTable {
+        Packet[] packets = new Packet[64];
+        Wire[] wires = new Wire[64];
+        double[] values = new double[64 * VALUE_STRIDE];
+        long[] words = new long[64 * WORD_STRIDE];
+        int size = 0;
+        private final IdentityHashMap<Packet, Integer> index = new IdentityHashMap<>();
+
+        int indexOf(Packet packet) {
+            Integer i = index.get(packet);
+            return i != null ? i : -1;
+        }
+
+        int append(Packet packet) {
+            if (size == packets.length) {
+                int capacity = size * 2;
+                packets = Arrays.copyOf(packets, capacity);
+                wires = Arrays.copyOf(wires, capacity);
+                values = Arrays.copyOf(values, capacity * VALUE_STRIDE);
+                words = Arrays.copyOf(words, capacity * WORD_STRIDE);
+            }
+            packets[size] = packet;
+            index.put(packet, size);
+            return size++;
+        }
+
+        void remove(Packet packet) {
+            int i = indexOf(packet);
+            if (i < 0) return;
+            int tail = size - i - 1;
+            java.lang.System.arraycopy(packets, i + 1, packets, i, tail);
+            java.lang.System.arraycopy(wires, i + 1, wires, i, tail);
+            java.lang.System.arraycopy(values, (i + 1) * VALUE_STRIDE, values, i * VALUE_STRIDE, tail * VALUE_STRIDE);
+            java.lang.System.arraycopy(words, (i + 1) * WORD_STRIDE, words, i * WORD_STRIDE, tail * WORD_STRIDE);
+            size--;
+            packets[size] = null;
+            wires[size] = null;
+            index.remove(packet);
+            for (int k = i; k < size; k++) index.put(packets[k], k);
+        }
+
+        boolean sameAs(int i, PacketTable other, int j) {
+            if (wires[i] != other.wires[j]) return false;
+            for (int k = 0; k < VALUE_STRIDE; k++) {
+                if (Double.doubleToLongBits(values[i * VALUE_STRIDE + k]) != Double.doubleToLongBits(other.values[j * VALUE_STRIDE + k])) return false;
+            }
+            for (int k = 0; k < WORD_STRIDE; k++) {
+                if (words[i * WORD_STRIDE + k] != other.words[j * WORD_STRIDE + k]) return false;
+            }
+            return true;
+        }
+
+        void clear() {
+            Arrays.fill(packets, 0, size, null);
+            Arrays.fill(wires, 0, size, null);
+            size = 0;
+            index.clear();
+        }
+    }
+
+    /**
+     * One recorded point on the timeline, sized exactly to its content
+     */
+    private static final class Frame {
+        boolean keyframe;
+        long clockNanos;
+        int generated;
+        int loss;
+        int collected;
+        int coins;
+        int aergiaScrolls;
+        int sisyphusScrolls;
+        int eliphasScrolls;
+        long aergiaCooldownEnd;
+        long impactEnd;
+        long collisionsEnd;
+        AergiaLogic.AergiaMark[] aergiaMarks;
+        EliphasLogic.EliphasMark[] eliphasMarks;
+        long lastGeneration;
+        int packetIds;
+        SimulationRandom.State random;
+        // All packets in a keyframe; only new or changed ones in a delta frame
+        Packet[] packets;
+        Wire[] wires;
+        double[] values;
+        long[] words;
+        // Delta frames: packets present in the previous frame that are gone now
+        Packet[] removed;
+        // Stored packets of systems[i] are stored[storedEnds[i - 1] .. storedEnds[i])
+        System[] systems;
+        int[] storedEnds;
+        Packet[] stored;
+        Port[] ports;
+        Wire[] portWires;
+        Port.ShapeKind[] portKinds;
+        Wire[] wireList;
+        boolean[] wireAvailable;
+        int[] massiveRuns;
+
+        /**
+         * Copy the selected rows of a table (all rows if selection is null)
+         */
+        void setPackets(PacketTable table, int[] selection, int count) {
+            packets = new Packet[count];
+            wires = new Wire[count];
+            values = new double[count * VALUE_STRIDE];
+            words = new long[count * WORD_STRIDE];
+            for (int k = 0; k < count; k++) {
+                int i = selection != null ? selection[k] : k;
+                packets[k] = table.packets[i];
+                wires[k] = table.wires[i];
+                java.lang.System.arraycopy(table.values, i * VALUE_STRIDE, values, k * VALUE_STRIDE, VALUE_STRIDE);
+                java.lang.System.arraycopy(table.words, i * WORD_STRIDE, words, k * WORD_STRIDE, WORD_STRIDE);
+            }
+        }
+    }
+}
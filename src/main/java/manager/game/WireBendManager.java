@@ -30,6 +30,7 @@ public class WireBendManager {
         
         // Deduct coins
         level.addCoins(-BEND_POINT_COST);
+        level.markHistoryBarrier();
         
         // Play purchase sound
         service.AudioManager.playShopPurchase();
@@ -58,14 +58,18 @@ public class ConfidentialPacketManager {
     }
 
     /**
-     * Type 2: Maintains distance with all other flowing packets
+     * Type 2: Maintains distance from the adjacent flowing packets on its wire
      */
     private void updateType2Movement(double deltaTimeSeconds) {
-        // Check distance to all other moving packets
+        // Check distance to the neighbouring packets on this wire (ahead and behind)
         boolean shouldMoveBackward = false;
         double baseSpeed = packet.getSpeed();
         
-        for (Packet otherPacket : PacketManager.getMovingPackets()) {
+        model.wire.WireLane lane = wire.getLane();
+        int index = lane.indexOf(packet);
+        for (int neighbour = index - 1; index >= 0 && neighbour <= index + 1; neighbour += 2) {
+            if (neighbour < 0 || neighbour >= lane.size()) continue;
+            Packet otherPacket = lane.get(neighbour);
             if (otherPacket == packet || otherPacket.isInSystem()) continue;
             
             double distance = calculateDistance(otherPacket, packet);
@@ -134,24 +138,8 @@ public class ConfidentialPacketManager {
      * Check if a system has packets stored in it
      */
     private boolean hasPacketsInSystem(System system) {
-        // Check different system types for stored packets
-        if (system instanceof model.entity.systems.IntermediateSystem) {
-            model.entity.systems.IntermediateSystem intermediate = 
-                (model.entity.systems.IntermediateSystem) system;
-            return intermediate.getStorageSize() > 0;
-        } else if (system instanceof model.entity.systems.VPNSystem) {
-            model.entity.systems.VPNSystem vpn = (model.entity.systems.VPNSystem) system;
-            return vpn.getStorageSize() > 0;
-        } else if (system instanceof model.entity.systems.DDosSystem) {
-            model.entity.systems.DDosSystem ddos = (model.entity.systems.DDosSystem) system;
-            return ddos.getStorageSize() > 0;
-        } else if (system instanceof model.entity.systems.SpySystem) {
-            model.entity.systems.SpySystem spy = (model.entity.systems.SpySystem) system;
-            return spy.getStorageSize() > 0;
-        } else if (system instanceof model.entity.systems.AntiVirusSystem) {
-            model.entity.systems.AntiVirusSystem antivirus = 
-                (model.entity.systems.AntiVirusSystem) system;
-            return antivirus.getStorageSize() > 0;
+        if (system instanceof model.entity.systems.BufferingSystem) {
+            return ((model.entity.systems.BufferingSystem) system).getStorageSize() > 0;
         }
         
         return false; // StartSystem and EndSystem don't store packets
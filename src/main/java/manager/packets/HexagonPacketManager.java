@@ -5,6 +5,7 @@ import model.entity.packets.Packet;
 import model.logic.packet.PacketState;
 import model.wire.Wire;
 import javafx.geometry.Point2D;
+import service.log.Log;
 
 public class HexagonPacketManager {
     private final HexagonPacket packet;
@@ -58,13 +59,13 @@ public class HexagonPacketManager {
     private void deliverPacketToDestination() {
         // Deliver packet to destination system
         // This would integrate with your existing packet delivery system
-        System.out.println("HexagonPacket " + packet.getId() + " delivered to destination");
+        Log.debug("HexagonPacketManager", () -> "HexagonPacket " + packet.getId() + " delivered to destination");
     }
 
     public void handleCollision() {
         // Hexagon packets change direction when colliding
         packet.changeDirection();
-        System.out.println("HexagonPacket " + packet.getId() + " changed direction due to collision");
+        Log.debug("HexagonPacketManager", () -> "HexagonPacket " + packet.getId() + " changed direction due to collision");
     }
 
     public Point2D getCurrentPosition() {
@@ -13,7 +13,6 @@ import java.util.Iterator;
 import java.util.HashMap;
 import java.util.Map;
 import model.levels.Level;
-import model.logic.Shop.EliphasLogic;
 import controller.PacketController;
 import javafx.scene.layout.Pane;
 import view.components.ports.PortView;
@@ -22,23 +21,52 @@ import view.components.ports.TrianglePortView;
 import view.components.ports.HexagonPortView;
 import view.components.systems.SystemView;
 import view.components.systems.MergeSystemView;
+import view.components.ViewRegistry;
+import service.log.Log;
 
 public class PacketManager {
     private static final List<Packet> movingPackets = new ArrayList<>();
+    private static final List<Packet> arrivedPackets = new ArrayList<>();
     private static Level level;
     private static PacketController packetController;
     
     // Track confidential packet managers for special movement handling
     private static final Map<Packet, ConfidentialPacketManager> confidentialManagers = new HashMap<>();
 
+    // Wires that currently carry at least one packet; their lanes are re-sorted every update
+    private static final java.util.Set<Wire> occupiedWires = new java.util.LinkedHashSet<>();
+
+    // View changes raised by simulation steps; the render pass applies them, the step never does
+    private static final List<Runnable> pendingViewUpdates = new ArrayList<>();
+
     public static void setLevel(Level lvl) {
         level = lvl;
+        pendingViewUpdates.clear();
     }
 
     public static void setPacketController(PacketController controller) {
         packetController = controller;
     }
     
+    /**
+     * Queue a view change for the next rendered frame; dropped when no view is attached (headless runs)
+     */
+    public static void postViewUpdate(Runnable update) {
+        if (packetController != null) {
+            pendingViewUpdates.add(update);
+        }
+    }
+
+    /**
+     * Apply the view changes queued by simulation steps since the last frame. FX thread only.
+     */
+    public static void applyViewUpdates() {
+        for (int i = 0; i < pendingViewUpdates.size(); i++) {
+            pendingViewUpdates.get(i).run();
+        }
+        pendingViewUpdates.clear();
+    }
+
     public static boolean sendPacket(Port sourcePort, Packet packet) {
         return sendPacket(sourcePort, packet, false);
     }
@@ -50,7 +78,7 @@ public class PacketManager {
             return false;
         }
         // Ensure packet is in level list before visualization/movement starts
-        if (level != null && packet != null && !level.getPackets().contains(packet)) {
+        if (level != null && packet != null && !level.containsPacket(packet)) {
             level.addPacket(packet);
         }
         
@@ -67,11 +95,6 @@ public class PacketManager {
             return false;
         }
         
-        // CRITICAL FIX: Show packet if it was hidden (coming out of storage)
-        if (packetController != null) {
-            packetController.showPacket(packet);
-        }
-        
         // Set initial position to source center for precise positioning
         Point2D sourcePos = wire.getSource().getPosition();
         packet.setPosition(new Point2D(sourcePos.getX(), sourcePos.getY()));
@@ -80,7 +103,7 @@ public class PacketManager {
         packet.setTargetPosition(wire.getDest().getPosition());
         packet.setCurrentWire(wire);
         packet.setMovementProgress(0.0);
-        packet.setMovementStartTime(java.lang.System.nanoTime());
+        packet.setMovementStartTime(now());
         packet.setMoving(true);
         packet.setInSystem(false);
         
@@ -96,19 +119,19 @@ public class PacketManager {
             HexagonPacket hexPacket = (HexagonPacket) packet;
             hexPacket.setTotalPathLength(wire.getLength());
             hexPacket.setDistanceTraveled(0.0);
-            java.lang.System.out.println("🚀 HEXAGON PACKET MOVEMENT STARTED: " + packet.getId() + " on wire of length " + String.format("%.1f", wire.getLength()));
+            Log.debug("PacketManager", () -> "🚀 HEXAGON PACKET MOVEMENT STARTED: " + packet.getId() + " on wire of length " + wire.getLength());
         }
         
         // Special initialization for ConfidentialPacket
         if (packet instanceof ConfidentialPacket) {
             ConfidentialPacketManager confidentialManager = new ConfidentialPacketManager(packet, wire);
             confidentialManagers.put(packet, confidentialManager);
-            java.lang.System.out.println("🔒 CONFIDENTIAL PACKET MOVEMENT STARTED: " + packet.getId() + " (" + packet.getType() + ") on wire of length " + String.format("%.1f", wire.getLength()));
+            Log.debug("PacketManager", () -> "🔒 CONFIDENTIAL PACKET MOVEMENT STARTED: " + packet.getId() + " (" + packet.getType() + ") on wire of length " + wire.getLength());
         }
 
         // Debug for Massive packets
         if (packet instanceof MassivePacket) {
-            java.lang.System.out.println("🟤 MASSIVE PACKET MOVEMENT STARTED: " + packet.getId() + " (" + packet.getType() + ") on wire " + wire.getId() + " length=" + String.format("%.1f", wire.getLength()));
+            Log.debug("PacketManager", () -> "🟤 MASSIVE PACKET MOVEMENT STARTED: " + packet.getId() + " (" + packet.getType() + ") on wire " + wire.getId() + " length=" + wire.getLength());
         }
         
         if (packet instanceof model.entity.packets.TrianglePacket && !isCompatible) {
@@ -116,9 +139,8 @@ public class PacketManager {
         }
         wire.setAvailable(false);
         movingPackets.add(packet);
-        if (packetController != null) {
-            packetController.addPacket(packet);
-        }
+        wire.getLane().add(packet);
+        occupiedWires.add(wire);
         
         return true;
     }
@@ -135,9 +157,6 @@ public class PacketManager {
         while (iterator.hasNext()) {
             Packet packet = iterator.next();
             updatePacketMovement(packet, deltaTimeSeconds);
-            if (packetController != null) {
-                packetController.updatePacket(packet);
-            }
             
             // Check for movement completion
             boolean shouldComplete = false;
@@ -152,26 +171,21 @@ public class PacketManager {
             }
             
             if (shouldComplete) {
-                completeMovement(packet);
                 iterator.remove();
-                if (packetController != null) {
-                    packetController.updatePacket(packet);
-                }
+                arrivedPackets.add(packet);
             }
         }
 
-        // After movement updates, handle collisions and off-wire losses
-        handleCollisionsAndOffWireLoss();
-
-        // After movement/collision handling, process distributor forwarding
-        if (level != null) {
-            for (model.entity.systems.System sys : level.getSystems()) {
-                if (sys instanceof model.entity.systems.DistributorSystem) {
-                    manager.systems.DistributorSystemManager mgr = new manager.systems.DistributorSystemManager((model.entity.systems.DistributorSystem) sys);
-                    mgr.forwardPackets();
-                }
-            }
+        // Deliver after the sweep: receiving systems may send or remove packets,
+        // which must not touch movingPackets while it is being iterated
+        for (Packet packet : arrivedPackets) {
+            completeMovement(packet);
         }
+        arrivedPackets.clear();
+
+        // Restore progress order on every occupied wire, then handle collisions and off-wire losses
+        refreshWireLanes();
+        handleCollisionsAndOffWireLoss();
     }
     
     private static void updatePacketMovement(Packet packet, double deltaTimeSeconds) {
@@ -184,6 +198,7 @@ public class PacketManager {
             return;
         }
         
+        packet.clearAergiaFreezeIfExpired(now());
         packet.updateMovement(deltaTimeSeconds, packet.isCompatibleWithCurrentPort());
         
         // Special handling for HexagonPacket using distance-based movement
@@ -198,25 +213,24 @@ public class PacketManager {
                 hexPacket.setDistanceTraveled(distanceTraveled);
             }
             
-            // Debug log for hexagon speed freezing (reduced frequency)
-            if (Math.random() < 0.016 && packet.isAergiaFrozenActive()) { // ~1/60 chance
-                java.lang.System.out.println("DEBUG: HEXAGON MOVEMENT (FROZEN) → packet=" + packet.getId() + 
-                    ", frozenSpeed=" + String.format("%.2f", packet.getAergiaFrozenSpeedOrNegative()) + 
-                    ", normalSpeed=" + String.format("%.2f", hexPacket.getSpeed()) + 
+            // Debug log for hexagon speed freezing (rate limited)
+            if (packet.isAergiaFrozenActive()) {
+                Log.debugLimited("PacketManager.hexagonFrozen", 1000, () -> "HEXAGON MOVEMENT (FROZEN) → packet=" + packet.getId() + 
+                    ", frozenSpeed=" + packet.getAergiaFrozenSpeedOrNegative() + 
+                    ", normalSpeed=" + hexPacket.getSpeed() + 
                     ", speedDoubleSkipped=" + (!inputCompatible));
             }
             double progress = distanceTraveled / wireLength;
+            final double crossedProgress = progress;
             // Check Aergia mark crossing and freeze speed if applicable for the remaining effect time
             if (level != null && !level.getAergiaMarks().isEmpty()) {
-                long now = java.lang.System.nanoTime();
-                for (model.logic.Shop.AergiaLogic.AergiaMark mark : level.getAergiaMarks()) {
-                    if (mark.wire == wire && mark.effectEndNanos > now && progress >= mark.progress) {
-                        packet.setAergiaFreeze(hexPacket.getSpeed(), mark.effectEndNanos);
-                        java.lang.System.out.println("DEBUG: AERGIA MARK CROSSED (hexagon) → packet=" + packet.getId() +
-                            ", wire=" + wire.getId() + ", progress=" + String.format("%.3f", progress) +
-                            ", speedFrozenAt=" + String.format("%.2f", hexPacket.getSpeed()));
-                        break;
-                    }
+                model.logic.Shop.AergiaLogic.AergiaMark mark =
+                    level.getAergiaMarks().findPassed(wire, progress, now());
+                if (mark != null) {
+                    packet.setAergiaFreeze(hexPacket.getSpeed(), mark.effectEndNanos);
+                    Log.debug("PacketManager", () -> "AERGIA MARK CROSSED (hexagon) → packet=" + packet.getId() +
+                        ", wire=" + wire.getId() + ", progress=" + crossedProgress +
+                        ", speedFrozenAt=" + hexPacket.getSpeed());
                 }
             }
             
@@ -231,12 +245,13 @@ public class PacketManager {
             // Deflection should only be a visual effect, not affect the actual path
             packet.setPosition(new Point2D(newPosition.getX(), newPosition.getY()));
             
-            // Debug position updates for hexagon packets (reduced frequency)
-            if (hexPacket.getMovementState() == model.logic.packet.PacketState.RETURNING && 
-                Math.random() < 0.1) { // Only log 10% of the time to reduce spam
-                java.lang.System.out.println("⬅️ HEXAGON VISUAL UPDATE: " + packet.getId() + " - Distance: " + String.format("%.1f", distanceTraveled) + 
-                                           ", Progress: " + String.format("%.2f", progress) + ", Position: (" + 
-                                           String.format("%.1f", newPosition.getX()) + ", " + String.format("%.1f", newPosition.getY()) + ")");
+            // Debug position updates for hexagon packets (rate limited)
+            if (hexPacket.getMovementState() == model.logic.packet.PacketState.RETURNING) {
+                final double traveled = distanceTraveled;
+                final double clampedProgress = progress;
+                Log.debugLimited("PacketManager.hexagonReturning", 250, () -> "⬅️ HEXAGON VISUAL UPDATE: " + packet.getId() + " - Distance: " + traveled + 
+                                           ", Progress: " + clampedProgress + ", Position: (" + 
+                                           newPosition.getX() + ", " + newPosition.getY() + ")");
             }
         } else if (packet instanceof ConfidentialPacket) {
             // Special handling for ConfidentialPacket using custom movement logic
@@ -267,12 +282,10 @@ public class PacketManager {
         double frozen = packet.getAergiaFrozenSpeedOrNegative();
         double speed = (frozen >= 0.0) ? frozen : packet.getSpeed();
         
-        // Debug log every 60 frames (reduce spam) to show speed being used
-        if (Math.random() < 0.016) { // ~1/60 chance
-            if (frozen >= 0.0) {
-                java.lang.System.out.println("DEBUG: PACKET MOVEMENT (FROZEN) → packet=" + packet.getId() + 
-                    ", usingSpeed=" + String.format("%.2f", speed) + " (frozen), normalSpeed=" + String.format("%.2f", packet.getSpeed()));
-            }
+        // Debug log (rate limited) to show speed being used
+        if (frozen >= 0.0) {
+            Log.debugLimited("PacketManager.frozenMovement", 1000, () -> "PACKET MOVEMENT (FROZEN) → packet=" + packet.getId() + 
+                ", usingSpeed=" + frozen + " (frozen), normalSpeed=" + packet.getSpeed());
         }
         // If entering an incompatible input port, double the speed for square/triangle
         Wire currentWire = packet.getCurrentWire();
@@ -286,15 +299,14 @@ public class PacketManager {
         // any active mark on this wire, freeze its speed at current value for the mark duration
         if (currentWire != null && frozen < 0.0 && level != null && !level.getAergiaMarks().isEmpty()) {
             double progress = packet.getMovementProgress();
-            long now = java.lang.System.nanoTime();
-            for (model.logic.Shop.AergiaLogic.AergiaMark mark : level.getAergiaMarks()) {
-                if (mark.wire == currentWire && mark.effectEndNanos > now && progress >= mark.progress) {
-                    packet.setAergiaFreeze(speed, mark.effectEndNanos);
-                    java.lang.System.out.println("DEBUG: AERGIA MARK CROSSED (standard) → packet=" + packet.getId() +
-                        ", wire=" + currentWire.getId() + ", progress=" + String.format("%.3f", progress) +
-                        ", speedFrozenAt=" + String.format("%.2f", speed));
-                    break;
-                }
+            model.logic.Shop.AergiaLogic.AergiaMark mark =
+                level.getAergiaMarks().findPassed(currentWire, progress, now());
+            if (mark != null) {
+                packet.setAergiaFreeze(speed, mark.effectEndNanos);
+                final double frozenAt = speed;
+                Log.debug("PacketManager", () -> "AERGIA MARK CROSSED (standard) → packet=" + packet.getId() +
+                    ", wire=" + currentWire.getId() + ", progress=" + progress +
+                    ", speedFrozenAt=" + frozenAt);
             }
         }
         double distanceToMove = speed * deltaTimeSeconds;
@@ -311,20 +323,15 @@ public class PacketManager {
 
         // Eliphas: continuous re-centering after crossing mark on this wire
         if (level != null && !level.getEliphasMarks().isEmpty()) {
-            long now = java.lang.System.nanoTime();
             Wire wire = packet.getCurrentWire();
-            double progress = newProgress;
-            for (EliphasLogic.EliphasMark mark : level.getEliphasMarks()) {
-                if (mark.wire == wire && mark.effectEndNanos > now && progress >= mark.progress) {
-                    // Smoothly ease deflection back to zero to avoid tunneling
-                    double dx = packet.getDeflectedX();
-                    double dy = packet.getDeflectedY();
-                    // Apply a proportional pull toward zero each update (critical to be continuous)
-                    double k = 6.0; // higher = faster recenter; tuned for ~30fps
-                    double step = Math.min(1.0, k * deltaTimeSeconds);
-                    packet.applyDeflection(-dx * step, -dy * step);
-                    break;
-                }
+            if (level.getEliphasMarks().findPassed(wire, newProgress, now()) != null) {
+                // Smoothly ease deflection back to zero to avoid tunneling
+                double dx = packet.getDeflectedX();
+                double dy = packet.getDeflectedY();
+                // Apply a proportional pull toward zero each update (critical to be continuous)
+                double k = 6.0; // higher = faster recenter; tuned for ~30fps
+                double step = Math.min(1.0, k * deltaTimeSeconds);
+                packet.applyDeflection(-dx * step, -dy * step);
             }
         }
     }
@@ -334,42 +341,64 @@ public class PacketManager {
     private static final double COLLISION_DEFLECT_MAX = 14.0;
     private static final double COLLISION_TRIGGER_PROBABILITY = 0.7; // not consistent
 
-    private static void handleCollisionsAndOffWireLoss() {
-        int n = movingPackets.size();
-        if (n <= 1) return;
+    private static final java.util.Random UNSEEDED = new java.util.Random();
 
-        java.util.Random rng = new java.util.Random();
-        java.util.List<Packet> toRemove = new java.util.ArrayList<>();
+    /**
+     * Simulation clock time of the current level in nanos (0 when no level is set)
+     */
+    private static long now() {
+        return level != null ? level.getClock().nanoTime() : 0L;
+    }
 
-        for (int i = 0; i < n; i++) {
-            Packet a = movingPackets.get(i);
-            Wire wireA = a.getCurrentWire();
-            if (wireA == null) continue;
+    /**
+     * Named random stream of the current level (unseeded fallback when no level is set)
+     */
+    private static java.util.Random randomStream(String name) {
+        return level != null ? level.getRandom().stream(name) : UNSEEDED;
+    }
 
-            // Off-wire removal check for packet a
-            if (isPacketOffWire(a)) {
-                toRemove.add(a);
-                continue;
-            }
+    private static void refreshWireLanes() {
+        Iterator<Wire> it = occupiedWires.iterator();
+        while (it.hasNext()) {
+            Wire wire = it.next();
+            wire.getLane().refresh(wire);
+            if (wire.getLane().isEmpty()) it.remove();
+        }
+    }
+
+    private static void handleCollisionsAndOffWireLoss() {
+        if (movingPackets.size() <= 1) return;
+
+        java.util.Random rng = randomStream(model.logic.state.SimulationRandom.WIRE_COLLISION);
+        java.util.Set<Packet> toRemove = new java.util.LinkedHashSet<>();
 
-            for (int j = i + 1; j < n; j++) {
-                Packet b = movingPackets.get(j);
-                if (b.getCurrentWire() != wireA) continue; // Only collide on same wire
+        // Off-wire removal check
+        for (Packet a : movingPackets) {
+            if (a.getCurrentWire() != null && isPacketOffWire(a)) toRemove.add(a);
+        }
+
+        // Only packets adjacent in progress order on the same wire can collide
+        for (Wire wire : occupiedWires) {
+            model.wire.WireLane lane = wire.getLane();
+            for (int i = 0; i + 1 < lane.size(); i++) {
+                Packet a = lane.get(i);
+                Packet b = lane.get(i + 1);
+                if (toRemove.contains(a) || toRemove.contains(b)) continue;
                 if (a.isInSystem() || b.isInSystem()) continue;
 
-                // Broad phase: distance threshold to avoid heavy Shape.intersect if far apart
+                // Broad phase: distance threshold to skip the narrow phase if far apart
                 double d = a.getPosition().distance(b.getPosition());
                 if (d > 20.0) continue;
 
-                // Narrow phase: collision shapes
-                if (!a.intersects(b)) continue;
+                // Narrow phase: analytic collision shapes
+                if (!model.logic.Collision.CollisionGeometry.intersects(a, b)) continue;
 
                 // Not consistent: random chance to apply deflection
                 if (rng.nextDouble() > COLLISION_TRIGGER_PROBABILITY) continue;
 
                 // Compute local perpendicular to wire at mid-progress to push apart smoothly
                 double progressMid = 0.5 * (a.getMovementProgress() + b.getMovementProgress());
-                Point2D perp = computeWirePerpendicular(wireA, progressMid);
+                Point2D perp = computeWirePerpendicular(wire, progressMid);
                 if (perp == null) continue;
 
                 double magnitude = COLLISION_DEFLECT_MIN + rng.nextDouble() * (COLLISION_DEFLECT_MAX - COLLISION_DEFLECT_MIN);
@@ -386,15 +415,16 @@ public class PacketManager {
 
         // Remove off-wire packets and count as loss
         if (!toRemove.isEmpty()) {
-            for (Packet p : new java.util.HashSet<>(toRemove)) {
+            for (Packet p : toRemove) {
                 movingPackets.remove(p);
+                if (p.getCurrentWire() != null) p.getCurrentWire().getLane().remove(p);
                 // Clean up confidential manager if present
                 if (p instanceof ConfidentialPacket) {
                     ConfidentialPacketManager manager = confidentialManagers.remove(p);
                     if (manager != null) manager.cleanup();
                 }
-                if (packetController != null) {
-                    packetController.removePacket(p); // counts as packet loss
+                if (level != null) {
+                    level.removePacket(p);
                 }
             }
         }
@@ -433,16 +463,20 @@ public class PacketManager {
         packet.setInSystem(true);
         packet.setMoving(false);
         packet.setCurrentWire(null);
+        wire.getLane().remove(packet);
         packet.setMovementProgress(0.0);
         // Reset deflection after movement completes
         packet.resetDeflection();
         
         wire.setAvailable(true);
+        if (wire.getSource() != null && wire.getSource().getSystem() != null) {
+            wire.getSource().getSystem().onOutputAvailable();
+        }
         
         // If a massive packet enters through an input port, morph that input port's shape kind
         try {
             if (packet instanceof MassivePacket && wire.getDest() != null && wire.getDest().getType() == model.entity.ports.PortType.INPUT) {
-                java.util.Random rng = new java.util.Random();
+                java.util.Random rng = randomStream(model.logic.state.SimulationRandom.PORT_MORPH);
                 double r = rng.nextDouble();
                 model.entity.ports.Port.ShapeKind newKind;
                 if (r < 1.0 / 3.0) {
@@ -453,9 +487,10 @@ public class PacketManager {
                     newKind = model.entity.ports.Port.ShapeKind.HEXAGON;
                 }
                 wire.getDest().setShapeKind(newKind);
-                java.lang.System.out.println("🔄 INPUT PORT MORPHED by MASSIVE packet at port " + wire.getDest().getId() + " → " + newKind);
+                Log.debug("PacketManager", () -> "🔄 INPUT PORT MORPHED by MASSIVE packet at port " + wire.getDest().getId() + " → " + newKind);
                 // Update visuals to match new shape
-                refreshInputPortViewVisual(wire.getDest());
+                Port morphed = wire.getDest();
+                postViewUpdate(() -> refreshInputPortViewVisual(morphed));
             }
         } catch (Throwable t) {
             // Fail-safe: do not interrupt delivery if morphing fails
@@ -468,26 +503,29 @@ public class PacketManager {
         // Track massive packet runs and remove wire after 3rd massive packet completes
         if (packet instanceof MassivePacket) {
             wire.incrementMassivePacketRunCount();
-            java.lang.System.out.println("🟤 MASSIVE RUN COMPLETED on wire " + wire.getId() + " → count=" + wire.getMassivePacketRunCount());
+            Log.debug("PacketManager", () -> "🟤 MASSIVE RUN COMPLETED on wire " + wire.getId() + " → count=" + wire.getMassivePacketRunCount());
             if (wire.hasReachedMassiveRunLimit()) {
-                java.lang.System.out.println("🛑 MASSIVE RUN LIMIT REACHED (3). Detaching and deactivating wire " + wire.getId());
+                Log.debug("PacketManager", () -> "🛑 MASSIVE RUN LIMIT REACHED (3). Detaching and deactivating wire " + wire.getId());
                 // Remove/deactivate wire and detach ports
                 wire.detachAndDeactivate();
-                java.lang.System.out.println("🛑 Wire " + wire.getId() + " active=" + wire.isActive() + ", source.wire=" + (wire.getSource().getWire() != null) + ", dest.wire=" + (wire.getDest().getWire() != null));
-
-                // Visual: mark the disabled wire red
-                try {
-                    view.components.wires.WireView.markDisabled(wire);
-                } catch (Throwable t) {
-                    // Ignore if view not available
-                }
+                if (level != null) level.unregisterWire(wire);
+                Log.debug("PacketManager", () -> "🛑 Wire " + wire.getId() + " active=" + wire.isActive() + ", source.wire=" + (wire.getSource().getWire() != null) + ", dest.wire=" + (wire.getDest().getWire() != null));
+
+                postViewUpdate(() -> {
+                    // Visual: mark the disabled wire red
+                    try {
+                        view.components.wires.WireView.markDisabled(wire);
+                    } catch (Throwable t) {
+                        // Ignore if view not available
+                    }
 
-                // Visual: mark connected systems warning (yellow indicators)
-                try {
-                    markSystemsWarning(wire);
-                } catch (Throwable t) {
-                    // Ignore if view not available
-                }
+                    // Visual: mark connected systems warning (yellow indicators)
+                    try {
+                        markSystemsWarning(wire);
+                    } catch (Throwable t) {
+                        // Ignore if view not available
+                    }
+                });
             }
         }
     }
@@ -501,27 +539,16 @@ public class PacketManager {
             Pane pane = packetController.getPacketLayer();
             if (pane == null) return;
 
-            PortView oldView = null;
-            SystemView targetSystemView = null;
-            for (javafx.scene.Node node : new java.util.ArrayList<>(pane.getChildren())) {
-                if (node instanceof PortView) {
-                    PortView pv = (PortView) node;
-                    if (pv.getModelPort() == inputPort) {
-                        oldView = pv;
-                    }
-                } else if (node instanceof SystemView) {
-                    SystemView sv = (SystemView) node;
-                    if (sv.getSystem() == inputPort.getSystem()) {
-                        targetSystemView = sv;
-                    }
-                }
-            }
+            PortView oldView = ViewRegistry.getPortView(inputPort);
+            if (oldView != null && oldView.getParent() != pane) oldView = null;
+            SystemView targetSystemView = ViewRegistry.getSystemView(inputPort.getSystem());
 
             double x = 0.0, y = 0.0;
             if (oldView != null) {
                 x = oldView.getLayoutX();
                 y = oldView.getLayoutY();
                 pane.getChildren().remove(oldView);
+                ViewRegistry.unregister(oldView);
             }
 
             boolean isInput = inputPort.getType() == model.entity.ports.PortType.INPUT;
@@ -541,6 +568,7 @@ public class PacketManager {
             newView.setLayoutX(x);
             newView.setLayoutY(y);
             pane.getChildren().add(newView);
+            ViewRegistry.register(newView);
 
             if (targetSystemView != null) {
                 java.util.List<PortView> inputs = targetSystemView.getInputPortViews();
@@ -559,170 +587,40 @@ public class PacketManager {
     // Try to set indicator lamp of systems connected to the disabled wire to yellow
     private static void markSystemsWarning(Wire wire) {
         if (wire == null) return;
-        model.entity.systems.System srcSys = wire.getSource().getSystem();
-        model.entity.systems.System dstSys = wire.getDest().getSystem();
-        javafx.scene.layout.Pane pane = (packetController != null) ? packetController.getPacketLayer() : null;
-        if (pane == null) return;
-        for (javafx.scene.Node node : pane.getChildren()) {
-            if (node instanceof view.components.systems.SystemView) {
-                view.components.systems.SystemView sv = (view.components.systems.SystemView) node;
-                if (sv.getSystem() == srcSys || sv.getSystem() == dstSys) {
-                    sv.setIndicatorWarning();
-                }
-            }
-        }
+        SystemView srcView = ViewRegistry.getSystemView(wire.getSource().getSystem());
+        SystemView dstView = ViewRegistry.getSystemView(wire.getDest().getSystem());
+        if (srcView != null) srcView.setIndicatorWarning();
+        if (dstView != null) dstView.setIndicatorWarning();
     }
     
+    // Undo markSystemsWarning once the wire is reattached: lamps show the connection state again
+    private static void clearSystemsWarning(Wire wire) {
+        SystemView srcView = ViewRegistry.getSystemView(wire.getSource().getSystem());
+        SystemView dstView = ViewRegistry.getSystemView(wire.getDest().getSystem());
+        if (srcView != null) srcView.updateConnectionStatus();
+        if (dstView != null) dstView.updateConnectionStatus();
+    }
+
     private static void deliverToDestinationSystem(Packet packet, model.entity.systems.System destinationSystem) {
-        if (destinationSystem instanceof model.entity.systems.IntermediateSystem) {
-            model.entity.systems.IntermediateSystem intermediateSystem = (model.entity.systems.IntermediateSystem) destinationSystem;
-            
-            manager.systems.IntermediateSystemManager manager = 
-                new manager.systems.IntermediateSystemManager(intermediateSystem);
-            manager.receivePacket(packet);
-            
-            // CRITICAL FIX: Update packet visual position to be inside the system and hide it
-            // since it's now in internal storage
-            
-            // Move packet to system center position
-            packet.setPosition(intermediateSystem.getPosition());
-            
-            // Hide the packet visually since it's in internal storage
-            if (packetController != null) {
-                packetController.hidePacket(packet);
-            }
-            
-        } else if (destinationSystem instanceof model.entity.systems.DDosSystem) {
-            model.entity.systems.DDosSystem ddosSystem = (model.entity.systems.DDosSystem) destinationSystem;
-            
-            manager.systems.DDosSystemManager manager = 
-                new manager.systems.DDosSystemManager(ddosSystem);
-            manager.receivePacket(packet);
-            
-            // CRITICAL FIX: Update packet visual position to be inside the system and hide it
-            // since it's now in internal storage
-            
-            // Move packet to system center position
-            packet.setPosition(ddosSystem.getPosition());
-            
-            // Hide the packet visually since it's in internal storage
-            if (packetController != null) {
-                packetController.hidePacket(packet);
-            }
-            
-        } else if (destinationSystem instanceof model.entity.systems.SpySystem) {
-            model.entity.systems.SpySystem spySystem = (model.entity.systems.SpySystem) destinationSystem;
-            
-            manager.systems.SpySystemManager manager = 
-                new manager.systems.SpySystemManager(spySystem);
-            manager.receivePacket(packet);
-            
-            // CRITICAL FIX: Update packet visual position to be inside the system and hide it
-            // since it's now in internal storage
-            
-            // Move packet to system center position
-            packet.setPosition(spySystem.getPosition());
-            
-            // Hide the packet visually since it's in internal storage
-            if (packetController != null) {
-                packetController.hidePacket(packet);
-            }
-            
-        } else if (destinationSystem instanceof model.entity.systems.VPNSystem) {
-            model.entity.systems.VPNSystem vpnSystem = (model.entity.systems.VPNSystem) destinationSystem;
-            
-            manager.systems.VPNSystemManager manager = 
-                new manager.systems.VPNSystemManager(vpnSystem);
-            manager.setLevel(level);  // Required for global VPN failure handling
-            manager.receivePacket(packet);
-            
-            // CRITICAL FIX: Update packet visual position to be inside the system and hide it
-            // since it's now in internal storage
-            
-            // Move packet to system center position
-            packet.setPosition(vpnSystem.getPosition());
-            
-            // Hide the packet visually since it's in internal storage
-            if (packetController != null) {
-                packetController.hidePacket(packet);
-            }
-            
-        } else if (destinationSystem instanceof model.entity.systems.AntiVirusSystem) {
-            model.entity.systems.AntiVirusSystem antivirusSystem = (model.entity.systems.AntiVirusSystem) destinationSystem;
-            
-            manager.systems.AntiVirusSystemManager manager = 
-                new manager.systems.AntiVirusSystemManager(antivirusSystem);
-            manager.receivePacket(packet);
-            
-            // CRITICAL FIX: Update packet visual position to be inside the system and hide it
-            // since it's now in internal storage
-            
-            // Move packet to system center position
-            packet.setPosition(antivirusSystem.getPosition());
-            
-            // Hide the packet visually since it's in internal storage
-            if (packetController != null) {
-                packetController.hidePacket(packet);
-            }
-            
-        } else if (destinationSystem instanceof model.entity.systems.DistributorSystem) {
-            model.entity.systems.DistributorSystem distributorSystem = (model.entity.systems.DistributorSystem) destinationSystem;
-            manager.systems.DistributorSystemManager manager =
-                new manager.systems.DistributorSystemManager(distributorSystem);
-            
-            // Move packet to system center position
-            packet.setPosition(distributorSystem.getPosition());
-            
-            // Hide all packets entering the distributor (they're stored in FIFO queue)
-            if (packetController != null) {
-                packetController.hidePacket(packet);
-            }
-            
-            // Process the packet (will be forwarded when ports are available)
-            manager.receivePacket(packet);
-            
-            // Only remove massive packets from level (they get split)
-            // Non-massive packets stay in level but hidden
-            if (packet instanceof MassivePacket && level != null) {
-                level.removePacket(packet);
-            }
-            
-        } else if (destinationSystem instanceof model.entity.systems.MergeSystem) {
-            model.entity.systems.MergeSystem mergeSystem = (model.entity.systems.MergeSystem) destinationSystem;
-            manager.systems.MergeSystemManager manager =
-                new manager.systems.MergeSystemManager(mergeSystem);
-            manager.receivePacket(packet);
-
-            // Update MergeSystemView labels immediately after storage change
-            if (packetController != null) {
-                try {
-                    Pane pane = packetController.getPacketLayer();
-                    if (pane != null) {
-                        for (javafx.scene.Node node : pane.getChildren()) {
-                            if (node instanceof MergeSystemView) {
-                                MergeSystemView msv = (MergeSystemView) node;
-                                if (msv.getMergeSystem() == mergeSystem) {
-                                    manager.updateView(msv);
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                } catch (Throwable ignored) {}
-            }
-            
-        } else if (destinationSystem instanceof model.entity.systems.EndSystem) {
-            model.entity.systems.EndSystem endSystem = (model.entity.systems.EndSystem) destinationSystem;
-            endSystem.claimPacket(packet, level);
-            // Don't call deliverPacket here - the iterator in updateMovingPackets will handle removal
-            if (packetController != null) {
-                packetController.deliverPacket(packet);
-            }
+        model.entity.systems.SystemBehavior behavior = destinationSystem.getBehavior();
+        if (behavior != null) {
+            behavior.receive(packet);
         }
     }
+
+    /**
+     * Find the view drawn for a merge system, or null if none is registered
+     */
+    public static MergeSystemView findMergeSystemView(model.entity.systems.MergeSystem mergeSystem) {
+        SystemView view = ViewRegistry.getSystemView(mergeSystem);
+        return view instanceof MergeSystemView ? (MergeSystemView) view : null;
+    }
     
     public static void removePacket(Packet packet) {
         movingPackets.remove(packet);
+        if (packet.getCurrentWire() != null) {
+            packet.getCurrentWire().getLane().remove(packet);
+        }
         
         // Clean up confidential packet manager if exists
         if (packet instanceof ConfidentialPacket) {
@@ -732,24 +630,72 @@ public class PacketManager {
             }
         }
         
-        if (packetController != null) {
-            packetController.removePacket(packet);
+        if (level != null) {
+            level.removePacket(packet);
         }
     }
-    
+
     /**
-     * Remove packet from view only (for successful delivery).
-     * This method should be used when packets successfully reach their destination
-     * and should not be counted as packet loss.
-     * Note: This method no longer removes from movingPackets as that's handled by the iterator.
+     * Take a packet destroyed by a collision or impact wave out of the level.
+     * Like the old view-side kill, it does not touch the packet's movement.
      */
-    public static void deliverPacket(Packet packet) {
-        // Don't remove from movingPackets here - the iterator in updateMovingPackets handles that
-        if (packetController != null) {
-            packetController.deliverPacket(packet);
+    public static void killPacket(Packet packet) {
+        if (level != null && packet != null) {
+            level.removePacket(packet);
         }
     }
     
+    /**
+     * Replace the moving-packet state with a rewound timeline frame; the next rendered frame
+     * brings the restored packets' views up to date
+     * @param packets every packet that exists at the restored time, fields already restored
+     * @param moving the subset travelling on wires
+     * @param reattached wires the rewind reconnected after a massive-run detach
+     * @param morphed input ports whose shape kind the rewind changed back
+     */
+    public static void restoreTimeline(List<Packet> packets, List<Packet> moving, List<Wire> reattached, List<Port> morphed) {
+        for (Wire wire : occupiedWires) {
+            wire.getLane().clear();
+        }
+        occupiedWires.clear();
+        movingPackets.clear();
+        arrivedPackets.clear();
+
+        // Confidential managers are bound to a wire; rebuild them for the restored positions
+        for (ConfidentialPacketManager manager : confidentialManagers.values()) {
+            manager.cleanup();
+        }
+        confidentialManagers.clear();
+
+        for (Packet packet : moving) {
+            Wire wire = packet.getCurrentWire();
+            movingPackets.add(packet);
+            wire.getLane().add(packet);
+            occupiedWires.add(wire);
+            if (packet instanceof ConfidentialPacket) {
+                confidentialManagers.put(packet, new ConfidentialPacketManager(packet, wire));
+            }
+        }
+        refreshWireLanes();
+
+        for (Packet packet : packets) {
+            packet.markDirty(Packet.DIRTY_ALL);
+        }
+        for (Wire wire : reattached) {
+            postViewUpdate(() -> {
+                try {
+                    view.components.wires.WireView.markEnabled(wire);
+                    clearSystemsWarning(wire);
+                } catch (Throwable t) {
+                    // Ignore if view not available
+                }
+            });
+        }
+        for (Port port : morphed) {
+            postViewUpdate(() -> refreshInputPortViewVisual(port));
+        }
+    }
+
     public static List<Packet> getMovingPackets() {
         return new ArrayList<>(movingPackets);
     }
@@ -759,20 +705,18 @@ public class PacketManager {
     }
     
     /**
-     * Convert a protected packet to its original type and update visuals
+     * Swap a protected packet for its original-type replacement in the moving set and its wire lane
      */
     public static void convertProtectedPacket(Packet oldPacket, Packet newPacket) {
         // Replace in moving packets list
         if (movingPackets.contains(oldPacket)) {
             movingPackets.remove(oldPacket);
             movingPackets.add(newPacket);
-            
-            // Update packet controller for visual changes
-            if (packetController != null) {
-                packetController.removePacket(oldPacket);
-                packetController.addPacket(newPacket);
-                java.lang.System.out.println("🔄 PACKET VISUAL CONVERSION: " + oldPacket.getId() + " visual updated from PROTECTED to " + newPacket.getType());
+            Wire wire = oldPacket.getCurrentWire() != null ? oldPacket.getCurrentWire() : newPacket.getCurrentWire();
+            if (wire != null) {
+                wire.getLane().replace(oldPacket, newPacket);
             }
+            // The level already swapped the packets; the next frame swaps their views
         }
     }
 }
@@ -1,17 +1,43 @@
 package manager.systems;
 
 import model.entity.systems.AntiVirusSystem;
+import model.entity.systems.SystemBehavior;
 import model.entity.packets.Packet;
 import model.entity.packets.ProtectedPacket;
 import model.entity.ports.Port;
 import manager.packets.PacketManager;
+import model.levels.Level;
+import service.log.Log;
 
-public class AntiVirusSystemManager {
+public class AntiVirusSystemManager implements SystemBehavior {
     private final AntiVirusSystem system;
-    private static final int MAX_STORAGE = 5;
+    private final Level level;
 
-    public AntiVirusSystemManager(AntiVirusSystem system) {
+    public AntiVirusSystemManager(AntiVirusSystem system, Level level) {
         this.system = system;
+        this.level = level;
+    }
+
+    /**
+     * Store an arriving packet; it waits hidden at the system centre until forwarded
+     */
+    @Override
+    public void receive(Packet packet) {
+        receivePacket(packet);
+        packet.setPosition(system.getPosition());
+    }
+
+    @Override
+    public void forward() {
+        forwardPackets();
+    }
+
+    /**
+     * Trojans are checked every step so one cannot pass through the range between checks
+     */
+    @Override
+    public void update() {
+        processActiveTrojanPackets(level.getTrojanPackets());
     }
 
     /**
@@ -39,11 +65,6 @@ public class AntiVirusSystemManager {
                 break;
             }
         }
-        
-        // Handle overflow by removing excess packets
-        while (system.getStorageSize() > MAX_STORAGE) {
-            system.removeOldestPacket();
-        }
     }
 
     /**
@@ -85,7 +106,7 @@ public class AntiVirusSystemManager {
             originalPacket.setStartPosition(protectedPacket.getStartPosition());
             originalPacket.setTargetPosition(protectedPacket.getTargetPosition());
             
-            java.lang.System.out.println("🛡️ ANTIVIRUS SYSTEM: Protected packet converted back to " + 
+            Log.debug("AntiVirusSystemManager", () -> "🛡️ ANTIVIRUS SYSTEM: Protected packet converted back to " + 
                 protectedPacket.getOriginalType() + " - " + packet.getId());
             
             // Process the converted packet
@@ -98,15 +119,15 @@ public class AntiVirusSystemManager {
 
     /**
      * Process active trojan packets in the level within range
-     * This should be called periodically to scan for trojan packets
+     * This should be called periodically with the level's trojan index
      */
-    public boolean processActiveTrojanPackets(java.util.List<Packet> allPackets) {
+    public boolean processActiveTrojanPackets(java.util.Collection<Packet> trojanPackets) {
         if (system.isDisabled()) {
             return false;
         }
 
-        // Check all packets in the level to see if any trojans are in range
-        for (Packet packet : allPackets) {
+        // Check the level's trojans to see if any are in range
+        for (Packet packet : trojanPackets) {
             if (packet.isTrojan() && system.isPacketInRange(packet)) {
                 return system.processActiveTrojanPacket(packet);
             }
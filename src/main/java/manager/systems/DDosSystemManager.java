@@ -1,19 +1,34 @@
 package manager.systems;
 
 import model.entity.systems.DDosSystem;
+import model.entity.systems.SystemBehavior;
 import model.entity.packets.Packet;
 import model.entity.packets.ProtectedPacket;
 import model.entity.ports.Port;
 import manager.packets.PacketManager;
+import service.log.Log;
 
-public class DDosSystemManager {
+public class DDosSystemManager implements SystemBehavior {
     private final DDosSystem system;
-    private static final int MAX_STORAGE = 5;
 
     public DDosSystemManager(DDosSystem system) {
         this.system = system;
     }
 
+    /**
+     * Store an arriving packet; it waits hidden at the system centre until forwarded
+     */
+    @Override
+    public void receive(Packet packet) {
+        receivePacket(packet);
+        packet.setPosition(system.getPosition());
+    }
+
+    @Override
+    public void forward() {
+        forwardPackets();
+    }
+
     /**
      * Forward packets from storage to output ports using DDoS logic
      */
@@ -39,11 +54,6 @@ public class DDosSystemManager {
                 break;
             }
         }
-        
-        // Handle overflow by removing excess packets
-        while (system.getStorageSize() > MAX_STORAGE) {
-            system.removeOldestPacket();
-        }
     }
 
     /**
@@ -64,7 +74,7 @@ public class DDosSystemManager {
             originalPacket.setStartPosition(protectedPacket.getStartPosition());
             originalPacket.setTargetPosition(protectedPacket.getTargetPosition());
             
-            System.out.println("⚡ DDOS SYSTEM: Protected packet converted back to " + 
+            Log.debug("DDosSystemManager", () -> "⚡ DDOS SYSTEM: Protected packet converted back to " + 
                 protectedPacket.getOriginalType() + " - " + packet.getId());
             
             // Process the converted packet
@@ -5,15 +5,39 @@ import model.entity.packets.MassivePacket;
 import model.entity.packets.Packet;
 import model.entity.ports.Port;
 import model.entity.systems.DistributorSystem;
+import model.entity.systems.SystemBehavior;
+import model.levels.Level;
 
 import java.util.List;
+import service.log.Log;
 
-public class DistributorSystemManager {
+public class DistributorSystemManager implements SystemBehavior {
     private final DistributorSystem system;
+    private final Level level;
     private int lastUsedPortIndex = -1; // For round-robin distribution
 
-    public DistributorSystemManager(DistributorSystem system) {
+    public DistributorSystemManager(DistributorSystem system, Level level) {
         this.system = system;
+        this.level = level;
+    }
+
+    @Override
+    public void receive(Packet packet) {
+        // Packets entering the distributor wait at its centre in the FIFO queue; stored packets are not drawn
+        packet.setPosition(system.getPosition());
+
+        receivePacket(packet);
+
+        // Only remove massive packets from level (they get split)
+        // Non-massive packets stay in level but hidden
+        if (packet instanceof MassivePacket && level != null) {
+            level.removePacket(packet);
+        }
+    }
+
+    @Override
+    public void forward() {
+        forwardPackets();
     }
 
     public void receivePacket(Packet packet) {
@@ -30,32 +54,11 @@ public class DistributorSystemManager {
                 system.processPacket(bit);
                 // Note: Bitpackets are added to level when sent via PacketManager.sendPacket()
             }
-            // Attempt forwarding
-            forwardPackets();
         } else {
-            // Non-massive packets: store in FIFO queue and attempt immediate forwarding
+            // Non-massive packets: store in FIFO queue
             system.processPacket(packet);
-            
-            // Try to forward immediately if possible
-            java.util.Queue<Packet> queue = system.getPackets();
-            if (queue.peek() == packet) { // Only forward if it's at the front of queue
-                Port best = findBestAvailableOutPort(packet);
-                if (best != null && best.getWire() != null && best.getWire().isAvailable()) {
-                    packet.setPosition(best.getPosition());
-                    
-                    // Send with preserved compatibility to maintain original speed
-                    boolean sent = PacketManager.sendPacket(best, packet, true);
-                    if (sent) {
-                        queue.poll(); // Remove from queue after successful send
-                        java.lang.System.out.println("DEBUG DistributorSystemManager: Non-massive packet " + packet.getId() + 
-                                                 " forwarded immediately via port " + best.getId());
-                    }
-                } else {
-                    java.lang.System.out.println("DEBUG DistributorSystemManager: No available port for non-massive packet " + 
-                                               packet.getId() + ", queued for later");
-                }
-            }
         }
+        // Storing marks the distributor ready; the simulation forwards it later this step
     }
 
     public void forwardPackets() {
@@ -73,13 +76,13 @@ public class DistributorSystemManager {
                 if (sent) {
                     queue.poll();
                     String packetType = next.isBitFragment() ? "bitpacket" : "packet";
-                    java.lang.System.out.println("DEBUG DistributorSystemManager: Successfully sent " + packetType + " " + next.getId() + " (" + next.getType() + ") through port " + best.getId());
+                    Log.debug("DistributorSystemManager", () -> "DistributorSystemManager: Successfully sent " + packetType + " " + next.getId() + " (" + next.getType() + ") through port " + best.getId());
                 } else {
                     break;
                 }
             } else {
                 // No available port -> stop, wait for next tick
-                java.lang.System.out.println("DEBUG DistributorSystemManager: No available ports for bitpacket " + next.getId());
+                Log.debug("DistributorSystemManager", () -> "DistributorSystemManager: No available ports for bitpacket " + next.getId());
                 break;
             }
         }
@@ -126,7 +129,7 @@ public class DistributorSystemManager {
         lastUsedPortIndex = (lastUsedPortIndex + 1) % availablePorts.size();
         Port selectedPort = availablePorts.get(lastUsedPortIndex);
         
-        java.lang.System.out.println("DEBUG DistributorSystemManager: Round-robin selected port " + 
+        Log.debug("DistributorSystemManager", () -> "DistributorSystemManager: Round-robin selected port " + 
             selectedPort.getId() + " (index " + lastUsedPortIndex + " of " + availablePorts.size() + " available)");
         
         return selectedPort;
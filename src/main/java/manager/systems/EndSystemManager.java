@@ -1,10 +1,11 @@
 package manager.systems;
 
 import model.entity.systems.EndSystem;
+import model.entity.systems.SystemBehavior;
 import model.entity.packets.Packet;
 import model.levels.Level;
 
-public class EndSystemManager {
+public class EndSystemManager implements SystemBehavior {
     private final EndSystem system;
     private final Level level;
 
@@ -13,6 +14,12 @@ public class EndSystemManager {
         this.level = level;
     }
 
+    @Override
+    public void receive(Packet packet) {
+        // Claiming takes it out of the level; the iterator in updateMovingPackets removes it from the moving set
+        receivePacket(packet);
+    }
+
     public void receivePacket(Packet packet) {
         if (packet != null) {
             system.claimPacket(packet, level);
@@ -1,19 +1,34 @@
 package manager.systems;
 
 import model.entity.systems.IntermediateSystem;
+import model.entity.systems.SystemBehavior;
 import model.entity.packets.Packet;
 import model.entity.ports.Port;
 import manager.packets.PacketManager;
 import java.util.Iterator;
+import service.log.Log;
 
-public class IntermediateSystemManager {
+public class IntermediateSystemManager implements SystemBehavior {
     private final IntermediateSystem system;
-    private static final int MAX_STORAGE = 5;
 
     public IntermediateSystemManager(IntermediateSystem system) {
         this.system = system;
     }
 
+    /**
+     * Store an arriving packet; it waits hidden at the system centre until forwarded
+     */
+    @Override
+    public void receive(Packet packet) {
+        receivePacket(packet);
+        packet.setPosition(system.getPosition());
+    }
+
+    @Override
+    public void forward() {
+        forwardPackets();
+    }
+
     public void forwardPackets() {
         // Forward packets from storage to available output ports
         while (!system.getPackets().isEmpty()) {
@@ -35,37 +50,26 @@ public class IntermediateSystemManager {
                 break;
             }
         }
-        
-        // Handle overflow by removing excess packets
-        int removed = 0;
-        while (system.getStorageSize() > MAX_STORAGE) {
-            system.removeLastPacket();
-            removed++;
-        }
-        if (removed > 0) {
-            // Packets were removed due to overflow
-        }
     }
 
     public void receivePacket(Packet packet) {
-        java.lang.System.out.println("DEBUG receivePacket: Attempting to receive packet " + packet.getId() + 
-                                     ". Current storage: " + system.getStorageSize() + "/" + MAX_STORAGE);
+        Log.debug("IntermediateSystemManager", () -> "receivePacket: Attempting to receive packet " + packet.getId() + 
+                                     ". Current storage: " + system.getStorageSize() + "/" + system.getStorageCapacity());
         
-        if (!system.isFull()) {
-            system.enqueuePacket(packet);
-            java.lang.System.out.println("DEBUG receivePacket: SUCCESS - Packet " + packet.getId() + 
-                                         " added to storage. New storage: " + system.getStorageSize() + "/" + MAX_STORAGE);
+        // Overflow is handled by the configured storage policy (by default the arrival is refused
+        // and the last stored packet is killed as well)
+        if (system.enqueuePacket(packet)) {
+            Log.debug("IntermediateSystemManager", () -> "receivePacket: SUCCESS - Packet " + packet.getId() + 
+                                         " added to storage. New storage: " + system.getStorageSize() + "/" + system.getStorageCapacity());
         } else {
-            // Overflow: kill the last packet
-            system.removeLastPacket();
-            java.lang.System.out.println("DEBUG receivePacket: OVERFLOW - Removed last packet due to full storage. " +
-                                         "Storage remains: " + system.getStorageSize() + "/" + MAX_STORAGE);
+            Log.debug("IntermediateSystemManager", () -> "receivePacket: OVERFLOW - Packet " + packet.getId() +
+                                         " refused by the " + system.getPackets().getPolicy() + " policy. Storage: " + system.getStorageSize() + "/" + system.getStorageCapacity());
         }
     }
 
     // Prefer compatible and available port, fallback to any available port
     private Port findBestAvailableOutPort(Packet packet) {
-        java.lang.System.out.println("DEBUG findBestAvailableOutPort: Looking for best port for packet " + packet.getId());
+        Log.debug("IntermediateSystemManager", () -> "findBestAvailableOutPort: Looking for best port for packet " + packet.getId());
         
         // First pass: compatible and available
         for (Port port : system.getOutPorts()) {
@@ -73,12 +77,12 @@ public class IntermediateSystemManager {
             boolean compatible = port.isCompatible(packet);
             boolean available = port.getWire() != null ? port.getWire().isAvailable() : false;
             
-            java.lang.System.out.println("DEBUG findBestAvailableOutPort: Port " + port.getId() + 
+            Log.debug("IntermediateSystemManager", () -> "findBestAvailableOutPort: Port " + port.getId() + 
                                          " - connected: " + connected + ", compatible: " + compatible + 
                                          ", wire available: " + available);
             
             if (connected && compatible && available) {
-                java.lang.System.out.println("DEBUG findBestAvailableOutPort: Found COMPATIBLE port " + port.getId());
+                Log.debug("IntermediateSystemManager", () -> "findBestAvailableOutPort: Found COMPATIBLE port " + port.getId());
                 return port;
             }
         }
@@ -89,12 +93,12 @@ public class IntermediateSystemManager {
             boolean available = port.getWire() != null ? port.getWire().isAvailable() : false;
             
             if (connected && available) {
-                java.lang.System.out.println("DEBUG findBestAvailableOutPort: Found ANY AVAILABLE port " + port.getId());
+                Log.debug("IntermediateSystemManager", () -> "findBestAvailableOutPort: Found ANY AVAILABLE port " + port.getId());
                 return port;
             }
         }
         
-        java.lang.System.out.println("DEBUG findBestAvailableOutPort: No available ports found");
+        Log.debug("IntermediateSystemManager", () -> "findBestAvailableOutPort: No available ports found");
         return null;
     }
 }
@@ -6,19 +6,32 @@ import model.entity.packets.Packet;
 import model.entity.packets.PacketType;
 import model.entity.ports.Port;
 import model.entity.systems.MergeSystem;
+import model.entity.systems.SystemBehavior;
 import view.components.systems.MergeSystemView;
 import javafx.geometry.Point2D;
 
 import java.util.List;
 import java.util.UUID;
+import service.log.Log;
 
-public class MergeSystemManager {
+public class MergeSystemManager implements SystemBehavior {
     private final MergeSystem system;
 
     public MergeSystemManager(MergeSystem system) {
         this.system = system;
     }
 
+    @Override
+    public void receive(Packet packet) {
+        receivePacket(packet);
+        // Update MergeSystemView labels on the next frame
+        PacketManager.postViewUpdate(() -> {
+            try {
+                updateView(PacketManager.findMergeSystemView(system));
+            } catch (Throwable ignored) {}
+        });
+    }
+
     /**
      * Receive a packet into the merge system
      */
@@ -31,7 +44,7 @@ public class MergeSystemManager {
             // Add to merge system storage
             system.addBitPacket(packet);
             
-            System.out.println("DEBUG MergeSystemManager: Received bit packet " + packet.getId() + 
+            Log.debug("MergeSystemManager", () -> "MergeSystemManager: Received bit packet " + packet.getId() + 
                               " (type: " + packet.getType() + ")");
             
             // Check if we can create a massive packet
@@ -66,10 +79,10 @@ public class MergeSystemManager {
 
         if (massiveType == PacketType.MASSIVE_TYPE1) {
             newMassive = new MassivePacket.Type1(id, position, direction);
-            System.out.println("DEBUG MergeSystemManager: Created Massive Type1 packet from 8 circle bits");
+            Log.debug("MergeSystemManager", () -> "MergeSystemManager: Created Massive Type1 packet from 8 circle bits");
         } else if (massiveType == PacketType.MASSIVE_TYPE2) {
             newMassive = new MassivePacket.Type2(id, position, direction);
-            System.out.println("DEBUG MergeSystemManager: Created Massive Type2 packet from 10 rect bits");
+            Log.debug("MergeSystemManager", () -> "MergeSystemManager: Created Massive Type2 packet from 10 rect bits");
         }
 
         if (newMassive != null) {
@@ -80,7 +93,7 @@ public class MergeSystemManager {
                 int healthReduction = (int) Math.round(packetLoss);
                 int newHealth = Math.max(1, newMassive.getHealth() - healthReduction);
                 newMassive.setCurrentHealth(newHealth);
-                System.out.println("DEBUG MergeSystemManager: Applied packet loss of " + 
+                Log.debug("MergeSystemManager", () -> "MergeSystemManager: Applied packet loss of " + 
                                  packetLoss + ", new health: " + newHealth);
             }
 
@@ -99,11 +112,11 @@ public class MergeSystemManager {
             
             boolean sent = PacketManager.sendPacket(bestPort, packet);
             if (sent) {
-                System.out.println("DEBUG MergeSystemManager: Forwarded packet " + packet.getId() + 
+                Log.debug("MergeSystemManager", () -> "MergeSystemManager: Forwarded packet " + packet.getId() + 
                                  " through port " + bestPort.getId());
             }
         } else {
-            System.out.println("DEBUG MergeSystemManager: No available output port for packet " + 
+            Log.debug("MergeSystemManager", () -> "MergeSystemManager: No available output port for packet " + 
                              packet.getId());
         }
     }
@@ -1,19 +1,37 @@
 package manager.systems;
 
 import model.entity.systems.SpySystem;
+import model.entity.systems.SystemBehavior;
 import model.entity.packets.Packet;
 import model.entity.packets.ProtectedPacket;
 import model.entity.ports.Port;
 import manager.packets.PacketManager;
+import service.log.Log;
 
-public class SpySystemManager {
+public class SpySystemManager implements SystemBehavior {
     private final SpySystem system;
-    private static final int MAX_STORAGE = 5;
 
     public SpySystemManager(SpySystem system) {
         this.system = system;
     }
 
+    /**
+     * Store an arriving packet; it waits hidden at the system centre until forwarded
+     */
+    @Override
+    public void receive(Packet packet) {
+        receivePacket(packet);
+        packet.setPosition(system.getPosition());
+    }
+
+    @Override
+    public void forward() {
+        // Spy systems without stored packets have nothing to route
+        if (!system.getPackets().isEmpty()) {
+            forwardPackets();
+        }
+    }
+
     /**
      * Forward packets from storage to output ports using spy system logic
      * Packets can exit from any spy system in the network (randomly chosen)
@@ -24,7 +42,7 @@ public class SpySystemManager {
      * are in spy systems that have storage.
      */
     public void forwardPackets() {
-        java.lang.System.out.println("DEBUG SpySystemManager.forwardPackets: Starting with " + system.getStorageSize() + " packets in storage");
+        Log.debug("SpySystemManager", () -> "SpySystemManager.forwardPackets: Starting with " + system.getStorageSize() + " packets in storage");
         
         // Forward packets from storage to available output ports
         while (!system.getPackets().isEmpty()) {
@@ -39,34 +57,28 @@ public class SpySystemManager {
                 boolean sent = PacketManager.sendPacket(bestPort, packet);
                 if (sent) {
                     system.dequeuePacket();
-                    java.lang.System.out.println("DEBUG SpySystemManager.forwardPackets: SUCCESS - Sent packet " + packet.getId() + 
+                    Log.debug("SpySystemManager", () -> "SpySystemManager.forwardPackets: SUCCESS - Sent packet " + packet.getId() + 
                                                  " through port " + bestPort.getId() + " (spy routing with normal logic)");
                 } else {
-                    java.lang.System.out.println("DEBUG SpySystemManager.forwardPackets: FAILED - Could not send packet " + packet.getId());
+                    Log.debug("SpySystemManager", () -> "SpySystemManager.forwardPackets: FAILED - Could not send packet " + packet.getId());
                     break;
                 }
             } else {
                 // No available port, keep packet in storage
-                java.lang.System.out.println("DEBUG SpySystemManager.forwardPackets: No available spy system ports for packet " + packet.getId());
+                Log.debug("SpySystemManager", () -> "SpySystemManager.forwardPackets: No available spy system ports for packet " + packet.getId());
                 break;
             }
         }
         
-        // Handle overflow by removing excess packets
-        while (system.getStorageSize() > MAX_STORAGE) {
-            system.removeOldestPacket();
-            java.lang.System.out.println("DEBUG SpySystemManager.forwardPackets: Removed packet due to overflow");
-        }
-        
-        java.lang.System.out.println("DEBUG SpySystemManager.forwardPackets: Finished with " + system.getStorageSize() + " packets in storage");
+        Log.debug("SpySystemManager", () -> "SpySystemManager.forwardPackets: Finished with " + system.getStorageSize() + " packets in storage");
     }
 
     /**
      * Receive and process a packet in the spy system
      */
     public void receivePacket(Packet packet) {
-        java.lang.System.out.println("DEBUG SpySystemManager.receivePacket: Attempting to receive packet " + packet.getId() + 
-                                     ". Current storage: " + system.getStorageSize() + "/" + MAX_STORAGE);
+        Log.debug("SpySystemManager", () -> "SpySystemManager.receivePacket: Attempting to receive packet " + packet.getId() + 
+                                     ". Current storage: " + system.getStorageSize() + "/" + system.getStorageCapacity());
         
         // If it's a protected packet, convert it back to original type first
         if (packet instanceof ProtectedPacket) {
@@ -82,7 +94,7 @@ public class SpySystemManager {
             originalPacket.setStartPosition(protectedPacket.getStartPosition());
             originalPacket.setTargetPosition(protectedPacket.getTargetPosition());
             
-            System.out.println("🕵️ SPY SYSTEM: Protected packet converted back to " + 
+            Log.debug("SpySystemManager", () -> "🕵️ SPY SYSTEM: Protected packet converted back to " + 
                 protectedPacket.getOriginalType() + " - " + packet.getId());
             
             // Process the converted packet
@@ -92,8 +104,8 @@ public class SpySystemManager {
             system.processPacket(packet);
         }
         
-        java.lang.System.out.println("DEBUG SpySystemManager.receivePacket: SUCCESS - Packet " + packet.getId() + 
-                                     " processed. New storage: " + system.getStorageSize() + "/" + MAX_STORAGE);
+        Log.debug("SpySystemManager", () -> "SpySystemManager.receivePacket: SUCCESS - Packet " + packet.getId() + 
+                                     " processed. New storage: " + system.getStorageSize() + "/" + system.getStorageCapacity());
     }
 
     /**
@@ -102,30 +114,4 @@ public class SpySystemManager {
     public SpySystem getSystem() {
         return system;
     }
-
-    /**
-     * Static method to handle network-wide spy system packet forwarding
-     * This allows packets to exit from any spy system in the network, even those without input ports
-     * 
-     * @param level The level containing all systems
-     */
-    public static void forwardPacketsFromAnySpySystem(model.levels.Level level) {
-        // Find all spy systems that have packets to forward
-        java.util.List<SpySystem> spySystemsWithPackets = new java.util.ArrayList<>();
-        
-        for (model.entity.systems.System system : level.getSystems()) {
-            if (system instanceof SpySystem) {
-                SpySystem spySystem = (SpySystem) system;
-                if (!spySystem.getPackets().isEmpty()) {
-                    spySystemsWithPackets.add(spySystem);
-                }
-            }
-        }
-        
-        // Process each spy system that has packets
-        for (SpySystem spySystem : spySystemsWithPackets) {
-            SpySystemManager manager = new SpySystemManager(spySystem);
-            manager.forwardPackets();
-        }
-    }
 }
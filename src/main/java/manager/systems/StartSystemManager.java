@@ -1,102 +1,61 @@
 package manager.systems;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.util.Duration;
 import model.entity.systems.StartSystem;
+import model.entity.systems.SystemBehavior;
 import model.entity.ports.Port;
 import model.entity.packets.Packet;
-import java.util.ArrayList;
 import model.levels.Level;
 import manager.packets.PacketManager;
 
-public class StartSystemManager {
+public class StartSystemManager implements SystemBehavior {
+    private static final long PACKET_GENERATION_INTERVAL = 1000; // Reduced to 1 second for more frequent collisions
+
     private final StartSystem system;
-    private final Timeline timer;
-    private final ArrayList<Packet> generatedPackets = new ArrayList<>();
     private final Level level;
-    private boolean started = false;
 
     public StartSystemManager(StartSystem system, Level level) {
         this.system = system;
         this.level = level;
-        this.timer = new Timeline(new KeyFrame(Duration.seconds(1), e -> transfer()));
-        this.timer.setCycleCount(Timeline.INDEFINITE);
-        // Don't auto-start the timer - wait for play button click
     }
 
-    public void startPacketGeneration() {
-        if (!started) {
-            started = true;
-            timer.play();
-        }
+    /**
+     * Start systems have no input ports, so nothing is ever delivered to them
+     */
+    @Override
+    public void receive(Packet packet) {
     }
 
-    public void stopPacketGeneration() {
-        if (started) {
-            started = false;
-            timer.stop();
+    /**
+     * Generate packets at intervals
+     */
+    @Override
+    public void tick(long currentTime) {
+        // Only generate packets if the game has been started
+        if (!level.isGameStarted()) {
+            return;
         }
-    }
 
-    public boolean isStarted() {
-        return started;
-    }
+        // The interval is level-wide: one packet per interval across every start system
+        if (currentTime - level.getLastPacketGenerationTime() < PACKET_GENERATION_INTERVAL) {
+            return;
+        }
 
-    private void transfer() {
-        // Only generate packets if the game has been started
-        if (level.isPaused() || !level.isGameStarted()) return;
-        
-        for (Port port : system.getOutPorts()) {
-            if (port.isConnected()) {
-                Packet packet = system.generatePacketIfPossible(port);
+        // Try to generate packets from each output port
+        for (Port outPort : system.getOutPorts()) {
+            if (outPort.isConnected() && outPort.getWire().isAvailable()) {
+                Packet packet = system.generatePacketIfPossible(outPort, level.nextPacketId());
                 if (packet != null) {
-                    Port bestPort = system.findBestOutPort(packet);
-                    if (bestPort != null) {
-                        boolean sent = PacketManager.sendPacket(bestPort, packet);
-                        if (sent) {
-                            level.addPacket(packet);
-                            
-                            // Deliver to destination system
-                            model.entity.systems.System destSystem = bestPort.getWire().getDest().getSystem();
-                            deliverToSystem(packet, destSystem);
-                        }
-                    }
+                    level.addPacket(packet);
+                    level.incrementPacketsGenerated();
+                    PacketManager.sendPacket(outPort, packet);
+                    level.setLastPacketGenerationTime(currentTime);
+                    break; // Only generate one packet per cycle
                 }
             }
         }
     }
-    
-    private void deliverToSystem(Packet packet, model.entity.systems.System destSystem) {
-        if (destSystem instanceof model.entity.systems.IntermediateSystem) {
-            // Find the appropriate manager and deliver
-            manager.systems.IntermediateSystemManager manager = 
-                new manager.systems.IntermediateSystemManager((model.entity.systems.IntermediateSystem) destSystem);
-            manager.receivePacket(packet);
-        } else if (destSystem instanceof model.entity.systems.DDosSystem) {
-            // Find the appropriate manager and deliver
-            manager.systems.DDosSystemManager manager = 
-                new manager.systems.DDosSystemManager((model.entity.systems.DDosSystem) destSystem);
-            manager.receivePacket(packet);
-        } else if (destSystem instanceof model.entity.systems.SpySystem) {
-            // Find the appropriate manager and deliver
-            manager.systems.SpySystemManager manager = 
-                new manager.systems.SpySystemManager((model.entity.systems.SpySystem) destSystem);
-            manager.receivePacket(packet);
-        } else if (destSystem instanceof model.entity.systems.VPNSystem) {
-            // Find the appropriate manager and deliver
-            manager.systems.VPNSystemManager manager = 
-                new manager.systems.VPNSystemManager((model.entity.systems.VPNSystem) destSystem);
-            manager.setLevel(level);
-            manager.receivePacket(packet);
-        } else if (destSystem instanceof model.entity.systems.EndSystem) {
-            manager.systems.EndSystemManager manager = 
-                new manager.systems.EndSystemManager((model.entity.systems.EndSystem) destSystem, level);
-            manager.receivePacket(packet);
-        }
-    }
 
-    public ArrayList<Packet> getGeneratedPackets() {
-        return generatedPackets;
+    public StartSystem getSystem() {
+        return system;
     }
 }
@@ -1,6 +1,7 @@
 package manager.systems;
 
 import model.entity.systems.VPNSystem;
+import model.entity.systems.SystemBehavior;
 import model.entity.packets.Packet;
 import model.entity.packets.ProtectedPacket;
 import model.entity.packets.ConfidentialPacket;
@@ -8,8 +9,9 @@ import model.entity.packets.PacketType;
 import model.entity.ports.Port;
 import manager.packets.PacketManager;
 import model.levels.Level;
+import service.log.Log;
 
-public class VPNSystemManager {
+public class VPNSystemManager implements SystemBehavior {
     
     /**
      * Interface for updating VPN system visuals
@@ -36,6 +38,23 @@ public class VPNSystemManager {
         visualUpdater = updater;
     }
 
+    /**
+     * Store an arriving packet; it waits hidden at the system centre until forwarded
+     */
+    @Override
+    public void receive(Packet packet) {
+        receivePacket(packet);
+        packet.setPosition(vpnSystem.getPosition());
+    }
+
+    /**
+     * Stored packets leave on the system processing cadence, as they always have
+     */
+    @Override
+    public void tick(long currentTime) {
+        forwardPackets();
+    }
+
     /**
      * Receive a packet into the VPN system
      * Check if packet should disable the system, then convert or forward
@@ -49,7 +68,7 @@ public class VPNSystemManager {
 
         // Check if this packet should disable the VPN system
         if (vpnSystem.shouldDisableFromPacket(packet)) {
-            System.out.println("🚨 VPN SYSTEM DISABLED by high-speed packet: " + packet.getId() + " (speed: " + packet.getSpeed() + ")");
+            Log.debug("VPNSystemManager", () -> "🚨 VPN SYSTEM DISABLED by high-speed packet: " + packet.getId() + " (speed: " + packet.getSpeed() + ")");
             
             // Disable ALL VPN systems in the level when any one fails
             disableAllVPNSystemsInLevel();
@@ -67,7 +86,7 @@ public class VPNSystemManager {
             ConfidentialPacket.Type1 type1Packet = (ConfidentialPacket.Type1) packet;
             ConfidentialPacket.Type2 type2Packet = ConfidentialPacket.Type2.fromType1(type1Packet);
             
-            System.out.println("🔒 CONFIDENTIAL PACKET TRANSFORMED: " + packet.getId() + " (TYPE1 → TYPE2) through VPN");
+            Log.debug("VPNSystemManager", () -> "🔒 CONFIDENTIAL PACKET TRANSFORMED: " + packet.getId() + " (TYPE1 → TYPE2) through VPN");
             
             // Process the transformed packet
             processConfidentialType2Packet(type2Packet);
@@ -82,13 +101,14 @@ public class VPNSystemManager {
                 packet.getId(), 
                 packet.getPosition(), 
                 packet.getDirection(), 
-                packet.getType()
+                packet.getType(),
+                vpnSystem.randomStream(model.logic.state.SimulationRandom.VPN)
             );
             
             // Copy current health (might be reduced from damage)
             protectedPacket.setCurrentHealth(packet.getCurrentHealth() * 2); // Double the current health
             
-            System.out.println("🛡️ PACKET PROTECTED: " + packet.getId() + " (" + packet.getType() + 
+            Log.debug("VPNSystemManager", () -> "🛡️ PACKET PROTECTED: " + packet.getId() + " (" + packet.getType() + 
                 " → PROTECTED with " + protectedPacket.getInheritedMovement() + " movement)");
             
             // Process the protected packet
@@ -103,39 +123,22 @@ public class VPNSystemManager {
      * Process a confidential Type 2 packet (add to storage and forward)
      */
     private void processConfidentialType2Packet(ConfidentialPacket.Type2 packet) {
-        if (!vpnSystem.isFull()) {
-            vpnSystem.enqueuePacket(packet);
-        } else {
-            // Remove oldest packet if storage is full
-            vpnSystem.removeOldestPacket();
-            vpnSystem.enqueuePacket(packet);
-        }
+        // A full store drops its oldest packet by default
+        vpnSystem.enqueuePacket(packet);
     }
 
     /**
      * Process a protected packet (add to storage and forward)
      */
     private void processProtectedPacket(Packet packet) {
-        if (!vpnSystem.isFull()) {
-            vpnSystem.enqueuePacket(packet);
-        } else {
-            // Remove oldest packet if storage is full
-            vpnSystem.removeOldestPacket();
-            vpnSystem.enqueuePacket(packet);
-        }
+        vpnSystem.enqueuePacket(packet);
     }
 
     /**
      * Forward packet without conversion (for disabled VPN or non-convertible packets)
      */
     private void forwardPacketAsNormal(Packet packet) {
-        if (!vpnSystem.isFull()) {
-            vpnSystem.enqueuePacket(packet);
-        } else {
-            // Remove oldest packet if storage is full
-            vpnSystem.removeOldestPacket();
-            vpnSystem.enqueuePacket(packet);
-        }
+        vpnSystem.enqueuePacket(packet);
     }
 
     /**
@@ -226,7 +229,7 @@ public class VPNSystemManager {
                 VPNSystem vpnSystem = (VPNSystem) system;
                 if (!vpnSystem.isDisabled()) {
                     vpnSystem.disable();
-                    System.out.println("🚨 CASCADING VPN FAILURE: VPN system at " + vpnSystem.getPosition() + " disabled");
+                    Log.debug("VPNSystemManager", () -> "🚨 CASCADING VPN FAILURE: VPN system at " + vpnSystem.getPosition() + " disabled");
                 }
             }
         }
@@ -241,14 +244,14 @@ public class VPNSystemManager {
     private void triggerVPNVisualUpdates() {
         if (level == null) return;
         
-        System.out.println("🔄 VISUAL UPDATE: Triggering VPN system visual updates");
+        Log.debug("VPNSystemManager", () -> "🔄 VISUAL UPDATE: Triggering VPN system visual updates");
         
         // Call the visual updater if available
         if (visualUpdater != null) {
             visualUpdater.updateVPNSystemVisuals();
-            System.out.println("✅ VPN VISUAL UPDATE: Successfully updated VPN system visual indicators");
+            Log.debug("VPNSystemManager", () -> "✅ VPN VISUAL UPDATE: Successfully updated VPN system visual indicators");
         } else {
-            System.out.println("⚠️ VPN VISUAL UPDATE: No visual updater available - VPN indicators may not reflect disabled state");
+            Log.debug("VPNSystemManager", () -> "⚠️ VPN VISUAL UPDATE: No visual updater available - VPN indicators may not reflect disabled state");
         }
     }
 
@@ -264,7 +267,7 @@ public class VPNSystemManager {
         java.util.List<Packet> convertedPackets = new java.util.ArrayList<>();
         
         // Find all protected packets in the level's packet list
-        for (Packet packet : level.getPackets()) {
+        for (Packet packet : level.getPacketsOfType(PacketType.PROTECTED)) {
             if (packet instanceof ProtectedPacket) {
                 packetsToConvert.add(packet);
             }
@@ -289,7 +292,7 @@ public class VPNSystemManager {
             }
         }
         
-        System.out.println("🔍 VPN FAILURE: Found " + packetsToConvert.size() + " protected packets to convert");
+        Log.debug("VPNSystemManager", () -> "🔍 VPN FAILURE: Found " + packetsToConvert.size() + " protected packets to convert");
         
         // Convert each protected packet to its original type
         for (Packet protectedPacket : packetsToConvert) {
@@ -311,7 +314,7 @@ public class VPNSystemManager {
             
             convertedPackets.add(originalPacket);
             
-            System.out.println("🔄 VPN FAILURE - PROTECTED PACKET REVERTED: " + protectedPacket.getId() + 
+            Log.debug("VPNSystemManager", () -> "🔄 VPN FAILURE - PROTECTED PACKET REVERTED: " + protectedPacket.getId() + 
                 " (PROTECTED → " + pPacket.getOriginalType() + ") - Original movement restored");
         }
         
@@ -321,7 +324,7 @@ public class VPNSystemManager {
             Packet newPacket = convertedPackets.get(i);
             
             // Replace in level's packet list
-            if (level.getPackets().contains(oldPacket)) {
+            if (level.containsPacket(oldPacket)) {
                 level.removePacket(oldPacket);
                 level.addPacket(newPacket);
             }
@@ -341,7 +344,7 @@ public class VPNSystemManager {
             PacketManager.convertProtectedPacket(oldPacket, newPacket);
         }
         
-        System.out.println("🔄 VPN FAILURE COMPLETE: " + packetsToConvert.size() + " protected packets reverted to original types");
+        Log.debug("VPNSystemManager", () -> "🔄 VPN FAILURE COMPLETE: " + packetsToConvert.size() + " protected packets reverted to original types");
     }
 
     /**
@@ -357,7 +360,7 @@ public class VPNSystemManager {
                 VPNSystem vpnSystem = (VPNSystem) system;
                 if (!vpnSystem.isDisabled()) {
                     vpnSystem.disable();
-                    System.out.println("🚨 GLOBAL VPN FAILURE: VPN system at " + vpnSystem.getPosition() + " disabled");
+                    Log.debug("VPNSystemManager", () -> "🚨 GLOBAL VPN FAILURE: VPN system at " + vpnSystem.getPosition() + " disabled");
                 }
             }
         }
@@ -375,7 +378,7 @@ public class VPNSystemManager {
         java.util.List<Packet> convertedPackets = new java.util.ArrayList<>();
         
         // Find all protected packets in the level
-        for (Packet packet : level.getPackets()) {
+        for (Packet packet : level.getPacketsOfType(PacketType.PROTECTED)) {
             if (packet instanceof ProtectedPacket) {
                 packetsToConvert.add(packet);
             }
@@ -397,7 +400,7 @@ public class VPNSystemManager {
             
             convertedPackets.add(originalPacket);
             
-            System.out.println("🔄 GLOBAL VPN FAILURE - PROTECTED PACKET REVERTED: " + protectedPacket.getId() + 
+            Log.debug("VPNSystemManager", () -> "🔄 GLOBAL VPN FAILURE - PROTECTED PACKET REVERTED: " + protectedPacket.getId() + 
                 " (PROTECTED → " + pPacket.getOriginalType() + ")");
         }
         
@@ -69,6 +69,7 @@ public class HexagonPacket extends Packet {
         if (distanceTraveled <= 0) {
             distanceTraveled = 0;
             movementState = PacketState.FORWARD;
+            markDirty(DIRTY_STATE);
             currentSpeed = BASE_SPEED; // Reset speed when starting forward again
         }
     }
@@ -78,12 +79,31 @@ public class HexagonPacket extends Packet {
         return currentSpeed;
     }
 
+    @Override
+    public void writeMotionState(double[] out, int offset) {
+        out[offset] = currentSpeed;
+        out[offset + 1] = distanceTraveled;
+        out[offset + 2] = totalPathLength;
+        out[offset + 3] = movementState.ordinal();
+    }
+
+    @Override
+    public void readMotionState(double[] in, int offset) {
+        currentSpeed = in[offset];
+        distanceTraveled = in[offset + 1];
+        totalPathLength = in[offset + 2];
+        movementState = PacketState.values()[(int) in[offset + 3]];
+        markDirty(DIRTY_STATE);
+    }
+
     public PacketState getMovementState() {
         return movementState;
     }
 
     public void setMovementState(PacketState state) {
+        if (this.movementState == state) return;
         this.movementState = state;
+        markDirty(DIRTY_STATE);
     }
 
     public void changeDirection() {
@@ -92,6 +112,7 @@ public class HexagonPacket extends Packet {
         } else {
             movementState = PacketState.FORWARD;
         }
+        markDirty(DIRTY_STATE);
     }
 
     public void setTotalPathLength(double length) {
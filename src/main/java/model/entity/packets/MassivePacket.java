@@ -72,6 +72,16 @@ public abstract class MassivePacket extends Packet {
             }
         }
 
+        @Override
+        public void writeMotionState(double[] out, int offset) {
+            out[offset] = currentSpeed;
+        }
+
+        @Override
+        public void readMotionState(double[] in, int offset) {
+            currentSpeed = in[offset];
+        }
+
         @Override
         public double getSpeed() {
             return currentSpeed;
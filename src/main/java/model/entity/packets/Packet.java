@@ -3,11 +3,23 @@ package model.entity.packets;
 import javafx.geometry.Point2D;
 import model.wire.Wire;
 import javafx.scene.shape.Shape;
+import model.logic.packet.PacketIndexes;
+import service.log.Log;
 
 public abstract class Packet {
     public static final int SIZE = 20; // Standard packet size for centering calculations
+    // Dirty bits: what changed since the view last synced (see consumeDirty)
+    public static final int DIRTY_POSITION = 1;
+    public static final int DIRTY_HEALTH = 1 << 1;
+    public static final int DIRTY_DEFLECTION = 1 << 2;
+    public static final int DIRTY_STATE = 1 << 3; // subclass movement state, e.g. hexagon returning
+    public static final int DIRTY_VISIBILITY = 1 << 4; // moving or in-system flag, which decide whether the packet is shown
+    public static final int DIRTY_ALL = DIRTY_POSITION | DIRTY_HEALTH | DIRTY_DEFLECTION | DIRTY_STATE | DIRTY_VISIBILITY;
+    // Source of dense integer handles (1, 2, 3, ...); handles are never reused
+    private static final java.util.concurrent.atomic.AtomicInteger NEXT_HANDLE = new java.util.concurrent.atomic.AtomicInteger(1);
     
     private final String id;
+    private final int handle = NEXT_HANDLE.getAndIncrement();
     private final PacketType type;
     private final int size;
     private Point2D position;
@@ -34,6 +46,10 @@ public abstract class Packet {
     private double aergiaFrozenSpeed = -1.0;
     private long aergiaEffectEndNanos = 0L;
 
+    // Level indexes to notify when the trojan, moving or in-system flag changes; null outside a level
+    private PacketIndexes indexes;
+    private int dirty = DIRTY_ALL;
+
     public Packet(String id, PacketType type, int size, Point2D position, Point2D direction, int health) {
         this.id = id;
         this.type = type;
@@ -47,6 +63,13 @@ public abstract class Packet {
     public String getId() {
         return id;
     }
+
+    /**
+     * Small integer identity for hot-path bookkeeping (e.g. collision pair keys)
+     */
+    public int getHandle() {
+        return handle;
+    }
     
     public PacketType getType() {
         return type;
@@ -61,7 +84,9 @@ public abstract class Packet {
     }
     
     public void setPosition(Point2D position) {
+        if (position != null && position.equals(this.position)) return;
         this.position = position;
+        markDirty(DIRTY_POSITION);
     }
     
     public Point2D getDirection() {
@@ -81,12 +106,16 @@ public abstract class Packet {
     }
     
     public void setCurrentHealth(int currentHealth) {
-        this.currentHealth = Math.max(0, currentHealth);
+        int clamped = Math.max(0, currentHealth);
+        if (clamped == this.currentHealth) return;
+        this.currentHealth = clamped;
+        markDirty(DIRTY_HEALTH);
     }
     
     public void applyNoise() {
         if (currentHealth > 0) {
             currentHealth--;
+            markDirty(DIRTY_HEALTH);
         }
     }
     
@@ -99,7 +128,10 @@ public abstract class Packet {
     }
     
     public void setInSystem(boolean inSystem) {
+        if (this.inSystem == inSystem) return;
         this.inSystem = inSystem;
+        if (indexes != null) indexes.update(this);
+        markDirty(DIRTY_VISIBILITY);
     }
 
     public boolean isMoving() {
@@ -107,7 +139,10 @@ public abstract class Packet {
     }
 
     public void setMoving(boolean moving) {
+        if (this.isMoving == moving) return;
         this.isMoving = moving;
+        if (indexes != null) indexes.update(this);
+        markDirty(DIRTY_VISIBILITY);
     }
 
     public Point2D getStartPosition() {
@@ -158,6 +193,22 @@ public abstract class Packet {
         return 50.0;
     }
 
+    /** Slots available to subclasses in {@link #writeMotionState}. */
+    public static final int MOTION_STATE_SLOTS = 4;
+
+    /**
+     * Copy subclass movement state (current speed, path progress) into
+     * out[offset .. offset + MOTION_STATE_SLOTS) so a timeline snapshot can restore it
+     */
+    public void writeMotionState(double[] out, int offset) {
+    }
+
+    /**
+     * Restore state written by {@link #writeMotionState}
+     */
+    public void readMotionState(double[] in, int offset) {
+    }
+
     public boolean isCompatibleWithCurrentPort() {
         return isCompatibleWithCurrentPort;
     }
@@ -175,13 +226,35 @@ public abstract class Packet {
     }
 
     public void applyDeflection(double dx, double dy) {
+        if (dx == 0 && dy == 0) return;
         this.deflectedX += dx;
         this.deflectedY += dy;
+        markDirty(DIRTY_DEFLECTION);
     }
 
     public void resetDeflection() {
+        if (deflectedX == 0 && deflectedY == 0) return;
         this.deflectedX = 0.0;
         this.deflectedY = 0.0;
+        markDirty(DIRTY_DEFLECTION);
+    }
+
+    /**
+     * Flag view-visible state as changed; subclasses call this for their own state
+     */
+    public void markDirty(int bits) {
+        if (dirty == 0 && indexes != null) indexes.markChanged(this);
+        dirty |= bits;
+    }
+
+    /**
+     * Return the dirty bits set since the last call and clear them; the next change reports the
+     * packet to the level again
+     */
+    public int consumeDirty() {
+        int bits = dirty;
+        dirty = 0;
+        return bits;
     }
 
     public boolean isDeflectionTooLarge() {
@@ -214,14 +287,23 @@ public abstract class Packet {
      * @param trojan true to make this packet a trojan, false to make it normal
      */
     public void setTrojan(boolean trojan) {
+        if (this.isTrojan == trojan) return;
         this.isTrojan = trojan;
+        if (indexes != null) indexes.update(this);
+    }
+
+    /**
+     * Attach the level's packet indexes; called by {@link PacketIndexes} itself
+     */
+    public void setIndexes(PacketIndexes indexes) {
+        this.indexes = indexes;
     }
 
     /**
      * Convert this packet to a trojan packet
      */
     public void convertToTrojan() {
-        this.isTrojan = true;
+        setTrojan(true);
     }
 
     public boolean isBitFragment() {
@@ -232,32 +314,33 @@ public abstract class Packet {
         this.isBitFragment = bitFragment;
     }
 
-    // === Aergia helpers ===
+    // === Aergia helpers (times are level simulation clock nanos) ===
+    /**
+     * True while a freeze is applied; expiry is cleared once per step by the movement update
+     */
     public boolean isAergiaFrozenActive() {
-        return aergiaFrozenSpeed >= 0.0 && java.lang.System.nanoTime() < aergiaEffectEndNanos;
+        return aergiaFrozenSpeed >= 0.0;
     }
 
     public void setAergiaFreeze(double frozenSpeed, long effectEndNanos) {
         double oldSpeed = this.getSpeed();
         this.aergiaFrozenSpeed = frozenSpeed;
         this.aergiaEffectEndNanos = effectEndNanos;
-        double remainingSec = Math.max(0, (effectEndNanos - java.lang.System.nanoTime()) / 1_000_000_000.0);
-        java.lang.System.out.println("DEBUG: AERGIA FREEZE APPLIED → packet=" + id + 
-            ", originalSpeed=" + String.format("%.2f", oldSpeed) +
-            ", frozenSpeed=" + String.format("%.2f", frozenSpeed) + 
-            ", remainingSec≈" + String.format("%.1f", remainingSec));
+        Log.debug("Packet", () -> "AERGIA FREEZE APPLIED → packet=" + id + 
+            ", originalSpeed=" + oldSpeed +
+            ", frozenSpeed=" + frozenSpeed + 
+            ", effectEnd=" + effectEndNanos);
     }
 
-    public void clearAergiaFreezeIfExpired() {
-        if (aergiaFrozenSpeed >= 0.0 && java.lang.System.nanoTime() >= aergiaEffectEndNanos) {
+    public void clearAergiaFreezeIfExpired(long now) {
+        if (aergiaFrozenSpeed >= 0.0 && now >= aergiaEffectEndNanos) {
             aergiaFrozenSpeed = -1.0;
             aergiaEffectEndNanos = 0L;
-            java.lang.System.out.println("DEBUG: AERGIA FREEZE EXPIRED → packet=" + id);
+            Log.debug("Packet", () -> "AERGIA FREEZE EXPIRED → packet=" + id);
         }
     }
 
     public double getAergiaFrozenSpeedOrNegative() {
-        clearAergiaFreezeIfExpired();
         return aergiaFrozenSpeed;
     }
 
@@ -274,12 +357,13 @@ public abstract class Packet {
         if (this.currentHealth < 0) {
             this.currentHealth = 0;
         }
+        if (this.currentHealth != oldHealth) markDirty(DIRTY_HEALTH);
         
         // Enhanced health update logging
         if (this.currentHealth <= 0) {
-            System.out.println("💀 PACKET DESTROYED: " + this.id + " (" + this.type + ") - Health: " + oldHealth + " → 0");
+            Log.debug("Packet", () -> "💀 PACKET DESTROYED: " + this.id + " (" + this.type + ") - Health: " + oldHealth + " → 0");
         } else {
-            System.out.println("💔 PACKET DAMAGE: " + this.id + " (" + this.type + ") - Health: " + oldHealth + " → " + this.currentHealth);
+            Log.debug("Packet", () -> "💔 PACKET DAMAGE: " + this.id + " (" + this.type + ") - Health: " + oldHealth + " → " + this.currentHealth);
         }
     }
 
@@ -290,11 +374,10 @@ public abstract class Packet {
     public abstract Shape getCollisionShape();
 
     /**
-     * Unified collision detection using JavaFX Shape.intersect.
-     * No type-checking needed - works with any packet type.
+     * Unified collision detection using the analytic shapes in CollisionGeometry.
+     * getCollisionShape() stays available for views; it is not used on the hot path.
      */
     public boolean intersects(Packet other) {
-        Shape intersection = Shape.intersect(this.getCollisionShape(), other.getCollisionShape());
-        return intersection.getBoundsInLocal().getWidth() > 0 && intersection.getBoundsInLocal().getHeight() > 0;
+        return model.logic.Collision.CollisionGeometry.intersects(this, other);
     }
 }
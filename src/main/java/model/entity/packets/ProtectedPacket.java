@@ -19,10 +19,17 @@ public class ProtectedPacket extends Packet {
     }
 
     public ProtectedPacket(String id, Point2D position, Point2D direction, PacketType originalType) {
+        this(id, position, direction, originalType, random);
+    }
+
+    /**
+     * @param rng stream used to pick the inherited movement (e.g. the level's VPN stream)
+     */
+    public ProtectedPacket(String id, Point2D position, Point2D direction, PacketType originalType, Random rng) {
         // Protected packet has double health and size 5 for coin bonus
         super(id, PacketType.PROTECTED, 5, position, direction, getDoubleHealth(originalType));
         this.originalType = originalType;
-        this.inheritedMovement = selectRandomMovement();
+        this.inheritedMovement = selectRandomMovement(rng);
         initializeSpeed();
     }
 
@@ -42,8 +49,8 @@ public class ProtectedPacket extends Packet {
      * Randomly select movement type based on size probability:
      * Square: 2/7, Triangle: 3/7, Hexagon: 2/7
      */
-    private InheritedMovement selectRandomMovement() {
-        double rand = random.nextDouble();
+    private InheritedMovement selectRandomMovement(Random rng) {
+        double rand = rng.nextDouble();
         if (rand < 2.0/7.0) {
             return InheritedMovement.SQUARE;
         } else if (rand < 5.0/7.0) {  // 2/7 + 3/7 = 5/7
@@ -129,6 +136,16 @@ public class ProtectedPacket extends Packet {
         }
     }
 
+    @Override
+    public void writeMotionState(double[] out, int offset) {
+        out[offset] = currentSpeed;
+    }
+
+    @Override
+    public void readMotionState(double[] in, int offset) {
+        currentSpeed = in[offset];
+    }
+
     @Override
     public double getSpeed() {
         return currentSpeed;
@@ -38,6 +38,16 @@ public class TrianglePacket extends Packet {
         return currentSpeed;
     }
 
+    @Override
+    public void writeMotionState(double[] out, int offset) {
+        out[offset] = currentSpeed;
+    }
+
+    @Override
+    public void readMotionState(double[] in, int offset) {
+        currentSpeed = in[offset];
+    }
+
     public void resetSpeed() {
         this.currentSpeed = BASE_SPEED;
     }
@@ -11,6 +11,7 @@ public abstract class Port {
     public static final double SIZE = 14;
     private static final double CONFIDENTIAL_PACKET_CHANCE = 0.2; // 20% chance
     private static final double MASSIVE_PACKET_CHANCE = 0.1; // 10% chance
+    // Fallback for ports that do not belong to a system in a level
     private static final Random random = new Random();
 
     protected final String id;
@@ -48,12 +49,28 @@ public abstract class Port {
     }
     public void setPosition(Point2D position) {
         this.position = position;
+        model.levels.LayoutIndex index = system != null ? system.getLayoutIndex() : null;
+        if (index != null) index.update(this);
     }
     public Wire getWire() {
         return wire;
     }
     public void setWire(Wire wire) {
         this.wire = wire;
+        onWireStateChanged();
+        // A newly connected output may unblock packets waiting in storage
+        if (wire != null && type == PortType.OUTPUT && system != null) {
+            system.onOutputAvailable();
+        }
+    }
+
+    /**
+     * Called when the attached wire changes or becomes available/unavailable
+     */
+    public void onWireStateChanged() {
+        if (type == PortType.OUTPUT && system != null) {
+            system.onOutputStateChanged(this);
+        }
     }
     public boolean isConnected() {
         return wire != null;
@@ -64,8 +81,9 @@ public abstract class Port {
     }
 
     public void setShapeKind(ShapeKind newKind) {
-        if (newKind != null) {
+        if (newKind != null && newKind != shapeKind) {
             this.shapeKind = newKind;
+            onWireStateChanged();
         }
     }
 
@@ -73,14 +91,21 @@ public abstract class Port {
      * Determines if this port should generate a confidential packet (20% chance)
      */
     public boolean shouldGenerateConfidentialPacket() {
-        return random.nextDouble() < CONFIDENTIAL_PACKET_CHANCE;
+        return chanceStream().nextDouble() < CONFIDENTIAL_PACKET_CHANCE;
     }
 
     /**
      * Determines if this port should generate a massive packet (10% chance)
      */
-    public static boolean shouldGenerateMassivePacket() {
-        return random.nextDouble() < MASSIVE_PACKET_CHANCE;
+    public boolean shouldGenerateMassivePacket() {
+        return chanceStream().nextDouble() < MASSIVE_PACKET_CHANCE;
+    }
+
+    private Random chanceStream() {
+        if (system != null && system.getSimulationRandom() != null) {
+            return system.getSimulationRandom().stream(model.logic.state.SimulationRandom.PORT_CHANCES);
+        }
+        return random;
     }
 
     public abstract boolean isCompatible(Packet packet);
@@ -89,31 +114,31 @@ public abstract class Port {
      * Default compatibility based on current shape kind.
      */
     protected boolean isCompatibleByShapeKind(Packet packet) {
-        if (packet == null) return false;
+        ShapeKind kind = shapeKindFor(packet);
+        return kind != null && kind == shapeKind;
+    }
+
+    /**
+     * The one shape kind a packet is compatible with, or null if it matches none
+     */
+    public static ShapeKind shapeKindFor(Packet packet) {
+        if (packet == null) return null;
         // Handle protected packets by inherited movement
         if (packet instanceof ProtectedPacket) {
-            ProtectedPacket protectedPacket = (ProtectedPacket) packet;
-            switch (shapeKind) {
-                case SQUARE:
-                    return protectedPacket.getInheritedMovement() == ProtectedPacket.InheritedMovement.SQUARE;
-                case TRIANGLE:
-                    return protectedPacket.getInheritedMovement() == ProtectedPacket.InheritedMovement.TRIANGLE;
-                case HEXAGON:
-                    return protectedPacket.getInheritedMovement() == ProtectedPacket.InheritedMovement.HEXAGON;
+            ProtectedPacket.InheritedMovement movement = ((ProtectedPacket) packet).getInheritedMovement();
+            if (movement == null) return null;
+            switch (movement) {
+                case SQUARE: return ShapeKind.SQUARE;
+                case TRIANGLE: return ShapeKind.TRIANGLE;
+                case HEXAGON: return ShapeKind.HEXAGON;
+                default: return null;
             }
-            return false;
         }
 
         // Regular packets by type
-        switch (shapeKind) {
-            case SQUARE:
-                return packet instanceof model.entity.packets.SquarePacket;
-            case TRIANGLE:
-                return packet instanceof model.entity.packets.TrianglePacket;
-            case HEXAGON:
-                return packet instanceof model.entity.packets.HexagonPacket;
-            default:
-                return false;
-        }
+        if (packet instanceof model.entity.packets.SquarePacket) return ShapeKind.SQUARE;
+        if (packet instanceof model.entity.packets.TrianglePacket) return ShapeKind.TRIANGLE;
+        if (packet instanceof model.entity.packets.HexagonPacket) return ShapeKind.HEXAGON;
+        return null;
     }
 }
@@ -2,20 +2,17 @@ package model.entity.systems;
 
 import javafx.geometry.Point2D;
 import model.entity.packets.Packet;
-import java.util.LinkedList;
-import java.util.Queue;
+import service.log.Log;
 
-public class AntiVirusSystem extends System {
-    private static final int MAX_STORAGE = 5;
+public class AntiVirusSystem extends BufferingSystem {
     private static final double DETECTION_RADIUS = 200.0; // Increased radius for better detection coverage
     private static final long DISABLE_DURATION_MS = 5000; // 5 seconds
     
-    private final Queue<Packet> storage = new LinkedList<>();
     private boolean disabled = false;
     private long disableEndTime = 0;
 
     public AntiVirusSystem(Point2D position) {
-        super(position, SystemType.AntiVirusSystem);
+        super(position, SystemType.AntiVirusSystem, PacketStorage.OverflowPolicy.DROP_HEAD);
     }
 
     /**
@@ -30,7 +27,7 @@ public class AntiVirusSystem extends System {
      */
     public boolean isDisabled() {
         // Check if disable period has expired
-        if (disabled && java.lang.System.currentTimeMillis() >= disableEndTime) {
+        if (disabled && currentTimeMillis() >= disableEndTime) {
             disabled = false;
         }
         return disabled;
@@ -41,8 +38,8 @@ public class AntiVirusSystem extends System {
      */
     public void disable() {
         this.disabled = true;
-        this.disableEndTime = java.lang.System.currentTimeMillis() + DISABLE_DURATION_MS;
-        java.lang.System.out.println("🛡️ ANTIVIRUS SYSTEM: Disabled for " + (DISABLE_DURATION_MS / 1000) + " seconds");
+        this.disableEndTime = currentTimeMillis() + DISABLE_DURATION_MS;
+        Log.debug("AntiVirusSystem", () -> "🛡️ ANTIVIRUS SYSTEM: Disabled for " + (DISABLE_DURATION_MS / 1000) + " seconds");
     }
 
     /**
@@ -74,7 +71,7 @@ public class AntiVirusSystem extends System {
         // Disable system for 5 seconds
         disable();
         
-        java.lang.System.out.println("🛡️ ANTIVIRUS SYSTEM: Packet " + packet.getId() + " cleaned of trojan! System disabled for 5 seconds");
+        Log.debug("AntiVirusSystem", () -> "🛡️ ANTIVIRUS SYSTEM: Packet " + packet.getId() + " cleaned of trojan! System disabled for 5 seconds");
         
         return true;
     }
@@ -87,48 +84,11 @@ public class AntiVirusSystem extends System {
         if (packet.isTrojan() && !isDisabled()) {
             packet.setTrojan(false);
             disable();
-            java.lang.System.out.println("🛡️ ANTIVIRUS SYSTEM: Packet " + packet.getId() + " cleaned of trojan while entering system!");
+            Log.debug("AntiVirusSystem", () -> "🛡️ ANTIVIRUS SYSTEM: Packet " + packet.getId() + " cleaned of trojan while entering system!");
         }
         
-        // Add to storage if there's space
-        if (!isFull()) {
-            enqueuePacket(packet);
-        } else {
-            // Remove oldest packet if storage is full
-            removeOldestPacket();
-            enqueuePacket(packet);
-        }
-    }
-
-    // Storage management methods (following the pattern of other systems)
-    public int getStorageSize() {
-        return storage.size();
-    }
-
-    public void enqueuePacket(Packet packet) {
-        storage.add(packet);
-    }
-
-    public Packet peekNextPacket() {
-        return storage.peek();
-    }
-
-    public Packet dequeuePacket() {
-        return storage.poll();
-    }
-
-    public Queue<Packet> getPackets() {
-        return storage;
-    }
-
-    public boolean isFull() {
-        return storage.size() >= MAX_STORAGE;
-    }
-
-    public void removeOldestPacket() {
-        if (!storage.isEmpty()) {
-            storage.poll();
-        }
+        // Store it; a full store applies its overflow policy (drops the oldest by default)
+        enqueuePacket(packet);
     }
 
     /**
@@ -138,6 +98,6 @@ public class AntiVirusSystem extends System {
         if (!disabled) {
             return 0;
         }
-        return Math.max(0, disableEndTime - java.lang.System.currentTimeMillis());
+        return Math.max(0, disableEndTime - currentTimeMillis());
     }
 } 
\ No newline at end of file
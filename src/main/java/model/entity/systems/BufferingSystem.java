@@ -0,0 +1,81 @@
+package model.entity.systems;
+
+import javafx.geometry.Point2D;
+import model.entity.packets.Packet;
+
+/**
+ * Base for systems that hold packets in internal storage until an output wire frees up.
+ * Capacity and overflow policy default per system type and can be overridden from the level file.
+ */
+public abstract class BufferingSystem extends System {
+    public static final int DEFAULT_STORAGE_CAPACITY = 5;
+
+    protected final PacketStorage storage;
+
+    protected BufferingSystem(Point2D position, SystemType type, PacketStorage.OverflowPolicy overflowPolicy) {
+        super(position, type);
+        this.storage = new PacketStorage(DEFAULT_STORAGE_CAPACITY, overflowPolicy);
+    }
+
+    public void configureStorage(int capacity, PacketStorage.OverflowPolicy overflowPolicy) {
+        storage.setCapacity(capacity);
+        if (overflowPolicy != null) {
+            storage.setPolicy(overflowPolicy);
+        }
+    }
+
+    public int getStorageSize() {
+        return storage.size();
+    }
+
+    public int getStorageCapacity() {
+        return storage.capacity();
+    }
+
+    /**
+     * Store a packet, applying the overflow policy if storage is full
+     * @return false if the packet was rejected
+     */
+    public boolean enqueuePacket(Packet packet) {
+        boolean stored = storage.offer(packet);
+        if (stored) {
+            markReady();
+        }
+        return stored;
+    }
+
+    public Packet peekNextPacket() {
+        return storage.peek();
+    }
+
+    public Packet dequeuePacket() {
+        return storage.poll();
+    }
+
+    public PacketStorage getPackets() {
+        return storage;
+    }
+
+    @Override
+    public void collectStoredPackets(java.util.List<Packet> out) {
+        out.addAll(storage);
+    }
+
+    @Override
+    public void restoreStoredPackets(java.util.List<Packet> packets) {
+        storage.clear();
+        storage.addAll(packets);
+    }
+
+    public boolean isFull() {
+        return storage.isFull();
+    }
+
+    public void removeOldestPacket() {
+        storage.pollFirst();
+    }
+
+    public void removeLastPacket() {
+        storage.pollLast();
+    }
+}
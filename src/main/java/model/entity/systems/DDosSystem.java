@@ -3,20 +3,15 @@ package model.entity.systems;
 import javafx.geometry.Point2D;
 import model.entity.packets.Packet;
 import model.entity.ports.Port;
+import model.logic.state.SimulationRandom;
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Random;
+import service.log.Log;
 
-
-public class DDosSystem extends System {
-    private static final int MAX_STORAGE = 5;
+public class DDosSystem extends BufferingSystem {
     private static final double TROJAN_CONVERSION_PROBABILITY = 0.2; // 20% chance
-    private final Queue<Packet> storage = new LinkedList<>();
-    private final Random random = new Random();
 
     public DDosSystem(Point2D position) {
-        super(position, SystemType.DDosSystem);
+        super(position, SystemType.DDosSystem, PacketStorage.OverflowPolicy.DROP_HEAD);
     }
 
     /**
@@ -34,19 +29,13 @@ public class DDosSystem extends System {
         }
         
         // 20% chance to convert to trojan
-        if (random.nextDouble() < TROJAN_CONVERSION_PROBABILITY) {
+        if (randomStream(SimulationRandom.DDOS).nextDouble() < TROJAN_CONVERSION_PROBABILITY) {
             packet.convertToTrojan();
-            java.lang.System.out.println("⚡ DDOS SYSTEM: Packet " + packet.getId() + " converted to TROJAN!");
+            Log.debug("DDosSystem", () -> "⚡ DDOS SYSTEM: Packet " + packet.getId() + " converted to TROJAN!");
         }
         
-        // Add to storage if there's space
-        if (!isFull()) {
-            enqueuePacket(packet);
-        } else {
-            // Remove oldest packet if storage is full
-            removeOldestPacket();
-            enqueuePacket(packet);
-        }
+        // Store it; a full store applies its overflow policy (drops the oldest by default)
+        enqueuePacket(packet);
     }
 
     /**
@@ -73,45 +62,16 @@ public class DDosSystem extends System {
         // Prefer incompatible ports (DDoS behavior)
         if (!incompatiblePorts.isEmpty()) {
             // Randomly select from available incompatible ports
-            int randomIndex = random.nextInt(incompatiblePorts.size());
+            int randomIndex = randomStream(SimulationRandom.DDOS).nextInt(incompatiblePorts.size());
             return incompatiblePorts.get(randomIndex);
         }
         
         // Fall back to compatible ports if no incompatible ports available
         if (!compatiblePorts.isEmpty()) {
-            int randomIndex = random.nextInt(compatiblePorts.size());
+            int randomIndex = randomStream(SimulationRandom.DDOS).nextInt(compatiblePorts.size());
             return compatiblePorts.get(randomIndex);
         }
         
         return null; // No available ports
     }
-
-    // Queue management methods
-    public int getStorageSize() {
-        return storage.size();
-    }
-
-    public void enqueuePacket(Packet packet) {
-        storage.add(packet);
-    }
-
-    public Packet peekNextPacket() {
-        return storage.peek();
-    }
-
-    public Packet dequeuePacket() {
-        return storage.poll();
-    }
-
-    public Queue<Packet> getPackets() {
-        return storage;
-    }
-
-    public boolean isFull() {
-        return storage.size() >= MAX_STORAGE;
-    }
-
-    public void removeOldestPacket() {
-        storage.poll(); // Remove the oldest packet (FIFO)
-    }
 }
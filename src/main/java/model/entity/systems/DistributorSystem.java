@@ -20,12 +20,24 @@ public class DistributorSystem extends System {
      */
     public void processPacket(Packet packet) {
         storage.add(packet);
+        markReady();
     }
 
     public java.util.Queue<Packet> getPackets() {
         return storage;
     }
 
+    @Override
+    public void collectStoredPackets(java.util.List<Packet> out) {
+        out.addAll(storage);
+    }
+
+    @Override
+    public void restoreStoredPackets(java.util.List<Packet> packets) {
+        storage.clear();
+        storage.addAll(packets);
+    }
+
     public int getStorageSize() {
         return storage.size();
     }
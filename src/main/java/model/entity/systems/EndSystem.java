@@ -2,6 +2,7 @@ package model.entity.systems;
 
 import javafx.geometry.Point2D;
 import model.levels.Level;
+import service.log.Log;
 
 public class EndSystem extends System {
     public EndSystem(Point2D position) {
@@ -15,23 +16,23 @@ public class EndSystem extends System {
             if (pkt.isBitFragment()) {
                 lvl.incrementPacketLoss();
                 lvl.removePacket(pkt);
-                java.lang.System.out.println("DEBUG: EndSystem.claimPacket - Bit fragment reached end. Counted as loss. id=" + pkt.getId());
+                Log.debug("EndSystem", () -> "EndSystem.claimPacket - Bit fragment reached end. Counted as loss. id=" + pkt.getId());
                 return;
             }
             int coinsToAdd = pkt.getSize();
             int coinsBefore = lvl.getCoins();
-            java.lang.System.out.println("DEBUG: EndSystem.claimPacket - Adding " + coinsToAdd + " coins for packet " + pkt.getId());
-            java.lang.System.out.println("DEBUG: Coins before: " + coinsBefore);
+            Log.debug("EndSystem", () -> "EndSystem.claimPacket - Adding " + coinsToAdd + " coins for packet " + pkt.getId());
+            Log.debug("EndSystem", () -> "Coins before: " + coinsBefore);
             lvl.addCoins(coinsToAdd);
             int coinsAfter = lvl.getCoins();
-            java.lang.System.out.println("DEBUG: Coins after: " + coinsAfter + " (difference: " + (coinsAfter - coinsBefore) + ")");
+            Log.debug("EndSystem", () -> "Coins after: " + coinsAfter + " (difference: " + (coinsAfter - coinsBefore) + ")");
             
             // Increment packets collected counter
             lvl.incrementPacketsCollected();
-            java.lang.System.out.println("DEBUG: EndSystem.claimPacket - Incremented packetsCollected to: " + lvl.getPacketsCollected());
+            Log.debug("EndSystem", () -> "EndSystem.claimPacket - Incremented packetsCollected to: " + lvl.getPacketsCollected());
             
             lvl.removePacket(pkt);
-            java.lang.System.out.println("DEBUG: EndSystem.claimPacket completed for packet " + pkt.getId());
+            Log.debug("EndSystem", () -> "EndSystem.claimPacket completed for packet " + pkt.getId());
         }
     }
 
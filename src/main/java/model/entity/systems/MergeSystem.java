@@ -40,6 +40,21 @@ public class MergeSystem extends System {
         }
     }
 
+    @Override
+    public void collectStoredPackets(List<Packet> out) {
+        out.addAll(circleBits);
+        out.addAll(rectBits);
+    }
+
+    @Override
+    public void restoreStoredPackets(List<Packet> packets) {
+        circleBits.clear();
+        rectBits.clear();
+        for (Packet packet : packets) {
+            addBitPacket(packet);
+        }
+    }
+
     /**
      * Check if system can create a massive packet
      */
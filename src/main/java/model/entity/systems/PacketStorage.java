@@ -0,0 +1,187 @@
+package model.entity.systems;
+
+import java.util.AbstractQueue;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import model.entity.packets.Packet;
+
+/**
+ * Bounded FIFO storage for packets held inside a system.
+ * Backed by a circular array, so head and tail operations are O(1) and produce no garbage.
+ * What happens when a packet arrives at a full store is decided by the {@link OverflowPolicy}.
+ */
+public class PacketStorage extends AbstractQueue<Packet> {
+
+    public enum OverflowPolicy {
+        /** Evict the oldest stored packet to make room */
+        DROP_HEAD,
+        /** Evict the most recently stored packet to make room for the arrival */
+        DROP_TAIL,
+        /** Refuse the arriving packet */
+        REJECT,
+        /**
+         * Refuse the arriving packet and also evict the most recently stored one. This is the
+         * intermediate system's original overflow rule (an overflow costs two packets), which the
+         * bundled levels are balanced around and none of the other policies reproduces.
+         */
+        REJECT_AND_DROP_TAIL
+    }
+
+    private Packet[] slots;
+    private int head = 0;
+    private int size = 0;
+    private int modCount = 0;
+    private OverflowPolicy policy;
+
+    public PacketStorage(int capacity, OverflowPolicy policy) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        this.slots = new Packet[capacity];
+        this.policy = policy;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(OverflowPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Resize the store; if it shrinks below the current size the oldest packets are dropped
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        while (size > capacity) pollFirst();
+        Packet[] resized = new Packet[capacity];
+        for (int i = 0; i < size; i++) resized[i] = slots[index(i)];
+        slots = resized;
+        head = 0;
+        modCount++;
+    }
+
+    public boolean isFull() {
+        return size == slots.length;
+    }
+
+    /**
+     * Append a packet, applying the overflow policy when the store is full.
+     * @return false only if the packet was rejected
+     */
+    @Override
+    public boolean offer(Packet packet) {
+        if (packet == null) throw new NullPointerException();
+        if (isFull()) {
+            switch (policy) {
+                case DROP_HEAD: pollFirst(); break;
+                case DROP_TAIL: pollLast(); break;
+                case REJECT_AND_DROP_TAIL: pollLast(); return false;
+                default: return false;
+            }
+        }
+        slots[index(size)] = packet;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Packet poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public Packet peek() {
+        return size == 0 ? null : slots[head];
+    }
+
+    public Packet pollFirst() {
+        if (size == 0) return null;
+        Packet first = slots[head];
+        slots[head] = null;
+        head = (head + 1) % slots.length;
+        size--;
+        modCount++;
+        return first;
+    }
+
+    public Packet pollLast() {
+        if (size == 0) return null;
+        int tail = index(size - 1);
+        Packet last = slots[tail];
+        slots[tail] = null;
+        size--;
+        modCount++;
+        return last;
+    }
+
+    public Packet peekLast() {
+        return size == 0 ? null : slots[index(size - 1)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) slots[index(i)] = null;
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Packet> iterator() {
+        return new Iterator<Packet>() {
+            private int next = 0;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Packet next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (next >= size) throw new NoSuchElementException();
+                last = next++;
+                return slots[index(last)];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) throw new IllegalStateException();
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                removeAt(last);
+                next = last;
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Remove the element at logical position i, closing the gap toward the tail
+     */
+    private void removeAt(int i) {
+        for (int k = i; k < size - 1; k++) {
+            slots[index(k)] = slots[index(k + 1)];
+        }
+        slots[index(size - 1)] = null;
+        size--;
+        modCount++;
+    }
+
+    private int index(int logical) {
+        return (head + logical) % slots.length;
+    }
+}
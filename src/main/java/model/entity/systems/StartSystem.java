@@ -18,32 +18,32 @@ public class StartSystem extends System {
         outPorts.add(port);
     }
 
-    public Packet generatePacketIfPossible(Port port) {
+    public Packet generatePacketIfPossible(Port port, String id) {
         if (!port.isConnected()) {
             return null;
         }
         
         // Check if this port should generate a confidential packet (20% chance)
         if (port.shouldGenerateConfidentialPacket()) {
-            return new ConfidentialPacket.Type1("pkt-" + java.lang.System.nanoTime(), port.getPosition(), port.getPosition());
+            return new ConfidentialPacket.Type1(id, port.getPosition(), port.getPosition());
         }
 
         // Massive packets: each type has 10% chance (total massive chance 20%)
-        double r = Math.random();
+        double r = randomStream(model.logic.state.SimulationRandom.PACKET_GENERATION).nextDouble();
         if (r < 0.10) {
-            return new MassivePacket.Type1("pkt-" + java.lang.System.nanoTime(), port.getPosition(), port.getPosition());
+            return new MassivePacket.Type1(id, port.getPosition(), port.getPosition());
         } else if (r < 0.20) {
-            return new MassivePacket.Type2("pkt-" + java.lang.System.nanoTime(), port.getPosition(), port.getPosition());
+            return new MassivePacket.Type2(id, port.getPosition(), port.getPosition());
         }
         
         // Determine packet type by port class or property
         String portClass = port.getClass().getSimpleName().toLowerCase();
         if (portClass.contains("square")) {
-            return new SquarePacket("pkt-" + java.lang.System.nanoTime(), port.getPosition(), port.getPosition());
+            return new SquarePacket(id, port.getPosition(), port.getPosition());
         } else if (portClass.contains("triangle")) {
-            return new TrianglePacket("pkt-" + java.lang.System.nanoTime(), port.getPosition(), port.getPosition());
+            return new TrianglePacket(id, port.getPosition(), port.getPosition());
         } else if (portClass.contains("hexagon")) {
-            return new HexagonPacket("pkt-" + java.lang.System.nanoTime(), port.getPosition(), port.getPosition());
+            return new HexagonPacket(id, port.getPosition(), port.getPosition());
         }
         return null;
     }
@@ -17,6 +17,17 @@ public abstract class System {
     protected SystemType type;
     protected final ArrayList<Port> inPorts = new ArrayList<>();
     protected final ArrayList<Port> outPorts = new ArrayList<>();
+    // Level-owned randomness; null until the system is added to a level
+    private model.logic.state.SimulationRandom simulationRandom;
+    private static final java.util.Random UNSEEDED = new java.util.Random();
+    // Owning level's ready queue; null until the system is added to a level
+    private model.logic.system.SystemReadyQueue readyQueue;
+    // Owning level's simulation clock; null until the system is added to a level
+    private model.logic.state.SimulationClock clock;
+    // Created by the level factory; null for systems built outside a level
+    private SystemBehavior behavior;
+    // Owning level's hit-test grids; null until the system is added to a level
+    private model.levels.LayoutIndex layoutIndex;
     // Ports and wires will be added in future steps
 
     public System(Point2D position, SystemType type) {
@@ -31,6 +42,7 @@ public abstract class System {
 
     public void setPosition(Point2D position) {
         this.position = position;
+        if (layoutIndex != null) layoutIndex.update(this);
     }
 
     public boolean isReady() {
@@ -45,6 +57,86 @@ public abstract class System {
         return type;
     }
 
+    public void setSimulationRandom(model.logic.state.SimulationRandom simulationRandom) {
+        this.simulationRandom = simulationRandom;
+    }
+
+    public model.logic.state.SimulationRandom getSimulationRandom() {
+        return simulationRandom;
+    }
+
+    /**
+     * Named random stream of the owning level, or an unseeded fallback outside a level
+     */
+    public java.util.Random randomStream(String name) {
+        return simulationRandom != null ? simulationRandom.stream(name) : UNSEEDED;
+    }
+
+    public void setClock(model.logic.state.SimulationClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Simulated time of the owning level in milliseconds (0 outside a level)
+     */
+    protected long currentTimeMillis() {
+        return clock != null ? clock.millis() : 0L;
+    }
+
+    public void setLayoutIndex(model.levels.LayoutIndex layoutIndex) {
+        this.layoutIndex = layoutIndex;
+    }
+
+    public model.levels.LayoutIndex getLayoutIndex() {
+        return layoutIndex;
+    }
+
+    public void setReadyQueue(model.logic.system.SystemReadyQueue readyQueue) {
+        this.readyQueue = readyQueue;
+    }
+
+    /**
+     * Ask the simulation to run this system's forwarding on its next step
+     */
+    public void markReady() {
+        if (readyQueue != null) {
+            readyQueue.offer(this);
+        }
+    }
+
+    /**
+     * Append the packets held inside this system, in storage order; used by timeline snapshots
+     */
+    public void collectStoredPackets(List<Packet> out) {
+    }
+
+    /**
+     * Replace the packets held inside this system (timeline rewind)
+     */
+    public void restoreStoredPackets(List<Packet> packets) {
+    }
+
+    /**
+     * Called when one of this system's output wires becomes free or gets connected
+     */
+    public void onOutputAvailable() {
+        markReady();
+    }
+
+    /**
+     * Called when an output port's wire is attached, detached, freed or taken
+     */
+    public void onOutputStateChanged(Port port) {
+    }
+
+    public SystemBehavior getBehavior() {
+        return behavior;
+    }
+
+    public void setBehavior(SystemBehavior behavior) {
+        this.behavior = behavior;
+    }
+
     public String getId() {
         return id;
     }
@@ -59,6 +151,7 @@ public abstract class System {
         } else {
             outPorts.add(port);
         }
+        if (layoutIndex != null) layoutIndex.update(port);
     }
 
     public ArrayList<Port> getInPorts() {
@@ -0,0 +1,33 @@
+package model.entity.systems;
+
+import model.entity.packets.Packet;
+
+/**
+ * Runtime behaviour attached to a {@link System}. One instance lives for the whole level,
+ * so per-system state (e.g. round-robin cursors) survives between simulation steps.
+ */
+public interface SystemBehavior {
+
+    /**
+     * Accept a packet that has just arrived at one of the system's input ports
+     */
+    void receive(Packet packet);
+
+    /**
+     * Move stored packets onto free output wires; called when the system comes off the ready queue
+     */
+    default void forward() {
+    }
+
+    /**
+     * Work that must see every step, such as range checks against moving packets
+     */
+    default void update() {
+    }
+
+    /**
+     * Periodic work such as packet generation; called on the system processing cadence
+     */
+    default void tick(long currentTime) {
+    }
+}
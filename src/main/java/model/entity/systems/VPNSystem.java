@@ -1,48 +1,21 @@
 package model.entity.systems;
 
 import javafx.geometry.Point2D;
-import java.util.LinkedList;
-import java.util.Queue;
 import model.entity.packets.Packet;
 
-public class VPNSystem extends System {
-    private static final int MAX_STORAGE = 5;
+public class VPNSystem extends BufferingSystem {
     private static final double HIGH_SPEED_THRESHOLD = 75.0;
-    private final Queue<Packet> storage = new LinkedList<>();
     private boolean disabled = false;
 
     public VPNSystem(Point2D position) {
-        super(position, SystemType.VPNSystem);
+        super(position, SystemType.VPNSystem, PacketStorage.OverflowPolicy.DROP_HEAD);
     }
 
-    public int getStorageSize() {
-        return storage.size();
-    }
-
-    public void enqueuePacket(Packet packet) {
-        storage.add(packet);
-    }
-
-    public Packet peekNextPacket() {
-        return storage.peek();
-    }
-
-    public Packet dequeuePacket() {
-        return storage.poll();
-    }
-
-    public Queue<Packet> getPackets() {
-        return storage;
-    }
-
-    public boolean isFull() {
-        return storage.size() >= MAX_STORAGE;
-    }
-
-    public void removeOldestPacket() {
-        if (!storage.isEmpty()) {
-            storage.poll();
-        }
+    /**
+     * VPN systems forward on the system processing cadence, so they never join the ready queue
+     */
+    @Override
+    public void markReady() {
     }
 
     /**
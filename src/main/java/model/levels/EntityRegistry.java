@@ -0,0 +1,94 @@
+package model.levels;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lookup of level entities by their string id and by a dense integer handle.
+ * Handles are assigned in registration order starting at 0 and are not reused within a level,
+ * so they can index plain arrays in save, replay and telemetry code.
+ */
+public class EntityRegistry<T> {
+    private final Function<T, String> idOf;
+    private final Map<String, T> byId = new HashMap<>();
+    private final List<T> byHandle = new ArrayList<>();
+    private final Map<T, Integer> handles = new IdentityHashMap<>();
+    private int size = 0;
+
+    public EntityRegistry(Function<T, String> idOf) {
+        this.idOf = idOf;
+    }
+
+    /**
+     * Register an entity; registering it again only refreshes its id mapping
+     * @return the entity's handle
+     */
+    public int register(T entity) {
+        Integer handle = handles.get(entity);
+        if (handle == null) {
+            handle = byHandle.size();
+            byHandle.add(entity);
+            handles.put(entity, handle);
+            size++;
+        }
+        String id = idOf.apply(entity);
+        if (id != null) byId.put(id, entity);
+        return handle;
+    }
+
+    /**
+     * Forget an entity; its handle stays retired
+     * @return false if it was not registered
+     */
+    public boolean unregister(T entity) {
+        Integer handle = handles.remove(entity);
+        if (handle == null) return false;
+        byHandle.set(handle, null);
+        String id = idOf.apply(entity);
+        if (id != null && byId.get(id) == entity) byId.remove(id);
+        size--;
+        return true;
+    }
+
+    public T get(String id) {
+        return id != null ? byId.get(id) : null;
+    }
+
+    public T get(int handle) {
+        return handle >= 0 && handle < byHandle.size() ? byHandle.get(handle) : null;
+    }
+
+    /**
+     * @return the entity's handle, or -1 if it is not registered
+     */
+    public int handleOf(T entity) {
+        Integer handle = handles.get(entity);
+        return handle != null ? handle : -1;
+    }
+
+    public boolean contains(T entity) {
+        return handles.containsKey(entity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Upper bound (exclusive) of the handles handed out so far
+     */
+    public int handleLimit() {
+        return byHandle.size();
+    }
+
+    public void clear() {
+        byId.clear();
+        byHandle.clear();
+        handles.clear();
+        size = 0;
+    }
+}
@@ -0,0 +1,196 @@
+package model.levels;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import model.entity.ports.Port;
+import model.entity.systems.System;
+import model.wire.Wire;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grids over the level layout for pointer hit tests: system rectangles, port hit boxes and
+ * the bounding box of every wire segment. Entries are refreshed as systems and ports move and as
+ * bend points change, so a query only looks at the items in the cells under the query box.
+ */
+public class LayoutIndex {
+    public static final double CELL_SIZE = 64.0;
+    /** Half size of the box a port is indexed with; covers every port view's drawn bounds. */
+    public static final double PORT_HIT_HALF_SIZE = Port.SIZE;
+
+    private final Grid<System> systems = new Grid<>();
+    private final Grid<Port> ports = new Grid<>();
+    private final Grid<Wire> wires = new Grid<>();
+
+    /**
+     * Index (or re-index) a system rectangle and the hit boxes of its ports
+     */
+    public void update(System system) {
+        Point2D p = system.getPosition();
+        if (p != null) {
+            systems.put(system, Collections.singletonList(new BoundingBox(
+                p.getX() - System.WIDTH / 2, p.getY() - System.HEIGHT / 2, System.WIDTH, System.HEIGHT)));
+        }
+        for (Port port : system.getInPorts()) update(port);
+        for (Port port : system.getOutPorts()) update(port);
+    }
+
+    public void update(Port port) {
+        Point2D p = port.getPosition();
+        if (p == null) return;
+        ports.put(port, Collections.singletonList(new BoundingBox(
+            p.getX() - PORT_HIT_HALF_SIZE, p.getY() - PORT_HIT_HALF_SIZE,
+            2 * PORT_HIT_HALF_SIZE, 2 * PORT_HIT_HALF_SIZE)));
+        if (port.getWire() != null) update(port.getWire());
+    }
+
+    /**
+     * Start indexing a connected wire
+     */
+    public void addWire(Wire wire) {
+        if (wire.isValid()) wires.put(wire, wire.getSegmentBounds());
+    }
+
+    public void removeWire(Wire wire) {
+        wires.remove(wire);
+    }
+
+    /**
+     * Re-index a wire after its geometry changed; wires that are not indexed are left out
+     */
+    public void update(Wire wire) {
+        if (wires.contains(wire)) addWire(wire);
+    }
+
+    /**
+     * Systems whose rectangle contains the point
+     */
+    public List<System> systemsAt(double x, double y) {
+        return systems.query(x, y, x, y);
+    }
+
+    /**
+     * Systems whose rectangle overlaps the box
+     */
+    public List<System> systemsIn(double minX, double minY, double maxX, double maxY) {
+        return systems.query(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Ports whose hit box contains the point; callers confirm against the drawn bounds
+     */
+    public List<Port> portsAt(double x, double y) {
+        return ports.query(x, y, x, y);
+    }
+
+    /**
+     * Wires with a segment whose bounding box lies within distance of the point (box test only)
+     */
+    public List<Wire> wiresNear(double x, double y, double distance) {
+        return wires.query(x - distance, y - distance, x + distance, y + distance);
+    }
+
+    public void clear() {
+        systems.clear();
+        ports.clear();
+        wires.clear();
+    }
+
+    /**
+     * Items with one or more boxes, bucketed into every cell their boxes touch
+     */
+    private static final class Grid<T> {
+        private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+        private final Map<T, Entry<T>> entries = new HashMap<>();
+        private int queryStamp = 0;
+
+        void put(T item, List<Bounds> boxes) {
+            remove(item);
+            Entry<T> entry = new Entry<>(item, boxes);
+            entries.put(item, entry);
+            for (Bounds box : boxes) {
+                for (int cx = cellOf(box.getMinX()); cx <= cellOf(box.getMaxX()); cx++) {
+                    for (int cy = cellOf(box.getMinY()); cy <= cellOf(box.getMaxY()); cy++) {
+                        List<Entry<T>> bucket = cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>());
+                        // Boxes of one item may share cells
+                        if (bucket.isEmpty() || bucket.get(bucket.size() - 1) != entry) {
+                            bucket.add(entry);
+                            entry.cells.add(key(cx, cy));
+                        }
+                    }
+                }
+            }
+        }
+
+        void remove(T item) {
+            Entry<T> entry = entries.remove(item);
+            if (entry == null) return;
+            for (long key : entry.cells) {
+                List<Entry<T>> bucket = cells.get(key);
+                if (bucket == null) continue;
+                bucket.remove(entry);
+                if (bucket.isEmpty()) cells.remove(key);
+            }
+        }
+
+        boolean contains(T item) {
+            return entries.containsKey(item);
+        }
+
+        List<T> query(double minX, double minY, double maxX, double maxY) {
+            List<T> found = new ArrayList<>();
+            int stamp = ++queryStamp;
+            for (int cx = cellOf(minX); cx <= cellOf(maxX); cx++) {
+                for (int cy = cellOf(minY); cy <= cellOf(maxY); cy++) {
+                    List<Entry<T>> bucket = cells.get(key(cx, cy));
+                    if (bucket == null) continue;
+                    for (Entry<T> entry : bucket) {
+                        if (entry.stamp == stamp) continue;
+                        entry.stamp = stamp;
+                        if (entry.overlaps(minX, minY, maxX, maxY)) found.add(entry.item);
+                    }
+                }
+            }
+            return found;
+        }
+
+        void clear() {
+            cells.clear();
+            entries.clear();
+        }
+
+        private static int cellOf(double coordinate) {
+            return (int) Math.floor(coordinate / CELL_SIZE);
+        }
+
+        private static long key(int cx, int cy) {
+            return ((long) cx << 32) ^ (cy & 0xffffffffL);
+        }
+    }
+
+    private static final class Entry<T> {
+        final T item;
+        final List<Bounds> boxes;
+        final List<Long> cells = new ArrayList<>();
+        // Last query that visited this entry, so items spanning several cells are reported once
+        int stamp;
+
+        Entry(T item, List<Bounds> boxes) {
+            this.item = item;
+            this.boxes = boxes;
+        }
+
+        boolean overlaps(double minX, double minY, double maxX, double maxY) {
+            for (Bounds box : boxes) {
+                if (box.getMinX() <= maxX && box.getMaxX() >= minX
+                    && box.getMinY() <= maxY && box.getMaxY() >= minY) return true;
+            }
+            return false;
+        }
+    }
+}
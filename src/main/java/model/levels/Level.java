@@ -2,29 +2,68 @@ package model.levels;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import model.entity.systems.System;
 import model.entity.packets.Packet;
+import model.entity.packets.PacketType;
+import model.entity.ports.Port;
+import model.logic.packet.PacketChanges;
+import model.logic.packet.PacketIndexes;
 import model.logic.state.GameState;
 import model.logic.state.LevelState;
+import model.logic.state.SimulationClock;
+import model.logic.state.SimulationRandom;
+import model.logic.system.SpyNetwork;
+import model.logic.system.SystemReadyQueue;
+import model.logic.Collision.SpatialHashGrid;
 import model.logic.Shop.AergiaLogic;
 import model.logic.Shop.EliphasLogic;
+import model.logic.Shop.WireMarkIndex;
+import model.wire.Wire;
+import service.log.Log;
 
 public class Level {
     private final GameState gameState;
     private final LevelState levelState;
     private final List<System> systems;
     private final List<Packet> packets;
+    // Lookups by id and dense handle; wires register as they are connected and detached
+    private final EntityRegistry<System> systemRegistry = new EntityRegistry<>(System::getId);
+    private final EntityRegistry<Port> portRegistry = new EntityRegistry<>(Port::getId);
+    private final EntityRegistry<Wire> wireRegistry = new EntityRegistry<>(Wire::getId);
+    // Packets added, removed or changed since the packet view last synced
+    private final PacketChanges packetChanges = new PacketChanges();
+    // Type and flag indexes over packets, kept in step with addPacket/removePacket
+    private final PacketIndexes packetIndexes = new PacketIndexes(packetChanges);
+    // Seeded randomness for all simulation decisions
+    private final SimulationRandom random = new SimulationRandom(java.lang.System.nanoTime());
+    // Simulated time; advanced by the simulation engine, read by every effect timer
+    private final SimulationClock clock = new SimulationClock();
+    // Systems with forwarding work pending, drained once per simulation step
+    private final SystemReadyQueue readyQueue = new SystemReadyQueue();
+    // Spy systems and their currently open outputs, for "exit from any spy" routing
+    private final SpyNetwork spyNetwork = new SpyNetwork();
+    // Positions of free-moving packets, rebuilt by each collision check
+    private final SpatialHashGrid packetIndex = new SpatialHashGrid();
+    // Systems, ports and connected wires for pointer hit tests, updated as the layout changes
+    private final LayoutIndex layoutIndex = new LayoutIndex();
     // Aergia state
     private int aergiaScrolls = 0;
-    private long aergiaCooldownEnd = 0L; // nanoTime
-    private java.util.List<AergiaLogic.AergiaMark> aergiaMarks = new java.util.ArrayList<>();
+    private long aergiaCooldownEnd = 0L; // clock nanos
+    private final WireMarkIndex<AergiaLogic.AergiaMark> aergiaMarks = new WireMarkIndex<>();
     
     // Sisyphus state
     private int sisyphusScrolls = 0;
 
     // Eliphas state
     private int eliphasScrolls = 0;
-    private java.util.List<EliphasLogic.EliphasMark> eliphasMarks = new java.util.ArrayList<>();
+    private final WireMarkIndex<EliphasLogic.EliphasMark> eliphasMarks = new WireMarkIndex<>();
+
+    // Bumped by purchases and layout edits the timeline cannot undo; rewinding never crosses one
+    private int historyBarrier = 0;
+
+    // Clock millis of the last generated packet; all start systems share one generation interval
+    private long lastPacketGenerationTime = 0L;
 
     public Level(int wireLength) {
         this.gameState = new GameState();
@@ -33,6 +72,33 @@ public class Level {
         this.packets = new ArrayList<>();
     }
 
+    public SimulationRandom getRandom() {
+        return random;
+    }
+
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    public SystemReadyQueue getReadyQueue() {
+        return readyQueue;
+    }
+
+    public SpyNetwork getSpyNetwork() {
+        return spyNetwork;
+    }
+
+    public SpatialHashGrid getPacketIndex() {
+        return packetIndex;
+    }
+
+    /**
+     * Reseed all random streams so the level replays deterministically
+     */
+    public void setRandomSeed(long seed) {
+        random.setSeed(seed);
+    }
+
     // Delegate to GameState
     public int getCurrentTime() {
         return gameState.getCurrentTime();
@@ -87,6 +153,13 @@ public class Level {
         return levelState.getPacketsGenerated();
     }
 
+    /**
+     * Fresh packet id, unique within the level and the same on every run with the same seed
+     */
+    public String nextPacketId() {
+        return "pkt-" + levelState.nextPacketNumber();
+    }
+
     public void incrementPacketsGenerated() {
         levelState.incrementPacketsGenerated();
     }
@@ -123,16 +196,22 @@ public class Level {
         levelState.setImpactDisabled(disabled);
     }
 
+    /**
+     * True if the level disables impact waves or an O' Atar window is still running
+     */
     public boolean isImpactDisabled() {
-        return levelState.isImpactDisabled();
+        return levelState.isImpactDisabled() || clock.nanoTime() < levelState.getImpactDisableEndNanos();
     }
 
     public void setCollisionsDisabled(boolean disabled) {
         levelState.setCollisionsDisabled(disabled);
     }
 
+    /**
+     * True if the level disables collisions or an O' Airyaman window is still running
+     */
     public boolean isCollisionsDisabled() {
-        return levelState.isCollisionsDisabled();
+        return levelState.isCollisionsDisabled() || clock.nanoTime() < levelState.getCollisionsDisableEndNanos();
     }
 
     // Container methods for systems and packets
@@ -142,23 +221,132 @@ public class Level {
 
     public void addSystem(System s) {
         systems.add(s);
+        systemRegistry.register(s);
+        for (Port port : s.getInPorts()) portRegistry.register(port);
+        for (Port port : s.getOutPorts()) portRegistry.register(port);
+        s.setSimulationRandom(random);
+        s.setReadyQueue(readyQueue);
+        s.setClock(clock);
+        s.setLayoutIndex(layoutIndex);
+        layoutIndex.update(s);
         
         // Set level reference for spy systems so they can find other spy systems
         if (s instanceof model.entity.systems.SpySystem) {
             ((model.entity.systems.SpySystem) s).setLevel(this);
+            spyNetwork.register((model.entity.systems.SpySystem) s);
         }
     }
 
+    public EntityRegistry<System> getSystemRegistry() {
+        return systemRegistry;
+    }
+
+    public EntityRegistry<Port> getPortRegistry() {
+        return portRegistry;
+    }
+
+    public EntityRegistry<Wire> getWireRegistry() {
+        return wireRegistry;
+    }
+
+    public System getSystemById(String id) {
+        return systemRegistry.get(id);
+    }
+
+    public Port getPortById(String id) {
+        return portRegistry.get(id);
+    }
+
+    public Wire getWireById(String id) {
+        return wireRegistry.get(id);
+    }
+
+    public LayoutIndex getLayoutIndex() {
+        return layoutIndex;
+    }
+
+    public void registerWire(Wire wire) {
+        wireRegistry.register(wire);
+        layoutIndex.addWire(wire);
+    }
+
+    public void unregisterWire(Wire wire) {
+        wireRegistry.unregister(wire);
+        layoutIndex.removeWire(wire);
+    }
+
+    /**
+     * Live packet list; add and remove through {@link #addPacket}/{@link #removePacket} so the
+     * indexes stay in step
+     */
     public List<Packet> getPackets() {
         return packets;
     }
 
     public void addPacket(Packet p) {
+        if (packetIndexes.contains(p)) return;
         packets.add(p);
+        packetIndexes.add(p);
+        packetChanges.packetAdded(p);
     }
 
     public void removePacket(Packet p) {
+        if (!packetIndexes.contains(p)) return;
         packets.remove(p);
+        packetIndexes.remove(p);
+        packetChanges.packetRemoved(p);
+    }
+
+    public void clearPackets() {
+        for (Packet p : packets) packetChanges.packetRemoved(p);
+        packets.clear();
+        packetIndexes.clear();
+    }
+
+    /**
+     * Packets added, removed or changed since the view last drained them
+     */
+    public PacketChanges getPacketChanges() {
+        return packetChanges;
+    }
+
+    public boolean containsPacket(Packet p) {
+        return packetIndexes.contains(p);
+    }
+
+    public Set<Packet> getPacketsOfType(PacketType type) {
+        return packetIndexes.ofType(type);
+    }
+
+    public Set<Packet> getTrojanPackets() {
+        return packetIndexes.trojans();
+    }
+
+    public Set<Packet> getMovingPackets() {
+        return packetIndexes.moving();
+    }
+
+    public Set<Packet> getPacketsInSystem() {
+        return packetIndexes.inSystem();
+    }
+
+    /**
+     * Record that something was bought or the layout changed, so earlier history can no longer be restored
+     */
+    public void markHistoryBarrier() {
+        historyBarrier++;
+    }
+
+    public int getHistoryBarrier() {
+        return historyBarrier;
+    }
+
+    public long getLastPacketGenerationTime() {
+        return lastPacketGenerationTime;
+    }
+
+    public void setLastPacketGenerationTime(long time) {
+        this.lastPacketGenerationTime = time;
     }
 
     // Getter methods for state objects (for advanced usage)
@@ -174,19 +362,16 @@ public class Level {
     public int getAergiaScrolls() { return aergiaScrolls; }
     public void addAergiaScrolls(int delta) { aergiaScrolls = Math.max(0, aergiaScrolls + delta); }
     public boolean isAergiaOnCooldown() { 
-        long now = java.lang.System.nanoTime();
+        long now = clock.nanoTime();
         boolean onCooldown = now < aergiaCooldownEnd;
         // Debug log occasionally to reduce spam
-        if (Math.random() < 0.01) {
-            java.lang.System.out.println("DEBUG: isAergiaOnCooldown - now: " + now + ", cooldownEnd: " + aergiaCooldownEnd + 
-                ", onCooldown: " + onCooldown + ", remaining: " + Math.max(0, (aergiaCooldownEnd - now) / 1_000_000_000.0) + "s");
-        }
+        Log.debugLimited("Level.aergiaCooldown", 1000, () -> "isAergiaOnCooldown - now: " + now + ", cooldownEnd: " + aergiaCooldownEnd + 
+            ", onCooldown: " + onCooldown + ", remaining: " + Math.max(0, (aergiaCooldownEnd - now) / 1_000_000_000.0) + "s");
         return onCooldown;
     }
     public long getAergiaCooldownEnd() { return aergiaCooldownEnd; }
     public void setAergiaCooldownEnd(long nanoTime) { this.aergiaCooldownEnd = nanoTime; }
-    public java.util.List<AergiaLogic.AergiaMark> getAergiaMarks() { return aergiaMarks; }
-    public void setAergiaMarks(java.util.List<AergiaLogic.AergiaMark> marks) { this.aergiaMarks = marks; }
+    public WireMarkIndex<AergiaLogic.AergiaMark> getAergiaMarks() { return aergiaMarks; }
     
     // === Sisyphus inventory ===
     public int getSisyphusScrolls() { return sisyphusScrolls; }
@@ -195,6 +380,5 @@ public class Level {
     // === Eliphas inventory/marks ===
     public int getEliphasScrolls() { return eliphasScrolls; }
     public void addEliphasScrolls(int delta) { eliphasScrolls = Math.max(0, eliphasScrolls + delta); }
-    public java.util.List<EliphasLogic.EliphasMark> getEliphasMarks() { return eliphasMarks; }
-    public void setEliphasMarks(java.util.List<EliphasLogic.EliphasMark> marks) { this.eliphasMarks = marks; }
+    public WireMarkIndex<EliphasLogic.EliphasMark> getEliphasMarks() { return eliphasMarks; }
 } 
\ No newline at end of file
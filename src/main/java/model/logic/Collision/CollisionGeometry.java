@@ -0,0 +1,193 @@
+package model.logic.Collision;
+
+import java.util.EnumMap;
+import java.util.Map;
+import model.entity.packets.Packet;
+import model.entity.packets.PacketType;
+
+/**
+ * Pure-math narrow phase for packet collisions.
+ * Each PacketType has a precomputed unit shape (circle or convex polygon, centred on the origin)
+ * matching its getCollisionShape(); tests translate those offsets by the packet position
+ * without allocating. Like Shape.intersect with a non-empty area check, shapes that only
+ * touch along an edge do not count as intersecting.
+ */
+public final class CollisionGeometry {
+    private static final Map<PacketType, UnitShape> SHAPES = new EnumMap<>(PacketType.class);
+
+    static {
+        double sq3 = Math.sqrt(3);
+        SHAPES.put(PacketType.SQUARE, UnitShape.box(7.0));
+        SHAPES.put(PacketType.TRIANGLE, UnitShape.polygon(
+            new double[]{0, -8, 8},
+            new double[]{-16 / sq3, 16 / (2 * sq3), 16 / (2 * sq3)}));
+        SHAPES.put(PacketType.HEXAGON, UnitShape.regular(6, 8.0, 0.0));
+        SHAPES.put(PacketType.PROTECTED, UnitShape.polygon(
+            new double[]{0, 8, 0, -8},
+            new double[]{-8, 0, 8, 0}));
+        UnitShape pentagon = UnitShape.polygon(
+            new double[]{0, 8 * 0.951, 8 * 0.588, -8 * 0.588, -8 * 0.951},
+            new double[]{-8, -8 * 0.309, 8 * 0.809, 8 * 0.809, -8 * 0.309});
+        SHAPES.put(PacketType.CONFIDENTIAL_TYPE1, pentagon);
+        SHAPES.put(PacketType.CONFIDENTIAL_TYPE2, pentagon);
+        SHAPES.put(PacketType.MASSIVE_TYPE1, UnitShape.circle(8.0));
+        SHAPES.put(PacketType.MASSIVE_TYPE2, UnitShape.circle(8.0));
+        SHAPES.put(PacketType.BIT_CIRCLE, UnitShape.circle(6.0));
+        SHAPES.put(PacketType.BIT_RECT, UnitShape.box(6.0));
+    }
+
+    private CollisionGeometry() {}
+
+    /**
+     * True if the collision shapes of both packets overlap with positive area.
+     */
+    public static boolean intersects(Packet a, Packet b) {
+        if (a.getPosition() == null || b.getPosition() == null) return false;
+        UnitShape sa = SHAPES.get(a.getType());
+        UnitShape sb = SHAPES.get(b.getType());
+        if (sa == null || sb == null) return false;
+        double ax = a.getPosition().getX(), ay = a.getPosition().getY();
+        double bx = b.getPosition().getX(), by = b.getPosition().getY();
+
+        // Bounding circle early-out
+        double dx = bx - ax, dy = by - ay;
+        double reach = sa.boundingRadius + sb.boundingRadius;
+        if (dx * dx + dy * dy >= reach * reach) return false;
+
+        if (sa.isCircle() && sb.isCircle()) {
+            return circleCircle(ax, ay, sa.radius, bx, by, sb.radius);
+        }
+        if (sa.isCircle()) {
+            return circlePolygon(ax, ay, sa.radius, sb, bx, by);
+        }
+        if (sb.isCircle()) {
+            return circlePolygon(bx, by, sb.radius, sa, ax, ay);
+        }
+        return polygonPolygon(sa, ax, ay, sb, bx, by);
+    }
+
+    /**
+     * Radius of the smallest origin-centred circle enclosing the given type's shape.
+     */
+    public static double getBoundingRadius(PacketType type) {
+        UnitShape s = SHAPES.get(type);
+        return s != null ? s.boundingRadius : Packet.SIZE / 2.0;
+    }
+
+    static boolean circleCircle(double ax, double ay, double ar, double bx, double by, double br) {
+        double dx = bx - ax, dy = by - ay;
+        double r = ar + br;
+        return dx * dx + dy * dy < r * r;
+    }
+
+    static boolean circlePolygon(double cx, double cy, double r, UnitShape poly, double px, double py) {
+        // Work in the polygon's local frame
+        double lx = cx - px, ly = cy - py;
+        if (containsLocal(poly, lx, ly)) return true;
+        double rr = r * r;
+        int n = poly.xs.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double x1 = poly.xs[j], y1 = poly.ys[j];
+            double ex = poly.xs[i] - x1, ey = poly.ys[i] - y1;
+            double len2 = ex * ex + ey * ey;
+            double t = len2 > 0 ? ((lx - x1) * ex + (ly - y1) * ey) / len2 : 0.0;
+            if (t < 0) t = 0; else if (t > 1) t = 1;
+            double qx = x1 + t * ex - lx, qy = y1 + t * ey - ly;
+            if (qx * qx + qy * qy < rr) return true;
+        }
+        return false;
+    }
+
+    static boolean polygonPolygon(UnitShape a, double ax, double ay, UnitShape b, double bx, double by) {
+        // Separating axis theorem; offset b into a's frame
+        double ox = bx - ax, oy = by - ay;
+        return !hasSeparatingAxis(a, b, ox, oy) && !hasSeparatingAxis(b, a, -ox, -oy);
+    }
+
+    /**
+     * Test the edge normals of {@code axes} as separating axes. {@code other} is offset by (ox, oy).
+     */
+    private static boolean hasSeparatingAxis(UnitShape axes, UnitShape other, double ox, double oy) {
+        int n = axes.xs.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double nx = -(axes.ys[i] - axes.ys[j]);
+            double ny = axes.xs[i] - axes.xs[j];
+
+            double minA = Double.POSITIVE_INFINITY, maxA = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < axes.xs.length; k++) {
+                double p = axes.xs[k] * nx + axes.ys[k] * ny;
+                if (p < minA) minA = p;
+                if (p > maxA) maxA = p;
+            }
+            double minB = Double.POSITIVE_INFINITY, maxB = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < other.xs.length; k++) {
+                double p = (other.xs[k] + ox) * nx + (other.ys[k] + oy) * ny;
+                if (p < minB) minB = p;
+                if (p > maxB) maxB = p;
+            }
+            if (maxA <= minB || maxB <= minA) return true;
+        }
+        return false;
+    }
+
+    private static boolean containsLocal(UnitShape poly, double x, double y) {
+        boolean inside = false;
+        int n = poly.xs.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double yi = poly.ys[i], yj = poly.ys[j];
+            if ((yi > y) != (yj > y)) {
+                double xCross = poly.xs[j] + (y - yj) * (poly.xs[i] - poly.xs[j]) / (yi - yj);
+                if (x < xCross) inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Origin-centred collision shape: a circle when radius > 0, otherwise a convex polygon.
+     */
+    static final class UnitShape {
+        final double radius;
+        final double[] xs;
+        final double[] ys;
+        final double boundingRadius;
+
+        private UnitShape(double radius, double[] xs, double[] ys) {
+            this.radius = radius;
+            this.xs = xs;
+            this.ys = ys;
+            double b = radius;
+            for (int i = 0; i < xs.length; i++) {
+                b = Math.max(b, Math.hypot(xs[i], ys[i]));
+            }
+            this.boundingRadius = b;
+        }
+
+        boolean isCircle() {
+            return radius > 0;
+        }
+
+        static UnitShape circle(double radius) {
+            return new UnitShape(radius, new double[0], new double[0]);
+        }
+
+        static UnitShape polygon(double[] xs, double[] ys) {
+            return new UnitShape(0.0, xs, ys);
+        }
+
+        static UnitShape box(double half) {
+            return polygon(new double[]{-half, half, half, -half}, new double[]{-half, -half, half, half});
+        }
+
+        static UnitShape regular(int sides, double radius, double startAngle) {
+            double[] xs = new double[sides];
+            double[] ys = new double[sides];
+            for (int i = 0; i < sides; i++) {
+                double angle = startAngle + i * 2 * Math.PI / sides;
+                xs[i] = radius * Math.cos(angle);
+                ys[i] = radius * Math.sin(angle);
+            }
+            return polygon(xs, ys);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package model.logic.Collision;
+
+/**
+ * Open-addressing set of packet-pair contacts keyed by a packed long (two packet handles).
+ * Each entry carries the generation (tick) in which the pair was last seen touching;
+ * entries not refreshed in the previous generation count as gone and are dropped on resize,
+ * so separating pairs never need an explicit remove.
+ */
+public class ContactSet {
+    private static final long EMPTY = 0L;
+    private static final float MAX_LOAD = 0.5f;
+
+    private long[] keys;
+    private int[] stamps;
+    private int size = 0;
+    private int generation = 1;
+
+    public ContactSet() {
+        this(64);
+    }
+
+    public ContactSet(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity) - 1) << 1;
+        keys = new long[capacity];
+        stamps = new int[capacity];
+    }
+
+    /**
+     * Pack two positive handles into an order-independent key.
+     */
+    public static long pairKey(int handleA, int handleB) {
+        int lo = Math.min(handleA, handleB);
+        int hi = Math.max(handleA, handleB);
+        return ((long) lo << 32) | (hi & 0xffffffffL);
+    }
+
+    /**
+     * Start a new tick. Contacts not touched during this tick expire at the next one.
+     */
+    public void nextGeneration() {
+        generation++;
+    }
+
+    /**
+     * Record that the pair is touching in the current generation.
+     * @return true if this is a new contact (it was not touching in the previous generation)
+     */
+    public boolean touch(long key) {
+        int slot = find(key);
+        if (keys[slot] == key) {
+            boolean isNew = stamps[slot] < generation - 1;
+            stamps[slot] = generation;
+            return isNew;
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            rehash();
+            slot = find(key);
+        }
+        keys[slot] = key;
+        stamps[slot] = generation;
+        size++;
+        return true;
+    }
+
+    /**
+     * True if the pair was touching in the previous or current generation.
+     */
+    public boolean isActive(long key) {
+        int slot = find(key);
+        return keys[slot] == key && stamps[slot] >= generation - 1;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Rebuild the table keeping only live contacts; grow if it is still crowded.
+     */
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldStamps = stamps;
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldStamps[i] >= generation - 1) live++;
+        }
+        int capacity = oldKeys.length;
+        while (live + 1 > capacity * MAX_LOAD / 2) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        stamps = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldStamps[i] >= generation - 1) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                stamps[slot] = oldStamps[i];
+                size++;
+            }
+        }
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,183 @@
+package model.logic.Collision;
+
+import model.entity.packets.Packet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Uniform grid over the level's free-moving packets, rebuilt once per collision check.
+ * Cell size is Packet.SIZE: every packet collision shape fits inside a circle of radius
+ * SIZE / 2, so two packets can only touch if they sit in the same or neighbouring cells.
+ * Also answers radius queries (impact waves) without touching packets far from the centre.
+ */
+public class SpatialHashGrid {
+    public static final double CELL_SIZE = Packet.SIZE;
+    private static final int NONE = -1;
+
+    private final List<Packet> packets = new ArrayList<>();
+    // Per indexed packet: its cell and the next packet in the same cell, in insertion order
+    private int[] cellX = new int[64];
+    private int[] cellY = new int[64];
+    private int[] next = new int[64];
+
+    // Open-addressed table from cell key to the first and last packet in that cell. A slot is
+    // occupied only while its stamp equals the current generation, so a rebuild empties it in O(1).
+    private long[] cellKeys = new long[128];
+    private int[] cellHeads = new int[128];
+    private int[] cellTails = new int[128];
+    private int[] cellStamps = new int[128];
+    private int generation = 0;
+
+    /**
+     * Rebuild the grid from the given packets. Packets inside systems are skipped.
+     * All storage is primitive arrays reused between rebuilds, so a rebuild allocates nothing
+     * once the arrays have grown to the packet count.
+     */
+    public void rebuild(List<Packet> source) {
+        packets.clear();
+        for (Packet p : source) {
+            if (p.isInSystem() || p.getPosition() == null) continue;
+            packets.add(p);
+        }
+        int count = packets.size();
+        ensureCapacity(count);
+        nextGeneration();
+
+        for (int i = 0; i < count; i++) {
+            Packet p = packets.get(i);
+            int cx = cellOf(p.getPosition().getX());
+            int cy = cellOf(p.getPosition().getY());
+            cellX[i] = cx;
+            cellY[i] = cy;
+            next[i] = NONE;
+            int slot = slotFor(key(cx, cy));
+            if (cellStamps[slot] != generation) {
+                cellStamps[slot] = generation;
+                cellKeys[slot] = key(cx, cy);
+                cellHeads[slot] = i;
+            } else {
+                next[cellTails[slot]] = i;
+            }
+            cellTails[slot] = i;
+        }
+    }
+
+    /**
+     * Visit every candidate pair once: packets in the same cell or in one of the eight
+     * neighbouring cells. Pairs are reported with the earlier-inserted packet first.
+     */
+    public void forEachCandidatePair(PairVisitor visitor) {
+        for (int i = 0; i < packets.size(); i++) {
+            Packet p1 = packets.get(i);
+            int cx = cellX[i];
+            int cy = cellY[i];
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int j = headOf(cx + dx, cy + dy); j != NONE; j = next[j]) {
+                        if (j <= i) continue;
+                        visitor.visit(p1, packets.get(j));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Visit every indexed packet whose centre lies within radius of (x, y).
+     * Large radii over a sparse grid fall back to scanning the indexed list, whichever is cheaper.
+     */
+    public void forEachWithin(double x, double y, double radius, Consumer<Packet> visitor) {
+        double radiusSq = radius * radius;
+        int minCx = cellOf(x - radius), maxCx = cellOf(x + radius);
+        int minCy = cellOf(y - radius), maxCy = cellOf(y + radius);
+        long cellCount = (long) (maxCx - minCx + 1) * (maxCy - minCy + 1);
+        if (cellCount > packets.size()) {
+            for (int i = 0; i < packets.size(); i++) {
+                visitIfWithin(packets.get(i), x, y, radiusSq, visitor);
+            }
+            return;
+        }
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                for (int j = headOf(cx, cy); j != NONE; j = next[j]) {
+                    visitIfWithin(packets.get(j), x, y, radiusSq, visitor);
+                }
+            }
+        }
+    }
+
+    private static void visitIfWithin(Packet p, double x, double y, double radiusSq, Consumer<Packet> visitor) {
+        double dx = p.getPosition().getX() - x;
+        double dy = p.getPosition().getY() - y;
+        if (dx * dx + dy * dy <= radiusSq) {
+            visitor.accept(p);
+        }
+    }
+
+    public int size() {
+        return packets.size();
+    }
+
+    /**
+     * Grow the per-packet arrays to hold count packets and the cell table to stay at most half full
+     */
+    private void ensureCapacity(int count) {
+        if (count > next.length) {
+            int capacity = Math.max(count, next.length * 2);
+            cellX = new int[capacity];
+            cellY = new int[capacity];
+            next = new int[capacity];
+        }
+        if (count * 2 > cellKeys.length) {
+            int capacity = Integer.highestOneBit(count * 2) << 1;
+            cellKeys = new long[capacity];
+            cellHeads = new int[capacity];
+            cellTails = new int[capacity];
+            cellStamps = new int[capacity];
+        }
+    }
+
+    private void nextGeneration() {
+        if (generation == Integer.MAX_VALUE) {
+            java.util.Arrays.fill(cellStamps, 0);
+            generation = 0;
+        }
+        generation++;
+    }
+
+    /**
+     * Slot holding the cell key, or the free slot where it would go
+     */
+    private int slotFor(long key) {
+        int mask = cellKeys.length - 1;
+        int slot = (int) ContactSet.mix(key) & mask;
+        while (cellStamps[slot] == generation && cellKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * First packet index in the cell, or NONE if the cell is empty
+     */
+    private int headOf(int cx, int cy) {
+        int slot = slotFor(key(cx, cy));
+        return cellStamps[slot] == generation ? cellHeads[slot] : NONE;
+    }
+
+    private static int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) ^ (cy & 0xffffffffL);
+    }
+
+    /**
+     * Callback for candidate pairs produced by the broad phase
+     */
+    public interface PairVisitor {
+        void visit(Packet p1, Packet p2);
+    }
+}
@@ -2,6 +2,7 @@ package model.logic.Shop;
 
 import model.levels.Level;
 import model.wire.Wire;
+import service.log.Log;
 
 /**
  * Core logic for Eliphas effects and mark placement.
@@ -16,16 +17,20 @@ public final class EliphasLogic {
     /**
      * Eliphas mark data kept in the level to inform movement logic.
      */
-    public static class EliphasMark {
+    public static class EliphasMark implements WireMark {
         public final Wire wire;
         public final double progress; // 0..1 along the wire
-        public final long effectEndNanos; // absolute nano time when effect ends
+        public final long effectEndNanos; // simulation clock nanos when effect ends
 
         public EliphasMark(Wire wire, double progress, long effectEndNanos) {
             this.wire = wire;
             this.progress = progress;
             this.effectEndNanos = effectEndNanos;
         }
+
+        @Override public Wire getWire() { return wire; }
+        @Override public double getProgress() { return progress; }
+        @Override public long getEffectEndNanos() { return effectEndNanos; }
     }
 
     /**
@@ -33,25 +38,20 @@ public final class EliphasLogic {
      */
     public static void addMark(Level level, Wire wire, double progress) {
         if (level == null || wire == null) return;
-        long now = java.lang.System.nanoTime();
+        long now = level.getClock().nanoTime();
         long effectEnd = now + EFFECT_DURATION_NANOS;
         level.getEliphasMarks().add(new EliphasMark(wire, progress, effectEnd));
-        java.lang.System.out.println("DEBUG: ELIPHAS addMark() → wire=" + wire.getId() +
-            ", progress=" + String.format("%.3f", progress) + 
+        Log.debug("EliphasLogic", () -> "ELIPHAS addMark() → wire=" + wire.getId() +
+            ", progress=" + progress + 
             ", effectEnd=" + effectEnd);
     }
 
     /**
-     * Remove expired Eliphas marks to keep the list small.
+     * Remove expired Eliphas marks to keep the index small.
      */
     public static void pruneExpiredMarks(Level level) {
         if (level == null) return;
-        long now = java.lang.System.nanoTime();
-        java.util.List<EliphasMark> toKeep = new java.util.ArrayList<>();
-        for (EliphasMark m : level.getEliphasMarks()) {
-            if (m.effectEndNanos > now) toKeep.add(m);
-        }
-        level.setEliphasMarks(toKeep);
+        level.getEliphasMarks().pruneExpired(level.getClock().nanoTime());
     }
 }
 
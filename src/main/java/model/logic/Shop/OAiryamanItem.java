@@ -1,7 +1,5 @@
 package model.logic.Shop;
 
-import javafx.animation.PauseTransition;
-import javafx.util.Duration;
 import model.levels.Level;
 
 public class OAiryamanItem implements ShopItem {
@@ -15,17 +13,7 @@ public class OAiryamanItem implements ShopItem {
     public void apply(Level level) {
         System.out.println("DEBUG: OAiryamanItem.apply() - Disabling collisions for " + getDurationSeconds() + " seconds");
         System.out.println("DEBUG: OAiryamanItem.apply() - Collisions disabled before: " + level.isCollisionsDisabled());
-        level.setCollisionsDisabled(true);
-        level.getLevelState().setCollisionsDisableEndNanos(java.lang.System.nanoTime() + getDurationSeconds() * 1_000_000_000L);
+        level.getLevelState().setCollisionsDisableEndNanos(level.getClock().nanoTime() + getDurationSeconds() * 1_000_000_000L);
         System.out.println("DEBUG: OAiryamanItem.apply() - Collisions disabled after: " + level.isCollisionsDisabled());
-        
-        PauseTransition delay = new PauseTransition(Duration.seconds(getDurationSeconds()));
-        delay.setOnFinished(event -> {
-            level.setCollisionsDisabled(false);
-            level.getLevelState().setCollisionsDisableEndNanos(0L);
-            System.out.println("DEBUG: OAiryamanItem - Collisions re-enabled after " + getDurationSeconds() + " seconds");
-            System.out.println("DEBUG: OAiryamanItem - Collisions disabled now: " + level.isCollisionsDisabled());
-        });
-        delay.play();
     }
 } 
\ No newline at end of file
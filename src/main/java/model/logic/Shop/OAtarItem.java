@@ -1,7 +1,5 @@
 package model.logic.Shop;
 
-import javafx.animation.PauseTransition;
-import javafx.util.Duration;
 import model.levels.Level;
 
 public class OAtarItem implements ShopItem {
@@ -15,17 +13,7 @@ public class OAtarItem implements ShopItem {
     public void apply(Level level) {
         System.out.println("DEBUG: OAtarItem.apply() - Disabling impact waves for " + getDurationSeconds() + " seconds");
         System.out.println("DEBUG: OAtarItem.apply() - Impact disabled before: " + level.isImpactDisabled());
-        level.setImpactDisabled(true);
-        level.getLevelState().setImpactDisableEndNanos(java.lang.System.nanoTime() + getDurationSeconds() * 1_000_000_000L);
+        level.getLevelState().setImpactDisableEndNanos(level.getClock().nanoTime() + getDurationSeconds() * 1_000_000_000L);
         System.out.println("DEBUG: OAtarItem.apply() - Impact disabled after: " + level.isImpactDisabled());
-        
-        PauseTransition delay = new PauseTransition(Duration.seconds(getDurationSeconds()));
-        delay.setOnFinished(event -> {
-            level.setImpactDisabled(false);
-            level.getLevelState().setImpactDisableEndNanos(0L);
-            System.out.println("DEBUG: OAtarItem - Impact waves re-enabled after " + getDurationSeconds() + " seconds");
-            System.out.println("DEBUG: OAtarItem - Impact disabled now: " + level.isImpactDisabled());
-        });
-        delay.play();
     }
 } 
\ No newline at end of file
@@ -9,6 +9,7 @@ import model.wire.Wire;
 
 import java.util.List;
 import java.util.ArrayList;
+import service.log.Log;
 
 /**
  * Core logic for Sisyphus system movement functionality.
@@ -45,19 +46,19 @@ public final class SisyphusLogic {
         // Check movement radius constraint
         double distance = originalPosition.distance(newPosition);
         if (distance > MOVEMENT_RADIUS) {
-            java.lang.System.out.println("DEBUG: SisyphusLogic - Movement exceeds radius: " + distance + " > " + MOVEMENT_RADIUS);
+            Log.debug("SisyphusLogic", () -> "SisyphusLogic - Movement exceeds radius: " + distance + " > " + MOVEMENT_RADIUS);
             return false;
         }
         
         // Check if the new position would cause wire length to exceed available length
         if (!isWireLengthValid(level, system, newPosition)) {
-            java.lang.System.out.println("DEBUG: SisyphusLogic - Wire length would exceed available");
+            Log.debug("SisyphusLogic", () -> "SisyphusLogic - Wire length would exceed available");
             return false;
         }
         
         // Check if wires would pass through other systems
         if (wouldWiresIntersectSystems(level, system, newPosition)) {
-            java.lang.System.out.println("DEBUG: SisyphusLogic - Wires would intersect with other systems");
+            Log.debug("SisyphusLogic", () -> "SisyphusLogic - Wires would intersect with other systems");
             return false;
         }
         
@@ -89,16 +90,9 @@ public final class SisyphusLogic {
      */
     private static boolean wouldWiresIntersectSystems(Level level, System movingSystem, Point2D newPosition) {
         List<Wire> connectedWires = getConnectedWires(level, movingSystem);
-        List<System> otherSystems = new ArrayList<>();
-        
-        for (System sys : level.getSystems()) {
-            if (sys != movingSystem) {
-                otherSystems.add(sys);
-            }
-        }
         
         for (Wire wire : connectedWires) {
-            if (wireWouldIntersectSystems(wire, movingSystem, newPosition, otherSystems)) {
+            if (wireWouldIntersectSystems(level, wire, movingSystem, newPosition)) {
                 return true;
             }
         }
@@ -109,7 +103,7 @@ public final class SisyphusLogic {
     /**
      * Check if a specific wire would intersect with any system after movement
      */
-    private static boolean wireWouldIntersectSystems(Wire wire, System movingSystem, Point2D newPosition, List<System> otherSystems) {
+    private static boolean wireWouldIntersectSystems(Level level, Wire wire, System movingSystem, Point2D newPosition) {
         Point2D sourcePos, destPos;
         
         // Determine new wire endpoints
@@ -135,9 +129,12 @@ public final class SisyphusLogic {
         System sourceSystem = wire.getSource().getSystem();
         System destSystem = wire.getDest().getSystem();
 
-        // Check intersection with each other (non-endpoint) system
-        for (System system : otherSystems) {
-            if (system == sourceSystem || system == destSystem) continue;
+        // Check intersection with each other (non-endpoint) system whose rectangle meets the segment's box
+        List<System> nearby = level.getLayoutIndex().systemsIn(
+            Math.min(sourcePos.getX(), destPos.getX()), Math.min(sourcePos.getY(), destPos.getY()),
+            Math.max(sourcePos.getX(), destPos.getX()), Math.max(sourcePos.getY(), destPos.getY()));
+        for (System system : nearby) {
+            if (system == movingSystem || system == sourceSystem || system == destSystem) continue;
             if (lineIntersectsRectangle(sourcePos, destPos, system.getPosition(), System.WIDTH, System.HEIGHT)) {
                 return true;
             }
@@ -281,9 +278,12 @@ public final class SisyphusLogic {
         
         // Update wire length tracking
         level.subtractWireLength(totalLengthChange);
+        // System positions are not part of the timeline
+        level.markHistoryBarrier();
         
-        java.lang.System.out.println("DEBUG: SisyphusLogic - System moved successfully. Wire length change: " + totalLengthChange);
-        java.lang.System.out.println("DEBUG: SisyphusLogic - Remaining wire length: " + level.getRemainingWireLength());
+        final double lengthChange = totalLengthChange;
+        Log.debug("SisyphusLogic", () -> "SisyphusLogic - System moved successfully. Wire length change: " + lengthChange);
+        Log.debug("SisyphusLogic", () -> "SisyphusLogic - Remaining wire length: " + level.getRemainingWireLength());
         
         return true;
     }
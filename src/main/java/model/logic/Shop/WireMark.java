@@ -0,0 +1,16 @@
+package model.logic.Shop;
+
+import model.wire.Wire;
+
+/**
+ * A timed effect placed at a point along a wire (Aergia, Eliphas).
+ */
+public interface WireMark {
+    Wire getWire();
+
+    /** Position along the wire, 0..1 */
+    double getProgress();
+
+    /** Simulation clock nanos when the effect ends */
+    long getEffectEndNanos();
+}
@@ -0,0 +1,157 @@
+package model.logic.Shop;
+
+import model.wire.Wire;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Active marks of one kind, grouped by wire and kept sorted by progress.
+ * Movement code asks for the furthest mark a packet has passed on its wire with a binary search,
+ * and expired marks are dropped by the index itself, so lookups never see them.
+ */
+public class WireMarkIndex<M extends WireMark> extends AbstractCollection<M> {
+    private final Map<Wire, WireMarks<M>> byWire = new HashMap<>();
+    private int size = 0;
+
+    /**
+     * Insert a mark at its sorted position on its wire
+     */
+    @Override
+    public boolean add(M mark) {
+        byWire.computeIfAbsent(mark.getWire(), w -> new WireMarks<>()).insert(mark);
+        size++;
+        return true;
+    }
+
+    /**
+     * Furthest active mark on the wire at or behind the given progress, or null if the packet
+     * has not passed any
+     */
+    public M findPassed(Wire wire, double progress, long now) {
+        WireMarks<M> marks = byWire.get(wire);
+        if (marks == null) return null;
+        if (now >= marks.nextExpiry) {
+            size -= marks.prune(now, null);
+            if (marks.list.isEmpty()) {
+                byWire.remove(wire);
+                return null;
+            }
+        }
+        int i = marks.lastAtOrBefore(progress);
+        return i >= 0 ? marks.list.get(i) : null;
+    }
+
+    /**
+     * Drop every mark whose effect has ended
+     * @return the marks that were removed
+     */
+    public List<M> pruneExpired(long now) {
+        List<M> removed = new ArrayList<>();
+        Iterator<WireMarks<M>> it = byWire.values().iterator();
+        while (it.hasNext()) {
+            WireMarks<M> marks = it.next();
+            if (now < marks.nextExpiry) continue;
+            size -= marks.prune(now, removed);
+            if (marks.list.isEmpty()) it.remove();
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        byWire.clear();
+        size = 0;
+    }
+
+    /**
+     * Live iterator over every wire's marks. Its remove() updates the wire's bucket, so the
+     * inherited remove, removeIf, removeAll and retainAll keep the index consistent.
+     */
+    @Override
+    public Iterator<M> iterator() {
+        return new Iterator<M>() {
+            private final Iterator<WireMarks<M>> wires = byWire.values().iterator();
+            private Iterator<M> marks = java.util.Collections.emptyIterator();
+            private Iterator<M> last;
+
+            @Override
+            public boolean hasNext() {
+                while (!marks.hasNext() && wires.hasNext()) {
+                    marks = wires.next().list.iterator();
+                }
+                return marks.hasNext();
+            }
+
+            @Override
+            public M next() {
+                if (!hasNext()) throw new java.util.NoSuchElementException();
+                last = marks;
+                return marks.next();
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) throw new IllegalStateException();
+                last.remove();
+                last = null;
+                size--;
+                // The wire keeps its nextExpiry, so the next prune drops the bucket if it is now empty
+            }
+        };
+    }
+
+    private static final class WireMarks<M extends WireMark> {
+        final List<M> list = new ArrayList<>();
+        long nextExpiry = Long.MAX_VALUE;
+
+        void insert(M mark) {
+            int i = lastAtOrBefore(mark.getProgress()) + 1;
+            list.add(i, mark);
+            nextExpiry = Math.min(nextExpiry, mark.getEffectEndNanos());
+        }
+
+        /** Index of the last mark with progress <= p, or -1 */
+        int lastAtOrBefore(double p) {
+            int lo = 0;
+            int hi = list.size() - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (list.get(mid).getProgress() <= p) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        int prune(long now, List<M> removed) {
+            int before = list.size();
+            long earliest = Long.MAX_VALUE;
+            Iterator<M> it = list.iterator();
+            while (it.hasNext()) {
+                M mark = it.next();
+                if (mark.getEffectEndNanos() <= now) {
+                    it.remove();
+                    if (removed != null) removed.add(mark);
+                } else {
+                    earliest = Math.min(earliest, mark.getEffectEndNanos());
+                }
+            }
+            nextExpiry = earliest;
+            return before - list.size();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package model.logic.packet;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import model.entity.packets.Packet;
+
+/**
+ * Packets added to, removed from or changed in a level since the view last drained them.
+ * Nothing is recorded until a view starts tracking, so headless runs keep no change history.
+ * A packet counts as changed when its dirty bits go from clear to set; the reader consumes the
+ * bits while draining, which re-arms the notification.
+ */
+public class PacketChanges {
+    private final Set<Packet> added = new LinkedHashSet<>();
+    private final Set<Packet> removed = new LinkedHashSet<>();
+    private final Set<Packet> changed = new LinkedHashSet<>();
+    private boolean tracking = false;
+
+    /**
+     * Start recording; the given packets (the level's current ones) are reported as added
+     */
+    public void track(Collection<Packet> current) {
+        tracking = true;
+        clear();
+        added.addAll(current);
+    }
+
+    public void packetAdded(Packet packet) {
+        if (!tracking) return;
+        removed.remove(packet);
+        added.add(packet);
+    }
+
+    public void packetRemoved(Packet packet) {
+        if (!tracking) return;
+        added.remove(packet);
+        changed.remove(packet);
+        removed.add(packet);
+    }
+
+    public void packetChanged(Packet packet) {
+        if (!tracking) return;
+        changed.add(packet);
+    }
+
+    /** Packets that left the level; apply before {@link #added()} */
+    public Set<Packet> removed() {
+        return removed;
+    }
+
+    public Set<Packet> added() {
+        return added;
+    }
+
+    public Set<Packet> changed() {
+        return changed;
+    }
+
+    public void clear() {
+        added.clear();
+        removed.clear();
+        changed.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package model.logic.packet;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import model.entity.packets.Packet;
+import model.entity.packets.PacketType;
+
+/**
+ * Secondary indexes over a level's packets: by type, and by the trojan, moving and in-system flags.
+ * Packets report their own flag changes, so the sets stay current without rescanning the level.
+ * Packets also report view-visible changes here, which are passed on to the level's {@link PacketChanges}.
+ * Sets keep insertion order to keep iteration deterministic.
+ */
+public class PacketIndexes {
+    private final Map<PacketType, Set<Packet>> byType = new EnumMap<>(PacketType.class);
+    private final Set<Packet> trojans = new LinkedHashSet<>();
+    private final Set<Packet> moving = new LinkedHashSet<>();
+    private final Set<Packet> inSystem = new LinkedHashSet<>();
+    private final PacketChanges changes;
+
+    public PacketIndexes(PacketChanges changes) {
+        this.changes = changes;
+        for (PacketType type : PacketType.values()) {
+            byType.put(type, new LinkedHashSet<>());
+        }
+    }
+
+    public void add(Packet packet) {
+        if (!byType.get(packet.getType()).add(packet)) return;
+        packet.setIndexes(this);
+        update(packet);
+    }
+
+    public void remove(Packet packet) {
+        if (!byType.get(packet.getType()).remove(packet)) return;
+        packet.setIndexes(null);
+        trojans.remove(packet);
+        moving.remove(packet);
+        inSystem.remove(packet);
+    }
+
+    public void clear() {
+        for (Set<Packet> packets : byType.values()) {
+            for (Packet packet : packets) packet.setIndexes(null);
+            packets.clear();
+        }
+        trojans.clear();
+        moving.clear();
+        inSystem.clear();
+    }
+
+    public boolean contains(Packet packet) {
+        return byType.get(packet.getType()).contains(packet);
+    }
+
+    /**
+     * Re-file a packet after one of its indexed flags changed
+     */
+    public void update(Packet packet) {
+        file(trojans, packet, packet.isTrojan());
+        file(moving, packet, packet.isMoving());
+        file(inSystem, packet, packet.isInSystem());
+    }
+
+    /**
+     * Called by a packet when its dirty bits go from clear to set
+     */
+    public void markChanged(Packet packet) {
+        changes.packetChanged(packet);
+    }
+
+    public Set<Packet> ofType(PacketType type) {
+        return Collections.unmodifiableSet(byType.get(type));
+    }
+
+    public Set<Packet> trojans() {
+        return Collections.unmodifiableSet(trojans);
+    }
+
+    public Set<Packet> moving() {
+        return Collections.unmodifiableSet(moving);
+    }
+
+    public Set<Packet> inSystem() {
+        return Collections.unmodifiableSet(inSystem);
+    }
+
+    private static void file(Set<Packet> set, Packet packet, boolean member) {
+        if (member) {
+            set.add(packet);
+        } else {
+            set.remove(packet);
+        }
+    }
+}
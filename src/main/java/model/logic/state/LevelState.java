@@ -6,9 +6,11 @@ public class LevelState {
     private int packetsGenerated = 0;
     private int packetLoss = 0;
     private int packetsCollected = 0;
+    // Last packet number handed out; packet ids come from here so seeded runs name packets alike
+    private int packetIdCounter = 0;
     private boolean impactDisabled = false;
     private boolean collisionsDisabled = false;
-    // End times for temporary shop effects (nanoTime). 0 means no active timer
+    // End times for temporary shop effects (simulation clock nanos). 0 means no active timer
     private long impactDisableEndNanos = 0L;
     private long collisionsDisableEndNanos = 0L;
 
@@ -61,6 +63,30 @@ public class LevelState {
         this.packetsCollected++;
     }
 
+    /**
+     * Next packet number for this level (1, 2, 3, ...)
+     */
+    public int nextPacketNumber() {
+        return ++packetIdCounter;
+    }
+
+    public int getPacketIdCounter() {
+        return packetIdCounter;
+    }
+
+    public void setPacketIdCounter(int packetIdCounter) {
+        this.packetIdCounter = packetIdCounter;
+    }
+
+    /**
+     * Put the packet counters back to earlier values (timeline rewind)
+     */
+    public void restoreCounters(int packetsGenerated, int packetLoss, int packetsCollected) {
+        this.packetsGenerated = packetsGenerated;
+        this.packetLoss = packetLoss;
+        this.packetsCollected = packetsCollected;
+    }
+
     // Game over calculation
     public boolean isGameOver() {
         if (packetsGenerated == 0) return false;
@@ -0,0 +1,38 @@
+package model.logic.state;
+
+/**
+ * Simulated time for one level, in nanoseconds since the level started.
+ * It only moves when the simulation steps, so effect timers stop while the game is paused,
+ * speed up with fast-forward, and behave the same in headless runs.
+ */
+public class SimulationClock {
+    private long nanos = 0L;
+
+    public long nanoTime() {
+        return nanos;
+    }
+
+    public long millis() {
+        return nanos / 1_000_000L;
+    }
+
+    /**
+     * Move simulated time forward by one step
+     */
+    public void advance(double seconds) {
+        if (seconds > 0) {
+            nanos += Math.round(seconds * 1_000_000_000.0);
+        }
+    }
+
+    /**
+     * Jump back to an earlier recorded time (timeline rewind)
+     */
+    public void rewindTo(long nanos) {
+        this.nanos = nanos;
+    }
+
+    public void reset() {
+        nanos = 0L;
+    }
+}
@@ -0,0 +1,128 @@
+package model.logic.state;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Per-level source of randomness for simulation decisions.
+ * Each named stream is seeded from the level seed and its name, so streams are independent:
+ * drawing more from one (e.g. collisions) never shifts another (e.g. packet generation).
+ * A level plus a seed therefore reproduces the same run.
+ * Stream positions can be saved and restored, so a rewound run draws the same values again.
+ */
+public class SimulationRandom {
+    // Stream names
+    public static final String PACKET_GENERATION = "packet-generation";
+    public static final String PORT_CHANCES = "port-chances";
+    public static final String DDOS = "ddos";
+    public static final String SPY = "spy";
+    public static final String VPN = "vpn";
+    public static final String WIRE_COLLISION = "wire-collision";
+    public static final String PORT_MORPH = "port-morph";
+
+    private long seed;
+    private final Map<String, Stream> streams = new HashMap<>();
+
+    public SimulationRandom(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Reseed all streams; existing streams restart from the new seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        streams.clear();
+    }
+
+    /**
+     * Get (creating on first use) the stream with the given name.
+     */
+    public Random stream(String name) {
+        return streams.computeIfAbsent(name, n -> new Stream(streamSeed(n)));
+    }
+
+    /**
+     * Positions of every stream drawn from so far
+     */
+    public State saveState() {
+        State state = new State(streams.size());
+        int i = 0;
+        for (Map.Entry<String, Stream> entry : streams.entrySet()) {
+            state.names[i] = entry.getKey();
+            state.positions[i] = entry.getValue().position;
+            i++;
+        }
+        return state;
+    }
+
+    /**
+     * Put every stream back where {@link #saveState} found it; streams created since then restart
+     * from the seed, which is where they were at that point
+     */
+    public void restoreState(State state) {
+        for (Map.Entry<String, Stream> entry : streams.entrySet()) {
+            entry.getValue().setSeed(streamSeed(entry.getKey()));
+        }
+        for (int i = 0; i < state.names.length; i++) {
+            ((Stream) stream(state.names[i])).position = state.positions[i];
+        }
+    }
+
+    /**
+     * Saved stream positions, by stream name
+     */
+    public static final class State {
+        private final String[] names;
+        private final long[] positions;
+
+        private State(int size) {
+            names = new String[size];
+            positions = new long[size];
+        }
+    }
+
+    /**
+     * java.util.Random with its generator state readable: the same 48-bit LCG, so draws match
+     * a plain Random with the same seed
+     */
+    private static final class Stream extends Random {
+        private static final long MULTIPLIER = 0x5DEECE66DL;
+        private static final long ADDEND = 0xBL;
+        private static final long MASK = (1L << 48) - 1;
+
+        private long position;
+
+        Stream(long seed) {
+            super(seed);
+        }
+
+        @Override
+        public synchronized void setSeed(long seed) {
+            super.setSeed(seed);
+            position = (seed ^ MULTIPLIER) & MASK;
+        }
+
+        @Override
+        protected int next(int bits) {
+            position = (position * MULTIPLIER + ADDEND) & MASK;
+            return (int) (position >>> (48 - bits));
+        }
+    }
+
+    private long streamSeed(String name) {
+        return mix(seed ^ mix(name.hashCode()));
+    }
+
+    /** SplitMix64 finalizer: spreads nearby seeds and name hashes over the whole long range. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
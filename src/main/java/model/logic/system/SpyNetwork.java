@@ -0,0 +1,107 @@
+package model.logic.system;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.entity.packets.Packet;
+import model.entity.ports.Port;
+import model.entity.systems.SpySystem;
+
+/**
+ * Spy systems of a level and the output ports any of them can send through right now.
+ * Ports are re-filed by shape kind whenever their wire connects, frees up or is detached, so
+ * routing a packet out of "any spy system" is a random draw rather than a scan of the level.
+ */
+public class SpyNetwork {
+    private final List<SpySystem> systems = new ArrayList<>();
+    private final PortSet open = new PortSet();
+    private final Map<Port.ShapeKind, PortSet> openByKind = new EnumMap<>(Port.ShapeKind.class);
+
+    public SpyNetwork() {
+        for (Port.ShapeKind kind : Port.ShapeKind.values()) {
+            openByKind.put(kind, new PortSet());
+        }
+    }
+
+    public void register(SpySystem system) {
+        if (systems.contains(system)) return;
+        systems.add(system);
+        for (Port port : system.getOutPorts()) {
+            update(port);
+        }
+    }
+
+    public List<SpySystem> getSystems() {
+        return Collections.unmodifiableList(systems);
+    }
+
+    /**
+     * Re-file an output port after its wire or shape kind changed
+     */
+    public void update(Port port) {
+        open.remove(port);
+        for (PortSet ports : openByKind.values()) {
+            ports.remove(port);
+        }
+        if (port.getWire() != null && port.getWire().isAvailable()) {
+            open.add(port);
+            openByKind.get(port.getShapeKind()).add(port);
+        }
+    }
+
+    /**
+     * Random open spy output, preferring ports compatible with the packet
+     * @return null if every spy output is busy or disconnected
+     */
+    public Port pickExit(Packet packet, Random random) {
+        Port.ShapeKind kind = Port.shapeKindFor(packet);
+        if (kind != null && !openByKind.get(kind).isEmpty()) {
+            return openByKind.get(kind).pick(random);
+        }
+        return open.isEmpty() ? null : open.pick(random);
+    }
+
+    public int getOpenPortCount() {
+        return open.size();
+    }
+
+    /**
+     * Array-backed set with O(1) add, remove and uniform random pick
+     */
+    private static final class PortSet {
+        private final List<Port> ports = new ArrayList<>();
+        private final Map<Port, Integer> slots = new IdentityHashMap<>();
+
+        void add(Port port) {
+            if (slots.containsKey(port)) return;
+            slots.put(port, ports.size());
+            ports.add(port);
+        }
+
+        void remove(Port port) {
+            Integer slot = slots.remove(port);
+            if (slot == null) return;
+            Port last = ports.remove(ports.size() - 1);
+            if (last != port) {
+                ports.set(slot, last);
+                slots.put(last, slot);
+            }
+        }
+
+        Port pick(Random random) {
+            return ports.get(random.nextInt(ports.size()));
+        }
+
+        boolean isEmpty() {
+            return ports.isEmpty();
+        }
+
+        int size() {
+            return ports.size();
+        }
+    }
+}
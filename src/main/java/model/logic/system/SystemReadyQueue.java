@@ -0,0 +1,42 @@
+package model.logic.system;
+
+import model.entity.systems.System;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Systems that may be able to forward stored packets: they just stored a packet or one of
+ * their output wires became free. The simulation drains it once per step, so systems with
+ * nothing to do are never visited.
+ */
+public class SystemReadyQueue {
+    private final LinkedHashSet<System> pending = new LinkedHashSet<>();
+
+    /**
+     * Queue a system for the next drain; queuing it twice is a no-op
+     */
+    public void offer(System system) {
+        pending.add(system);
+    }
+
+    /**
+     * Move every queued system into the given list, in the order they were queued.
+     * Systems offered while the caller works through the list wait for the next drain.
+     */
+    public void drainTo(List<System> out) {
+        out.addAll(pending);
+        pending.clear();
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    public void clear() {
+        pending.clear();
+    }
+}
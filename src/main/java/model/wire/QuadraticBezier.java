@@ -0,0 +1,126 @@
+package model.wire;
+
+/**
+ * Closed-form helpers for the quadratic Bezier segments wires are drawn with.
+ * A segment runs from (x0, y0) to (x1, y1) with control point (cx, cy).
+ */
+public final class QuadraticBezier {
+    private QuadraticBezier() {}
+
+    public static double at(double p0, double c, double p1, double t) {
+        double oneMinusT = 1.0 - t;
+        return oneMinusT * oneMinusT * p0 + 2.0 * oneMinusT * t * c + t * t * p1;
+    }
+
+    /**
+     * Curve parameter in [0, 1] of the point on the segment nearest to (px, py).
+     * The squared distance has its interior extrema where its derivative, a cubic in t, is zero;
+     * those roots are compared against both endpoints.
+     */
+    public static double closestT(double x0, double y0, double cx, double cy, double x1, double y1,
+                                  double px, double py) {
+        // B(t) - P = M + 2tA + t^2 Bq;  d/dt |B(t) - P|^2 = 0  <=>  a t^3 + b t^2 + c t + d = 0
+        double ax = cx - x0, ay = cy - y0;
+        double bx = x0 - 2.0 * cx + x1, by = y0 - 2.0 * cy + y1;
+        double mx = x0 - px, my = y0 - py;
+        double a = bx * bx + by * by;
+        double b = 3.0 * (ax * bx + ay * by);
+        double c = 2.0 * (ax * ax + ay * ay) + mx * bx + my * by;
+        double d = mx * ax + my * ay;
+
+        double bestT = 0.0;
+        double bestDistSq = distanceSq(x0, y0, cx, cy, x1, y1, px, py, 0.0);
+        double endDistSq = distanceSq(x0, y0, cx, cy, x1, y1, px, py, 1.0);
+        if (endDistSq < bestDistSq) {
+            bestT = 1.0;
+            bestDistSq = endDistSq;
+        }
+        double[] roots = new double[3];
+        int count = solveCubic(a, b, c, d, roots);
+        for (int i = 0; i < count; i++) {
+            double t = roots[i];
+            if (!(t > 0.0 && t < 1.0)) continue;
+            double distSq = distanceSq(x0, y0, cx, cy, x1, y1, px, py, t);
+            if (distSq < bestDistSq) {
+                bestT = t;
+                bestDistSq = distSq;
+            }
+        }
+        return bestT;
+    }
+
+    /**
+     * Distance from (px, py) to the nearest point on the segment
+     */
+    public static double distance(double x0, double y0, double cx, double cy, double x1, double y1,
+                                  double px, double py) {
+        double t = closestT(x0, y0, cx, cy, x1, y1, px, py);
+        return Math.sqrt(distanceSq(x0, y0, cx, cy, x1, y1, px, py, t));
+    }
+
+    private static double distanceSq(double x0, double y0, double cx, double cy, double x1, double y1,
+                                     double px, double py, double t) {
+        double dx = at(x0, cx, x1, t) - px;
+        double dy = at(y0, cy, y1, t) - py;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Real roots of a t^3 + b t^2 + c t + d, falling back to lower degree when the leading
+     * coefficients vanish (straight segments). Each root gets one Newton step to clean up rounding.
+     * @return number of roots written to out
+     */
+    static int solveCubic(double a, double b, double c, double d, double[] out) {
+        double scale = Math.max(Math.abs(b), Math.max(Math.abs(c), Math.abs(d)));
+        if (Math.abs(a) <= 1e-12 * scale || a == 0.0) {
+            return solveQuadratic(b, c, d, out);
+        }
+        double B = b / a, C = c / a, D = d / a;
+        // Depressed cubic u^3 + p u + q with t = u - B / 3
+        double shift = B / 3.0;
+        double p = C - B * shift;
+        double q = 2.0 * shift * shift * shift - shift * C + D;
+        double disc = q * q / 4.0 + p * p * p / 27.0;
+        int count;
+        if (disc > 0.0) {
+            double s = Math.sqrt(disc);
+            out[0] = Math.cbrt(-q / 2.0 + s) + Math.cbrt(-q / 2.0 - s) - shift;
+            count = 1;
+        } else if (p == 0.0) {
+            out[0] = -shift;
+            count = 1;
+        } else {
+            double r = Math.sqrt(-p / 3.0);
+            double cosPhi = Math.max(-1.0, Math.min(1.0, -q / (2.0 * r * r * r)));
+            double phi = Math.acos(cosPhi);
+            for (int k = 0; k < 3; k++) {
+                out[k] = 2.0 * r * Math.cos((phi + 2.0 * Math.PI * k) / 3.0) - shift;
+            }
+            count = 3;
+        }
+        for (int i = 0; i < count; i++) {
+            double t = out[i];
+            double f = ((a * t + b) * t + c) * t + d;
+            double df = (3.0 * a * t + 2.0 * b) * t + c;
+            if (df != 0.0) out[i] = t - f / df;
+        }
+        return count;
+    }
+
+    private static int solveQuadratic(double a, double b, double c, double[] out) {
+        double scale = Math.max(Math.abs(b), Math.abs(c));
+        if (Math.abs(a) <= 1e-12 * scale || a == 0.0) {
+            if (b == 0.0) return 0;
+            out[0] = -c / b;
+            return 1;
+        }
+        double disc = b * b - 4.0 * a * c;
+        if (disc < 0.0) return 0;
+        // Numerically stable form: avoid cancelling b against the root of the discriminant
+        double s = -0.5 * (b + Math.copySign(Math.sqrt(disc), b));
+        out[0] = s / a;
+        if (s == 0.0) return 1;
+        out[1] = c / s;
+        return 2;
+    }
+}
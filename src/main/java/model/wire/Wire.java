@@ -1,6 +1,8 @@
 package model.wire;
 
 import model.entity.ports.Port;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,11 +15,21 @@ public class Wire {
     private final List<BendPoint> bendPoints = new ArrayList<>();
     // Tracks how many massive packets have completed traversal on this wire
     private int massivePacketRunCount = 0;
+    // Cached arc-length table for curved wires; rebuilt lazily when geometry changes
+    private ArcLengthTable arcLengthTable;
+    // Cached unit vector source -> dest, with the endpoint positions it was computed from
+    private Point2D direction;
+    private Point2D directionFrom;
+    private Point2D directionTo;
+    // Packets currently travelling on this wire, ordered by progress
+    private final WireLane lane = new WireLane();
     
     public static class BendPoint {
         private Point2D position;
         private final Point2D originalPosition;
         private final double maxRadius;
+        // Wire this bend belongs to, told when the bend moves; null until added to a wire
+        private Wire owner;
         
         public BendPoint(Point2D originalPosition, double maxRadius) {
             this.originalPosition = originalPosition;
@@ -33,6 +45,7 @@ public class Wire {
             double distance = originalPosition.distance(newPosition);
             if (distance <= maxRadius) {
                 this.position = newPosition;
+                if (owner != null) owner.onGeometryChanged();
                 return true;
             }
             return false;
@@ -40,10 +53,12 @@ public class Wire {
         
         public void forceSetPosition(Point2D newPosition) {
             this.position = newPosition;
+            if (owner != null) owner.onGeometryChanged();
         }
         
         public void resetToOriginalPosition() {
             this.position = originalPosition;
+            if (owner != null) owner.onGeometryChanged();
         }
         
         public boolean isAtOriginalPosition() {
@@ -51,6 +66,25 @@ public class Wire {
         }
     }
 
+    /**
+     * Point on a wire nearest to a query point, with its arc-length progress along the wire
+     */
+    public static final class ClosestPoint {
+        private final Point2D point;
+        private final double progress;
+        private final double distance;
+
+        ClosestPoint(Point2D point, double progress, double distance) {
+            this.point = point;
+            this.progress = progress;
+            this.distance = distance;
+        }
+
+        public Point2D getPoint() { return point; }
+        public double getProgress() { return progress; }
+        public double getDistance() { return distance; }
+    }
+
     public Wire(String id, Port source, Port dest) {
         this.id = id;
         this.source = source;
@@ -74,7 +108,13 @@ public class Wire {
     }
 
     public void setActive(boolean active) {
+        if (this.active == active) return;
         this.active = active;
+        if (source != null) source.onWireStateChanged();
+    }
+
+    public WireLane getLane() {
+        return lane;
     }
 
     public boolean isAvailable() {
@@ -82,7 +122,7 @@ public class Wire {
     }
 
     public void setAvailable(boolean available) {
-        this.active = available;
+        setActive(available);
     }
 
     /**
@@ -96,6 +136,10 @@ public class Wire {
         return massivePacketRunCount;
     }
 
+    public void setMassivePacketRunCount(int massivePacketRunCount) {
+        this.massivePacketRunCount = massivePacketRunCount;
+    }
+
     public boolean hasReachedMassiveRunLimit() {
         return massivePacketRunCount >= 3;
     }
@@ -110,7 +154,7 @@ public class Wire {
         if (dest != null) {
             dest.setWire(null);
         }
-        this.active = false;
+        setActive(false);
     }
 
     public double getLength() {
@@ -120,51 +164,35 @@ public class Wire {
             return source.getPosition().distance(dest.getPosition());
         }
         
-        // Calculate accurate curved length
-        Point2D start = source.getPosition();
-        Point2D end = dest.getPosition();
-        
-        if (bendPoints.size() == 1) {
-            // Single bend point - calculate QuadCurve length
-            BendPoint bendPoint = bendPoints.get(0);
-            Point2D bendPos = bendPoint.getPosition();
-            Point2D originalBendPos = bendPoint.getOriginalPosition();
-            
-            double offsetX = bendPos.getX() - originalBendPos.getX();
-            double offsetY = bendPos.getY() - originalBendPos.getY();
-            double midX = (start.getX() + end.getX()) / 2;
-            double midY = (start.getY() + end.getY()) / 2;
-            double curveStrength = 1.5;
-            Point2D controlPoint = new Point2D(midX + offsetX * curveStrength, midY + offsetY * curveStrength);
-            
-            return approximateQuadCurveLength(start, controlPoint, end);
-        } else {
-            // Multiple bend points - sum all curve segment lengths
-            double totalLength = 0;
-            
-            List<Point2D> pathPoints = new ArrayList<>();
-            pathPoints.add(start);
-            for (BendPoint bendPoint : bendPoints) {
-                pathPoints.add(bendPoint.getPosition());
-            }
-            pathPoints.add(end);
-            
-            for (int i = 0; i < pathPoints.size() - 1; i++) {
-                Point2D segmentStart = pathPoints.get(i);
-                Point2D segmentEnd = pathPoints.get(i + 1);
-                Point2D controlPoint = calculateSegmentControlPoint(segmentStart, segmentEnd, i);
-                
-                totalLength += approximateQuadCurveLength(segmentStart, controlPoint, segmentEnd);
-            }
-            
-            return totalLength;
+        return ensureArcLengthTable().totalLength;
+    }
+
+    /**
+     * Unit vector from the source port to the destination port (zero if they coincide).
+     * Recomputed only when a port position object changes (Point2D is immutable).
+     */
+    public Point2D getDirection() {
+        if (source == null || dest == null) return Point2D.ZERO;
+        Point2D from = source.getPosition();
+        Point2D to = dest.getPosition();
+        if (direction == null || from != directionFrom || to != directionTo) {
+            double dx = to.getX() - from.getX();
+            double dy = to.getY() - from.getY();
+            double len = Math.sqrt(dx * dx + dy * dy);
+            direction = len > 0 ? new Point2D(dx / len, dy / len) : Point2D.ZERO;
+            directionFrom = from;
+            directionTo = to;
         }
+        return direction;
     }
 
     public boolean isValid() {
         return source != null && dest != null;
     }
 
+    /**
+     * Position at the given fraction of the wire's arc length (constant speed along curves).
+     */
     public Point2D getPositionAtProgress(double progress) {
         if (source == null || dest == null) {
             return new Point2D(0, 0);
@@ -187,89 +215,241 @@ public class Wire {
             return new Point2D(x, y);
         }
         
-        // Complex curved path calculation
-        return getPositionOnCurvedPath(progress);
+        // Curved path: look up the arc-length table
+        return ensureArcLengthTable().positionAt(progress);
     }
-    
-    private Point2D getPositionOnCurvedPath(double progress) {
+
+    /**
+     * Exact nearest point on the wire to the given point. Straight wires project onto the line;
+     * curved wires solve each quadratic segment in closed form and keep the nearest result.
+     */
+    public ClosestPoint findClosestPoint(Point2D target) {
+        if (source == null || dest == null || target == null) {
+            return new ClosestPoint(new Point2D(0, 0), 0.0, Double.MAX_VALUE);
+        }
+        double px = target.getX(), py = target.getY();
+        if (bendPoints.isEmpty()) {
+            Point2D a = source.getPosition();
+            Point2D b = dest.getPosition();
+            double dx = b.getX() - a.getX();
+            double dy = b.getY() - a.getY();
+            double lengthSq = dx * dx + dy * dy;
+            double t = lengthSq > 0 ? ((px - a.getX()) * dx + (py - a.getY()) * dy) / lengthSq : 0.0;
+            t = Math.max(0.0, Math.min(1.0, t));
+            Point2D point = new Point2D(a.getX() + t * dx, a.getY() + t * dy);
+            return new ClosestPoint(point, t, point.distance(target));
+        }
+
+        ArcLengthTable table = ensureArcLengthTable();
+        double[] coords = table.segmentCoords;
+        int bestSegment = 0;
+        double bestT = 0.0;
+        double bestX = coords[0], bestY = coords[1];
+        double bestDistSq = Double.MAX_VALUE;
+        for (int s = 0, o = 0; o < coords.length; s++, o += 6) {
+            double t = QuadraticBezier.closestT(coords[o], coords[o + 1], coords[o + 2], coords[o + 3],
+                coords[o + 4], coords[o + 5], px, py);
+            double x = QuadraticBezier.at(coords[o], coords[o + 2], coords[o + 4], t);
+            double y = QuadraticBezier.at(coords[o + 1], coords[o + 3], coords[o + 5], t);
+            double distSq = (x - px) * (x - px) + (y - py) * (y - py);
+            if (distSq < bestDistSq) {
+                bestDistSq = distSq;
+                bestSegment = s;
+                bestT = t;
+                bestX = x;
+                bestY = y;
+            }
+        }
+        return new ClosestPoint(new Point2D(bestX, bestY), table.progressAt(bestSegment, bestT), Math.sqrt(bestDistSq));
+    }
+
+    /**
+     * Drop the cached arc-length table. Called when bend points are added or removed;
+     * moved endpoints and bend points are detected automatically on the next query.
+     */
+    public void invalidateGeometry() {
+        arcLengthTable = null;
+        onGeometryChanged();
+    }
+
+    /**
+     * Bounding box of every curve segment's end and control points, which contains the segment.
+     * A straight wire is a single segment.
+     */
+    public List<Bounds> getSegmentBounds() {
+        List<Bounds> boxes = new ArrayList<>();
+        if (source == null || dest == null) return boxes;
+        if (bendPoints.isEmpty()) {
+            Point2D a = source.getPosition();
+            Point2D b = dest.getPosition();
+            boxes.add(box(a.getX(), a.getY(), b.getX(), b.getY(), a.getX(), a.getY()));
+            return boxes;
+        }
+        double[] coords = ensureArcLengthTable().segmentCoords;
+        for (int o = 0; o < coords.length; o += 6) {
+            boxes.add(box(coords[o], coords[o + 1], coords[o + 2], coords[o + 3], coords[o + 4], coords[o + 5]));
+        }
+        return boxes;
+    }
+
+    private static Bounds box(double x0, double y0, double x1, double y1, double x2, double y2) {
+        double minX = Math.min(x0, Math.min(x1, x2));
+        double minY = Math.min(y0, Math.min(y1, y2));
+        return new BoundingBox(minX, minY,
+            Math.max(x0, Math.max(x1, x2)) - minX, Math.max(y0, Math.max(y1, y2)) - minY);
+    }
+
+    /**
+     * Keep the owning level's hit-test grid in step with bend point edits
+     */
+    private void onGeometryChanged() {
+        model.levels.LayoutIndex index = source != null && source.getSystem() != null
+            ? source.getSystem().getLayoutIndex() : null;
+        if (index != null) index.update(this);
+    }
+
+    private ArcLengthTable ensureArcLengthTable() {
+        ArcLengthTable table = arcLengthTable;
+        if (table == null || !table.matches(source.getPosition(), dest.getPosition(), bendPoints)) {
+            table = buildArcLengthTable();
+            arcLengthTable = table;
+        }
+        return table;
+    }
+
+    private ArcLengthTable buildArcLengthTable() {
         Point2D start = source.getPosition();
         Point2D end = dest.getPosition();
-        
+
+        // Segment endpoints and control points, matching the curves drawn by WireView
+        List<Point2D[]> segments = new ArrayList<>();
         if (bendPoints.size() == 1) {
-            // Single bend point - calculate position on QuadCurve
+            // Single bend point - one QuadCurve with the bend offset applied to the midpoint
             BendPoint bendPoint = bendPoints.get(0);
             Point2D bendPos = bendPoint.getPosition();
             Point2D originalBendPos = bendPoint.getOriginalPosition();
             
-            // Calculate control point the same way as in WireView
             double offsetX = bendPos.getX() - originalBendPos.getX();
             double offsetY = bendPos.getY() - originalBendPos.getY();
             double midX = (start.getX() + end.getX()) / 2;
             double midY = (start.getY() + end.getY()) / 2;
             double curveStrength = 1.5;
             Point2D controlPoint = new Point2D(midX + offsetX * curveStrength, midY + offsetY * curveStrength);
-            
-            // Calculate position on quadratic Bezier curve
-            return getQuadraticBezierPoint(start, controlPoint, end, progress);
+            segments.add(new Point2D[]{start, controlPoint, end});
         } else {
-            // Multiple bend points - create curve segments and find position
-            return getPositionOnMultipleCurvedSegments(progress);
+            // Multiple bend points - one curve segment between consecutive path points
+            List<Point2D> pathPoints = new ArrayList<>();
+            pathPoints.add(start);
+            for (BendPoint bendPoint : bendPoints) {
+                pathPoints.add(bendPoint.getPosition());
+            }
+            pathPoints.add(end);
+            
+            for (int i = 0; i < pathPoints.size() - 1; i++) {
+                Point2D segmentStart = pathPoints.get(i);
+                Point2D segmentEnd = pathPoints.get(i + 1);
+                segments.add(new Point2D[]{segmentStart, calculateSegmentControlPoint(segmentStart, segmentEnd, i), segmentEnd});
+            }
         }
+        return new ArcLengthTable(start, end, bendPoints, segments);
     }
-    
-    private Point2D getPositionOnMultipleCurvedSegments(double progress) {
-        Point2D start = source.getPosition();
-        Point2D end = dest.getPosition();
-        
-        // Build path points
-        List<Point2D> pathPoints = new ArrayList<>();
-        pathPoints.add(start);
-        for (BendPoint bendPoint : bendPoints) {
-            pathPoints.add(bendPoint.getPosition());
+
+    /**
+     * Cumulative arc length sampled along every curve segment of the wire.
+     * Built once per geometry; the cached endpoint and bend point references
+     * (Point2D is immutable) tell whether it is still valid.
+     */
+    private static final class ArcLengthTable {
+        private static final int SAMPLES_PER_SEGMENT = 100;
+
+        private final Point2D sourcePos;
+        private final Point2D destPos;
+        private final Point2D[] bendPositions;
+        private final double[] segmentCoords; // per segment: x0, y0, cx, cy, x1, y1
+        private final double[] cumulative;    // arc length at each sample, cumulative[0] == 0
+        private final double totalLength;
+
+        ArcLengthTable(Point2D sourcePos, Point2D destPos, List<BendPoint> bends, List<Point2D[]> segments) {
+            this.sourcePos = sourcePos;
+            this.destPos = destPos;
+            this.bendPositions = new Point2D[bends.size()];
+            for (int i = 0; i < bends.size(); i++) {
+                bendPositions[i] = bends.get(i).getPosition();
+            }
+
+            int segmentCount = segments.size();
+            segmentCoords = new double[segmentCount * 6];
+            cumulative = new double[segmentCount * SAMPLES_PER_SEGMENT + 1];
+            double length = 0.0;
+            int sample = 1;
+            for (int s = 0; s < segmentCount; s++) {
+                Point2D[] seg = segments.get(s);
+                int o = s * 6;
+                segmentCoords[o] = seg[0].getX();
+                segmentCoords[o + 1] = seg[0].getY();
+                segmentCoords[o + 2] = seg[1].getX();
+                segmentCoords[o + 3] = seg[1].getY();
+                segmentCoords[o + 4] = seg[2].getX();
+                segmentCoords[o + 5] = seg[2].getY();
+
+                double prevX = segmentCoords[o], prevY = segmentCoords[o + 1];
+                for (int i = 1; i <= SAMPLES_PER_SEGMENT; i++) {
+                    double t = (double) i / SAMPLES_PER_SEGMENT;
+                    double x = QuadraticBezier.at(segmentCoords[o], segmentCoords[o + 2], segmentCoords[o + 4], t);
+                    double y = QuadraticBezier.at(segmentCoords[o + 1], segmentCoords[o + 3], segmentCoords[o + 5], t);
+                    length += Math.hypot(x - prevX, y - prevY);
+                    cumulative[sample++] = length;
+                    prevX = x;
+                    prevY = y;
+                }
+            }
+            this.totalLength = length;
         }
-        pathPoints.add(end);
-        
-        // Calculate approximate curve lengths for each segment
-        List<Double> segmentLengths = new ArrayList<>();
-        double totalLength = 0;
-        
-        for (int i = 0; i < pathPoints.size() - 1; i++) {
-            Point2D segmentStart = pathPoints.get(i);
-            Point2D segmentEnd = pathPoints.get(i + 1);
-            
-            // Calculate control point for this segment
-            Point2D controlPoint = calculateSegmentControlPoint(segmentStart, segmentEnd, i);
-            
-            // Approximate curve length by sampling
-            double curveLength = approximateQuadCurveLength(segmentStart, controlPoint, segmentEnd);
-            segmentLengths.add(curveLength);
-            totalLength += curveLength;
+
+        boolean matches(Point2D source, Point2D dest, List<BendPoint> bends) {
+            if (source != sourcePos || dest != destPos || bends.size() != bendPositions.length) return false;
+            for (int i = 0; i < bendPositions.length; i++) {
+                if (bends.get(i).getPosition() != bendPositions[i]) return false;
+            }
+            return true;
         }
-        
-        if (totalLength <= 0) {
-            return start;
+
+        /**
+         * Arc-length fraction of curve parameter t on the given segment; the inverse of positionAt
+         */
+        double progressAt(int segment, double t) {
+            if (totalLength <= 0) return 0.0;
+            double samplePos = (segment + t) * SAMPLES_PER_SEGMENT;
+            int i = Math.max(0, Math.min((int) samplePos, cumulative.length - 2));
+            double frac = samplePos - i;
+            double length = cumulative[i] + frac * (cumulative[i + 1] - cumulative[i]);
+            return Math.max(0.0, Math.min(1.0, length / totalLength));
         }
-        
-        // Find which segment the progress falls into
-        double targetDistance = progress * totalLength;
-        double accumulatedDistance = 0;
-        
-        for (int i = 0; i < segmentLengths.size(); i++) {
-            double segmentLength = segmentLengths.get(i);
-            if (accumulatedDistance + segmentLength >= targetDistance) {
-                // Progress is within this segment
-                double segmentProgress = (targetDistance - accumulatedDistance) / segmentLength;
-                
-                Point2D segmentStart = pathPoints.get(i);
-                Point2D segmentEnd = pathPoints.get(i + 1);
-                Point2D controlPoint = calculateSegmentControlPoint(segmentStart, segmentEnd, i);
-                
-                return getQuadraticBezierPoint(segmentStart, controlPoint, segmentEnd, segmentProgress);
+
+        Point2D positionAt(double progress) {
+            if (totalLength <= 0) {
+                return sourcePos;
+            }
+            double target = progress * totalLength;
+
+            // Binary search for the first sample whose cumulative length reaches the target
+            int lo = 1, hi = cumulative.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] < target) lo = mid + 1; else hi = mid;
             }
-            accumulatedDistance += segmentLength;
+            double span = cumulative[lo] - cumulative[lo - 1];
+            double frac = span > 0 ? (target - cumulative[lo - 1]) / span : 0.0;
+
+            // Map the sample index back to (segment, t) and evaluate the curve there
+            double samplePos = (lo - 1) + frac;
+            int segment = Math.min((int) (samplePos / SAMPLES_PER_SEGMENT), segmentCoords.length / 6 - 1);
+            double t = (samplePos - segment * SAMPLES_PER_SEGMENT) / SAMPLES_PER_SEGMENT;
+            int o = segment * 6;
+            return new Point2D(
+                QuadraticBezier.at(segmentCoords[o], segmentCoords[o + 2], segmentCoords[o + 4], t),
+                QuadraticBezier.at(segmentCoords[o + 1], segmentCoords[o + 3], segmentCoords[o + 5], t));
         }
-        
-        return end;
     }
     
     private Point2D calculateSegmentControlPoint(Point2D start, Point2D end, int segmentIndex) {
@@ -305,49 +485,6 @@ public class Wire {
         return new Point2D((start.getX() + end.getX()) / 2, (start.getY() + end.getY()) / 2);
     }
     
-    /**
-     * Calculate position on a quadratic Bezier curve
-     * @param start Start point
-     * @param control Control point
-     * @param end End point
-     * @param t Parameter from 0 to 1
-     * @return Point on the curve
-     */
-    private Point2D getQuadraticBezierPoint(Point2D start, Point2D control, Point2D end, double t) {
-        double oneMinusT = 1.0 - t;
-        double x = oneMinusT * oneMinusT * start.getX() + 
-                   2.0 * oneMinusT * t * control.getX() + 
-                   t * t * end.getX();
-        double y = oneMinusT * oneMinusT * start.getY() + 
-                   2.0 * oneMinusT * t * control.getY() + 
-                   t * t * end.getY();
-        return new Point2D(x, y);
-    }
-    
-    /**
-     * Approximate the length of a quadratic curve by sampling
-     */
-    private double approximateQuadCurveLength(Point2D start, Point2D control, Point2D end) {
-        double length = 0;
-        int samples = 100; // Increased samples for more accurate curve length calculation
-        Point2D prevPoint = start;
-        
-        for (int i = 1; i <= samples; i++) {
-            double t = (double) i / samples;
-            Point2D currentPoint = getQuadraticBezierPoint(start, control, end, t);
-            length += prevPoint.distance(currentPoint);
-            prevPoint = currentPoint;
-        }
-        
-        return length;
-    }
-    
-    private Point2D interpolatePoints(Point2D start, Point2D end, double progress) {
-        double x = start.getX() + progress * (end.getX() - start.getX());
-        double y = start.getY() + progress * (end.getY() - start.getY());
-        return new Point2D(x, y);
-    }
-    
     // Bend point management methods
     public boolean canAddBendPoint() {
         return bendPoints.size() < 3;
@@ -365,7 +502,9 @@ public class Wire {
             bendPoint.setPosition(position);
         }
         
+        bendPoint.owner = this;
         bendPoints.add(bendPoint);
+        invalidateGeometry();
         return true;
     }
     
@@ -385,7 +524,8 @@ public class Wire {
     
     public void removeBendPoint(int index) {
         if (index >= 0 && index < bendPoints.size()) {
-            bendPoints.remove(index);
+            bendPoints.remove(index).owner = null;
+            invalidateGeometry();
         }
     }
     
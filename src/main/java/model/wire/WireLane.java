@@ -0,0 +1,80 @@
+package model.wire;
+
+import model.entity.packets.Packet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Packets currently travelling on one wire, ordered by movement progress (source to destination).
+ * Neighbours in this list are the only candidates for same-wire interactions.
+ */
+public class WireLane {
+    private final List<Packet> packets = new ArrayList<>();
+
+    /**
+     * Insert a packet at its progress-ordered position
+     */
+    public void add(Packet packet) {
+        if (packet == null || packets.contains(packet)) return;
+        int i = packets.size();
+        while (i > 0 && packets.get(i - 1).getMovementProgress() > packet.getMovementProgress()) {
+            i--;
+        }
+        packets.add(i, packet);
+    }
+
+    public void remove(Packet packet) {
+        packets.remove(packet);
+    }
+
+    /**
+     * Swap a packet for its replacement in place (e.g. protected packet conversion)
+     */
+    public void replace(Packet oldPacket, Packet newPacket) {
+        int i = packets.indexOf(oldPacket);
+        if (i >= 0) packets.set(i, newPacket);
+    }
+
+    /**
+     * Drop packets that have left the given wire and restore progress order.
+     * Order changes little between ticks, so an insertion sort is linear in practice.
+     */
+    public void refresh(Wire owner) {
+        packets.removeIf(p -> p.getCurrentWire() != owner);
+        for (int i = 1; i < packets.size(); i++) {
+            Packet current = packets.get(i);
+            double progress = current.getMovementProgress();
+            int j = i - 1;
+            while (j >= 0 && packets.get(j).getMovementProgress() > progress) {
+                packets.set(j + 1, packets.get(j));
+                j--;
+            }
+            packets.set(j + 1, current);
+        }
+    }
+
+    public int indexOf(Packet packet) {
+        return packets.indexOf(packet);
+    }
+
+    public Packet get(int index) {
+        return packets.get(index);
+    }
+
+    public int size() {
+        return packets.size();
+    }
+
+    public boolean isEmpty() {
+        return packets.isEmpty();
+    }
+
+    public void clear() {
+        packets.clear();
+    }
+
+    public List<Packet> getPackets() {
+        return Collections.unmodifiableList(packets);
+    }
+}
@@ -5,6 +5,7 @@ public class LevelStateSave {
     public int packetsGenerated;
     public int packetLoss;
     public int packetsCollected;
+    public int packetIdCounter;
     public boolean impactDisabled;
     public boolean collisionsDisabled;
     public double impactSecondsRemaining;
@@ -5,6 +5,7 @@ import javafx.scene.media.MediaPlayer;
 import javafx.util.Duration;
 import java.io.File;
 import java.net.URL;
+import service.log.Log;
 
 public class AudioManager {
     private static MediaPlayer backgroundMusicPlayer;
@@ -213,7 +214,7 @@ public class AudioManager {
             packetDamagePlayer.stop();
             packetDamagePlayer.seek(Duration.ZERO);
             packetDamagePlayer.play();
-            System.out.println("AUDIO: Playing packet damage sound");
+            Log.debug("AudioManager", () -> "Playing packet damage sound");
         } catch (Exception e) {
             System.err.println("Error playing packet damage sound: " + e.getMessage());
         }
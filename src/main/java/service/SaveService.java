@@ -111,9 +111,13 @@ public class SaveService {
             while (level.getPacketsGenerated() < save.levelState.packetsGenerated) level.incrementPacketsGenerated();
             while (level.getPacketLoss() < save.levelState.packetLoss) level.incrementPacketLoss();
             while (level.getPacketsCollected() < save.levelState.packetsCollected) level.incrementPacketsCollected();
+            // Older saves have no counter; keep ours so new ids never repeat a loaded one
+            if (save.levelState.packetIdCounter > level.getLevelState().getPacketIdCounter()) {
+                level.getLevelState().setPacketIdCounter(save.levelState.packetIdCounter);
+            }
             level.setImpactDisabled(save.levelState.impactDisabled);
             level.setCollisionsDisabled(save.levelState.collisionsDisabled);
-            long nowN = java.lang.System.nanoTime();
+            long nowN = level.getClock().nanoTime();
             if (save.levelState.impactSecondsRemaining > 0) {
                 level.getLevelState().setImpactDisableEndNanos(nowN + (long)(save.levelState.impactSecondsRemaining * 1_000_000_000L));
             }
@@ -130,7 +134,7 @@ public class SaveService {
         int deltaE = save.eliphasScrolls - level.getEliphasScrolls();
         if (deltaE != 0) level.addEliphasScrolls(deltaE);
 
-        long now = java.lang.System.nanoTime();
+        long now = level.getClock().nanoTime();
         if (save.aergiaSecondsRemaining > 0) {
             level.setAergiaCooldownEnd(now + (long) (save.aergiaSecondsRemaining * 1_000_000_000L));
         }
@@ -143,14 +147,9 @@ public class SaveService {
      */
     public void applySystemPositions(Level level, LevelSave save) {
         if (level == null || save == null || save.systems == null) return;
-        // Index systems by stable id
-        Map<String, System> systemsById = new HashMap<>();
-        for (System s : level.getSystems()) {
-            if (s.getId() != null) systemsById.put(s.getId(), s);
-        }
         for (SystemSave ss : save.systems) {
             if (ss == null || ss.id == null) continue;
-            System sys = systemsById.get(ss.id);
+            System sys = level.getSystemById(ss.id);
             if (sys == null) continue;
             javafx.geometry.Point2D current = sys.getPosition();
             javafx.geometry.Point2D target = new javafx.geometry.Point2D(ss.x, ss.y);
@@ -187,10 +186,11 @@ public class SaveService {
         ls.packetsGenerated = level.getPacketsGenerated();
         ls.packetLoss = level.getPacketLoss();
         ls.packetsCollected = level.getPacketsCollected();
-        ls.impactDisabled = level.isImpactDisabled();
-        ls.collisionsDisabled = level.isCollisionsDisabled();
+        ls.packetIdCounter = level.getLevelState().getPacketIdCounter();
+        ls.impactDisabled = level.getLevelState().isImpactDisabled();
+        ls.collisionsDisabled = level.getLevelState().isCollisionsDisabled();
         try {
-            long nowN = java.lang.System.nanoTime();
+            long nowN = level.getClock().nanoTime();
             long impactEnd = level.getLevelState().getImpactDisableEndNanos();
             long collEnd = level.getLevelState().getCollisionsDisableEndNanos();
             ls.impactSecondsRemaining = impactEnd > nowN ? (impactEnd - nowN) / 1_000_000_000.0 : 0.0;
@@ -200,7 +200,7 @@ public class SaveService {
 
         // Inventory/effects
         out.aergiaScrolls = level.getAergiaScrolls();
-        long now = java.lang.System.nanoTime();
+        long now = level.getClock().nanoTime();
         long cooldownEnd = level.getAergiaCooldownEnd();
         out.aergiaSecondsRemaining = cooldownEnd > now ? (cooldownEnd - now) / 1_000_000_000.0 : 0.0;
 
@@ -270,7 +270,7 @@ public class SaveService {
         // Packets
         out.packets = new java.util.ArrayList<>();
         for (Packet p : level.getPackets()) {
-            out.packets.add(packetToSave(p));
+            out.packets.add(packetToSave(p, level.getClock().nanoTime()));
         }
 
         // Queues
@@ -294,16 +294,9 @@ public class SaveService {
     public void restoreWires(Level level, LevelSave save, Pane gamePane) {
         if (level == null || save == null || save.wires == null || gamePane == null) return;
 
-        // Build lookup of ports by id
-        Map<String, Port> portById = new HashMap<>();
-        for (System s : level.getSystems()) {
-            for (Port p : s.getInPorts()) portById.put(p.getId(), p);
-            for (Port p : s.getOutPorts()) portById.put(p.getId(), p);
-        }
-
         for (WireSave ws : save.wires) {
-            Port src = ws.sourcePortId != null ? portById.get(ws.sourcePortId) : null;
-            Port dst = ws.destPortId != null ? portById.get(ws.destPortId) : null;
+            Port src = level.getPortById(ws.sourcePortId);
+            Port dst = level.getPortById(ws.destPortId);
             if (src == null || dst == null) continue;
 
             Wire wire = new Wire(ws.id != null ? ws.id : java.util.UUID.randomUUID().toString(), src, dst);
@@ -311,6 +304,7 @@ public class SaveService {
             // Attach to ports
             src.setWire(wire);
             dst.setWire(wire);
+            level.registerWire(wire);
 
             // Restore bend points
             if (ws.bendPoints != null) {
@@ -350,13 +344,6 @@ public class SaveService {
     public void restorePackets(Level level, LevelSave save) {
         if (level == null || save == null) return;
 
-        // Build quick lookups
-        Map<String, Wire> wireById = new HashMap<>();
-        for (System s : level.getSystems()) {
-            for (Port p : s.getInPorts()) if (p.getWire() != null) wireById.put(p.getWire().getId(), p.getWire());
-            for (Port p : s.getOutPorts()) if (p.getWire() != null) wireById.put(p.getWire().getId(), p.getWire());
-        }
-
         // Recreate packets-in-network
         if (save.packets != null) {
             for (PacketSave ps : save.packets) {
@@ -368,19 +355,19 @@ public class SaveService {
 
                 // Aergia effect
                 if (ps.aergiaSecondsRemaining > 0.0) {
-                    long end = java.lang.System.nanoTime() + (long)(ps.aergiaSecondsRemaining * 1_000_000_000L);
+                    long end = level.getClock().nanoTime() + (long)(ps.aergiaSecondsRemaining * 1_000_000_000L);
                     double frozen = ps.aergiaFrozenSpeed >= 0.0 ? ps.aergiaFrozenSpeed : packet.getSpeed();
                     packet.setAergiaFreeze(frozen, end);
                 }
 
                 // If assigned to a wire and was moving, resume movement from saved progress
                 if (ps.currentWireId != null && ps.moving) {
-                    Wire w = wireById.get(ps.currentWireId);
+                    Wire w = level.getWireById(ps.currentWireId);
                     if (w != null) {
                         PacketManager.startMovement(packet, w, true);
                         // Apply saved movement state
                         packet.setMovementProgress(ps.movementProgress);
-                        long now = java.lang.System.nanoTime();
+                        long now = level.getClock().nanoTime();
                         long start = now - (long)(ps.secondsSinceMovementStart * 1_000_000_000L);
                         packet.setMovementStartTime(start);
                         // Set position to match progress
@@ -413,11 +400,8 @@ public class SaveService {
             Map<String, Packet> byId = new HashMap<>();
             for (Packet p : level.getPackets()) byId.put(p.getId(), p);
 
-            Map<String, System> systemsById = new HashMap<>();
-            for (System s : level.getSystems()) if (s.getId() != null) systemsById.put(s.getId(), s);
-
             for (Map.Entry<String, java.util.List<String>> e : save.systemPacketQueues.entrySet()) {
-                System sys = systemsById.get(e.getKey());
+                System sys = level.getSystemById(e.getKey());
                 if (sys instanceof IntermediateSystem) {
                     IntermediateSystem isys = (IntermediateSystem) sys;
                     for (String pid : e.getValue()) {
@@ -479,16 +463,7 @@ public class SaveService {
         return ps;
     }
 
-    private Wire findWireById(Level level, String wireId) {
-        // Currently wires aren't globally registered; derive from ports
-        for (System s : level.getSystems()) {
-            for (Port p : s.getInPorts()) if (p.getWire() != null && p.getWire().getId().equals(wireId)) return p.getWire();
-            for (Port p : s.getOutPorts()) if (p.getWire() != null && p.getWire().getId().equals(wireId)) return p.getWire();
-        }
-        return null;
-    }
-
-    private PacketSave packetToSave(Packet p) {
+    private PacketSave packetToSave(Packet p, long now) {
         PacketSave s = new PacketSave();
         s.id = p.getId();
         s.type = p.getType().name();
@@ -509,7 +484,6 @@ public class SaveService {
         }
         s.currentWireId = p.getCurrentWire() != null ? p.getCurrentWire().getId() : null;
         s.movementProgress = p.getMovementProgress();
-        long now = java.lang.System.nanoTime();
         long start = p.getMovementStartTime();
         s.secondsSinceMovementStart = start > 0 ? (now - start) / 1_000_000_000.0 : 0.0;
         s.compatibleWithCurrentPort = p.isCompatibleWithCurrentPort();
@@ -0,0 +1,141 @@
+package service.log;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight logging facade for the game.
+ * Messages are suppliers, evaluated only if their level is enabled. Formatted lines go into a
+ * lock-free ring buffer and a daemon thread writes them to a rotating file (logs/game.log),
+ * so the FX and simulation threads never do console or file I/O.
+ *
+ * Configuration (JVM system properties):
+ *   log.level   - TRACE, DEBUG, INFO (default), WARN, ERROR or OFF
+ *   log.console - true to also echo drained lines to stdout
+ *   log.file    - log file path (default logs/game.log)
+ */
+public final class Log {
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final long MAX_FILE_BYTES = 5L * 1024 * 1024;
+    private static final int KEEP_FILES = 3;
+
+    private static volatile Level threshold = parseLevel(java.lang.System.getProperty("log.level"), Level.INFO);
+    private static final boolean ECHO_CONSOLE = Boolean.getBoolean("log.console");
+    private static final LogRingBuffer BUFFER = new LogRingBuffer(BUFFER_CAPACITY);
+    private static final ConcurrentHashMap<String, RateLimit> RATE_LIMITS = new ConcurrentHashMap<>();
+    private static final Thread DRAIN_THREAD;
+
+    static {
+        Path file = Paths.get(java.lang.System.getProperty("log.file", "logs/game.log"));
+        DRAIN_THREAD = new Thread(() -> drainLoop(new RotatingFileSink(file, MAX_FILE_BYTES, KEEP_FILES)), "log-drain");
+        DRAIN_THREAD.setDaemon(true);
+        DRAIN_THREAD.start();
+    }
+
+    private Log() {}
+
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level != Level.OFF && level.ordinal() >= threshold.ordinal();
+    }
+
+    public static void trace(String tag, Supplier<String> message) { log(Level.TRACE, tag, message); }
+    public static void debug(String tag, Supplier<String> message) { log(Level.DEBUG, tag, message); }
+    public static void info(String tag, Supplier<String> message) { log(Level.INFO, tag, message); }
+    public static void warn(String tag, Supplier<String> message) { log(Level.WARN, tag, message); }
+    public static void error(String tag, Supplier<String> message) { log(Level.ERROR, tag, message); }
+
+    public static void error(String tag, Supplier<String> message, Throwable t) {
+        if (!isEnabled(Level.ERROR)) return;
+        log(Level.ERROR, tag, () -> message.get() + " - " + t);
+    }
+
+    public static void log(Level level, String tag, Supplier<String> message) {
+        if (!isEnabled(level)) return;
+        enqueue(level, tag, message.get(), 0);
+    }
+
+    /**
+     * Log at most once per interval for the given call site; suppressed calls are counted
+     * and reported with the next line that gets through.
+     * @param site stable call-site key, e.g. "PacketManager.aergiaCrossed"
+     */
+    public static void limited(Level level, String site, long minIntervalMillis, Supplier<String> message) {
+        if (!isEnabled(level)) return;
+        RateLimit limit = RATE_LIMITS.computeIfAbsent(site, k -> new RateLimit());
+        long now = java.lang.System.nanoTime();
+        long last = limit.lastEmitNanos.get();
+        if (last != 0 && now - last < minIntervalMillis * 1_000_000L) {
+            limit.suppressed.incrementAndGet();
+            return;
+        }
+        if (!limit.lastEmitNanos.compareAndSet(last, now)) {
+            limit.suppressed.incrementAndGet();
+            return;
+        }
+        enqueue(level, site, message.get(), limit.suppressed.getAndSet(0));
+    }
+
+    public static void debugLimited(String site, long minIntervalMillis, Supplier<String> message) {
+        limited(Level.DEBUG, site, minIntervalMillis, message);
+    }
+
+    private static void enqueue(Level level, String tag, String text, long suppressed) {
+        StringBuilder sb = new StringBuilder(text.length() + 48);
+        sb.append(LocalTime.now()).append(' ').append(level).append(' ')
+          .append('[').append(tag).append("] ").append(text);
+        if (suppressed > 0) sb.append(" (+").append(suppressed).append(" suppressed)");
+        BUFFER.offer(sb.toString());
+        if (DRAIN_THREAD != null) LockSupport.unpark(DRAIN_THREAD);
+    }
+
+    private static void drainLoop(RotatingFileSink sink) {
+        while (true) {
+            boolean wrote = false;
+            String line;
+            try {
+                while ((line = BUFFER.poll()) != null) {
+                    sink.write(line);
+                    if (ECHO_CONSOLE) java.lang.System.out.println(line);
+                    wrote = true;
+                }
+                long dropped = BUFFER.takeDropped();
+                if (dropped > 0) {
+                    sink.write(LocalTime.now() + " WARN [Log] " + dropped + " lines dropped (buffer full)");
+                    wrote = true;
+                }
+                if (wrote) sink.flush();
+            } catch (IOException e) {
+                // File unavailable: discard this batch rather than block producers
+                sink.close();
+            }
+            if (!wrote) LockSupport.parkNanos(50_000_000L);
+        }
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null) return fallback;
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    private static final class RateLimit {
+        final AtomicLong lastEmitNanos = new AtomicLong();
+        final AtomicLong suppressed = new AtomicLong();
+    }
+}
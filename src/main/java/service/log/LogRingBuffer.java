@@ -0,0 +1,78 @@
+package service.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer queue of log lines.
+ * Producers claim a slot with one CAS and never block: when the buffer is full the
+ * line is dropped and counted instead, so logging can never stall the game thread.
+ * Each slot carries a sequence number (Vyukov's bounded queue), so producers learn whether a
+ * slot is free from its sequence rather than its content, and the consumer only reads a slot
+ * once the producer that claimed it has published.
+ */
+class LogRingBuffer {
+    private final String[] slots;
+    // Slot i is free for position p when it holds p, readable when it holds p + 1
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next position to claim (producers)
+    private final AtomicLong dropped = new AtomicLong();
+    private long tail = 0;                            // next position to read (consumer only)
+
+    LogRingBuffer(int capacityPowerOfTwo) {
+        if (Integer.bitCount(capacityPowerOfTwo) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.slots = new String[capacityPowerOfTwo];
+        this.sequences = new AtomicLongArray(capacityPowerOfTwo);
+        for (int i = 0; i < capacityPowerOfTwo; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = capacityPowerOfTwo - 1;
+    }
+
+    /**
+     * Enqueue a line; returns false (and counts a drop) if the buffer is full.
+     */
+    boolean offer(String line) {
+        while (true) {
+            long h = head.get();
+            int index = (int) (h & mask);
+            long diff = sequences.get(index) - h;
+            if (diff < 0) {
+                // The consumer has not freed this slot from one lap ago: buffer is full
+                dropped.incrementAndGet();
+                return false;
+            }
+            if (diff == 0 && head.compareAndSet(h, h + 1)) {
+                slots[index] = line;
+                // Publishing the sequence makes the line visible to the consumer
+                sequences.set(index, h + 1);
+                return true;
+            }
+            // Another producer claimed h first; retry with the new head
+        }
+    }
+
+    /**
+     * Dequeue the next line, or null if none is published yet. Consumer thread only.
+     */
+    String poll() {
+        int index = (int) (tail & mask);
+        if (sequences.get(index) != tail + 1) return null;
+        String line = slots[index];
+        slots[index] = null;
+        // Free the slot for the producer one lap ahead
+        sequences.set(index, tail + slots.length);
+        tail++;
+        return line;
+    }
+
+    /**
+     * Number of lines dropped since the last call (resets the counter)
+     */
+    long takeDropped() {
+        return dropped.getAndSet(0);
+    }
+}
@@ -0,0 +1,69 @@
+package service.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends lines to a log file and rotates it when it grows past a size limit:
+ * game.log -> game.log.1 -> game.log.2 ... keeping a fixed number of old files.
+ * Used only from the log drain thread.
+ */
+class RotatingFileSink {
+    private final Path file;
+    private final long maxBytes;
+    private final int keepFiles;
+    private BufferedWriter writer;
+    private long bytesWritten;
+
+    RotatingFileSink(Path file, long maxBytes, int keepFiles) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.keepFiles = keepFiles;
+    }
+
+    void write(String line) throws IOException {
+        if (writer == null) open();
+        writer.write(line);
+        writer.newLine();
+        bytesWritten += line.length() + 1;
+        if (bytesWritten >= maxBytes) rotate();
+    }
+
+    void flush() throws IOException {
+        if (writer != null) writer.flush();
+    }
+
+    void close() {
+        try {
+            if (writer != null) writer.close();
+        } catch (IOException ignored) {
+        }
+        writer = null;
+    }
+
+    private void open() throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        bytesWritten = Files.size(file);
+    }
+
+    private void rotate() throws IOException {
+        close();
+        for (int i = keepFiles - 1; i >= 1; i--) {
+            Path older = file.resolveSibling(file.getFileName() + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, file.resolveSibling(file.getFileName() + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (keepFiles > 0 && Files.exists(file)) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+}
@@ -0,0 +1,90 @@
+package view.components;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import model.entity.ports.Port;
+import model.entity.systems.System;
+import model.levels.LayoutIndex;
+import model.wire.Wire;
+import view.components.ports.PortView;
+import view.components.systems.SystemView;
+import view.components.wires.WireView;
+
+/**
+ * Lookup from model systems, ports and wires to the views drawing them.
+ * The level view registers system and port views as it builds them and wire views register themselves,
+ * so the latest view for a model object wins (e.g. the replacement PortView after a port morph).
+ * A level view clears the registry before building its nodes.
+ */
+public final class ViewRegistry {
+    private static final Map<System, SystemView> SYSTEMS = new HashMap<>();
+    private static final Map<Port, PortView> PORTS = new HashMap<>();
+    private static final Map<Wire, WireView> WIRES = new HashMap<>();
+
+    private ViewRegistry() {
+    }
+
+    public static void register(SystemView view) {
+        if (view.getSystem() != null) SYSTEMS.put(view.getSystem(), view);
+    }
+
+    public static void register(PortView view) {
+        if (view.getModelPort() != null) PORTS.put(view.getModelPort(), view);
+    }
+
+    public static void register(WireView view) {
+        if (view.getWireModel() != null) WIRES.put(view.getWireModel(), view);
+    }
+
+    /**
+     * Drop a port view that was taken off the pane, unless a newer view already replaced it
+     */
+    public static void unregister(PortView view) {
+        PORTS.remove(view.getModelPort(), view);
+    }
+
+    /**
+     * Drop the view of a wire that was removed from the level
+     */
+    public static void unregister(Wire wire) {
+        WIRES.remove(wire);
+    }
+
+    public static SystemView getSystemView(System system) {
+        return SYSTEMS.get(system);
+    }
+
+    public static PortView getPortView(Port port) {
+        return PORTS.get(port);
+    }
+
+    public static WireView getWireView(Wire wire) {
+        return WIRES.get(wire);
+    }
+
+    public static Collection<PortView> getPortViews() {
+        return Collections.unmodifiableCollection(PORTS.values());
+    }
+
+    /**
+     * Port view whose bounds contain a point in game-pane coordinates, or null.
+     * Only the ports the level's layout index places under the point are tested.
+     */
+    public static PortView findPortViewAt(LayoutIndex layout, double x, double y) {
+        for (Port port : layout.portsAt(x, y)) {
+            PortView view = PORTS.get(port);
+            if (view != null && view.getParent() != null && view.getBoundsInParent().contains(x, y)) {
+                return view;
+            }
+        }
+        return null;
+    }
+
+    public static void clear() {
+        SYSTEMS.clear();
+        PORTS.clear();
+        WIRES.clear();
+    }
+}
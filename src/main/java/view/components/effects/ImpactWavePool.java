@@ -0,0 +1,120 @@
+package view.components.effects;
+
+import javafx.animation.FadeTransition;
+import javafx.animation.ParallelTransition;
+import javafx.animation.ScaleTransition;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.util.Duration;
+
+/**
+ * Fixed set of reusable impact-wave rings for one layer.
+ * Rings and their animations are created once and stay on the layer (hidden when idle), so a
+ * collision storm never adds or removes scene-graph nodes. Waves landing close to one that just
+ * started are merged into it, and once every ring is busy further waves are skipped.
+ */
+public class ImpactWavePool {
+    private static final int POOL_SIZE = 12;
+    private static final double BASE_RADIUS = 5.0;
+    private static final Duration WAVE_DURATION = Duration.millis(500);
+    /** Waves this close to one started in the same frame are drawn as one. */
+    private static final double COALESCE_RADIUS = 30.0;
+    private static final long FRAME_NANOS = 16_666_667L;
+
+    private final Pane layer;
+    private final Ring[] rings = new Ring[POOL_SIZE];
+
+    public ImpactWavePool(Pane layer, double maxRadius) {
+        this.layer = layer;
+        for (int i = 0; i < POOL_SIZE; i++) {
+            rings[i] = new Ring(maxRadius / BASE_RADIUS);
+        }
+    }
+
+    public Pane getLayer() {
+        return layer;
+    }
+
+    /**
+     * Show a wave at (x, y) unless it merges with a fresh nearby wave or the pool is exhausted.
+     * @return true if a ring was started
+     */
+    public boolean play(double x, double y) {
+        long now = java.lang.System.nanoTime();
+        Ring free = null;
+        for (Ring ring : rings) {
+            if (ring.busy) {
+                if (now - ring.startedAt < FRAME_NANOS && ring.isNear(x, y)) {
+                    return false;
+                }
+            } else if (free == null) {
+                free = ring;
+            }
+        }
+        if (free == null) {
+            return false;
+        }
+        free.start(x, y, now);
+        return true;
+    }
+
+    public int getActiveCount() {
+        int active = 0;
+        for (Ring ring : rings) {
+            if (ring.busy) active++;
+        }
+        return active;
+    }
+
+    private final class Ring {
+        final Circle circle = new Circle(0, 0, BASE_RADIUS);
+        final ParallelTransition animation;
+        boolean busy = false;
+        long startedAt = 0;
+
+        Ring(double targetScale) {
+            circle.setFill(Color.TRANSPARENT);
+            circle.setStroke(Color.RED);
+            circle.setStrokeWidth(3);
+            circle.getStyleClass().add("impact-wave");
+            circle.setMouseTransparent(true);
+            circle.setVisible(false);
+
+            ScaleTransition scale = new ScaleTransition(WAVE_DURATION, circle);
+            scale.setFromX(0.1);
+            scale.setFromY(0.1);
+            scale.setToX(targetScale);
+            scale.setToY(targetScale);
+
+            FadeTransition fade = new FadeTransition(WAVE_DURATION, circle);
+            fade.setFromValue(1.0);
+            fade.setToValue(0.0);
+
+            animation = new ParallelTransition(scale, fade);
+            animation.setOnFinished(event -> {
+                circle.setVisible(false);
+                busy = false;
+            });
+        }
+
+        boolean isNear(double x, double y) {
+            double dx = circle.getCenterX() - x;
+            double dy = circle.getCenterY() - y;
+            return dx * dx + dy * dy <= COALESCE_RADIUS * COALESCE_RADIUS;
+        }
+
+        void start(double x, double y, long now) {
+            // The layer may have been cleared (level reload); attach lazily
+            if (circle.getParent() != layer) {
+                layer.getChildren().add(circle);
+            }
+            circle.setCenterX(x);
+            circle.setCenterY(y);
+            circle.setVisible(true);
+            busy = true;
+            startedAt = now;
+            animation.playFromStart();
+        }
+    }
+}
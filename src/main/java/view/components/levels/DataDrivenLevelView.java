@@ -4,6 +4,7 @@ import config.levels.LevelDefinition;
 import config.levels.LevelDisplayDefinition;
 import manager.game.VisualManager;
 import model.levels.Level;
+import view.components.ViewRegistry;
 import view.components.ports.PortView;
 import view.components.ports.TrianglePortView;
 import view.components.ports.HexagonPortView;
@@ -20,10 +21,17 @@ public class DataDrivenLevelView extends LevelView {
     public DataDrivenLevelView(Level level, VisualManager visualManager, LevelDefinition definition) {
         super(level, visualManager);
         this.definition = definition;
+        // Views from a previous level must not answer lookups for this one
+        ViewRegistry.clear();
         applyDisplaySettings();
         addSystemViews();
     }
 
+    @Override
+    public view.components.packets.PacketRenderMode getPacketRenderMode() {
+        return view.components.packets.PacketRenderMode.fromConfig(definition.getDisplay().getPacketRenderer());
+    }
+
     private void applyDisplaySettings() {
         LevelDisplayDefinition.GamePaneSize size = definition.getDisplay().getGamePane();
         getGamePane().setPrefSize(size.getWidth(), size.getHeight());
@@ -36,6 +44,7 @@ public class DataDrivenLevelView extends LevelView {
             view.setLayoutX(system.getPosition().getX() - SystemView.SYSTEM_WIDTH / 2);
             view.setLayoutY(system.getPosition().getY() - SystemView.SYSTEM_HEIGHT / 2);
             gamePane.getChildren().add(view);
+            ViewRegistry.register(view);
             systemViews.add(view);
             addPortsToGamePane(view);
         }
@@ -113,6 +122,7 @@ public class DataDrivenLevelView extends LevelView {
             model.entity.ports.Port modelPort = systemView.getSystem().getInPorts().get(i);
             positionPortView(portView, modelPort);
             gamePane.getChildren().add(portView);
+            ViewRegistry.register(portView);
         }
         // Outputs
         for (int i = 0; i < systemView.getOutputPortViews().size(); i++) {
@@ -120,6 +130,7 @@ public class DataDrivenLevelView extends LevelView {
             model.entity.ports.Port modelPort = systemView.getSystem().getOutPorts().get(i);
             positionPortView(portView, modelPort);
             gamePane.getChildren().add(portView);
+            ViewRegistry.register(portView);
         }
     }
 
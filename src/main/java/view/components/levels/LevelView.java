@@ -264,11 +264,7 @@ public abstract class LevelView extends StackPane {
         // Update packets collected (actual count from end systems)
         hud.getPacketsBox().setValue(String.valueOf(level.getPacketsCollected()));
         
-        // Update temporal progress
-        if (hud.getTemporalProgress() != null) {
-            hud.getTemporalProgress().getProgressBar().setProgress(level.getCurrentTime() / 100.0); // Normalize to 0-1
-            hud.getTemporalProgress().getTimeLabel().setText("Time: " + level.getCurrentTime());
-        }
+        // Temporal progress shows the rewind history and is driven by GameController
         updateAergiaButtonState();
     }
 
@@ -282,6 +278,13 @@ public abstract class LevelView extends StackPane {
         // Silent in production: no per-tick logging
     }
 
+    /**
+     * How this level draws packets; levels without a display setting pick automatically
+     */
+    public view.components.packets.PacketRenderMode getPacketRenderMode() {
+        return view.components.packets.PacketRenderMode.AUTO;
+    }
+
     /**
      * Get game pane for adding game elements
      */
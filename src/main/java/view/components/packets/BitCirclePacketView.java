@@ -1,5 +1,6 @@
 package view.components.packets;
 
+import javafx.geometry.Point2D;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Shape;
@@ -15,29 +16,17 @@ public class BitCirclePacketView extends PacketView {
     @Override
     protected Shape createPacketShape() {
         Circle c = new Circle(RADIUS);
-        // Random distinct color per bit
-        c.setFill(Color.hsb(Math.random() * 360.0, 0.8, 0.9));
+        // Distinct color per bit, derived from its id
+        c.setFill(Color.hsb(bitHue(packet), 0.8, 0.9));
         c.setStroke(Color.WHITE);
         c.setStrokeWidth(1.0);
         return c;
     }
 
+    // Center the circle on the wire - offset by radius
     @Override
-    public void updatePosition() {
-        if (packet != null && packet.getPosition() != null) {
-            double centerX = packet.getPosition().getX();
-            double centerY = packet.getPosition().getY();
-            
-            // Apply deflection effects to visual position
-            centerX += packet.getDeflectedX();
-            centerY += packet.getDeflectedY();
-            
-            // Center the circle on the wire - offset by radius to center properly
-            centerY -= RADIUS;
-            
-            this.setLayoutX(centerX);
-            this.setLayoutY(centerY);
-        }
+    protected Point2D anchorOffset() {
+        return new Point2D(0, RADIUS);
     }
 }
 
@@ -1,5 +1,6 @@
 package view.components.packets;
 
+import javafx.geometry.Point2D;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.shape.Shape;
@@ -15,29 +16,16 @@ public class BitRectPacketView extends PacketView {
     @Override
     protected Shape createPacketShape() {
         Rectangle r = new Rectangle(SIZE, SIZE);
-        r.setFill(Color.hsb(Math.random() * 360.0, 0.8, 0.9));
+        r.setFill(Color.hsb(bitHue(packet), 0.8, 0.9));
         r.setStroke(Color.WHITE);
         r.setStrokeWidth(1.0);
         return r;
     }
 
+    // Center the rectangle on the wire - offset by half size on both axes
     @Override
-    public void updatePosition() {
-        if (packet != null && packet.getPosition() != null) {
-            double centerX = packet.getPosition().getX();
-            double centerY = packet.getPosition().getY();
-            
-            // Apply deflection effects to visual position
-            centerX += packet.getDeflectedX();
-            centerY += packet.getDeflectedY();
-            
-            // Center the rectangle on the wire - offset by half size to center properly
-            centerY -= SIZE / 2.0;
-            centerX -= SIZE / 2.0;
-            
-            this.setLayoutX(centerX);
-            this.setLayoutY(centerY);
-        }
+    protected Point2D anchorOffset() {
+        return new Point2D(SIZE / 2.0, SIZE / 2.0);
     }
 }
 
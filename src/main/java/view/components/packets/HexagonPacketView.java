@@ -11,7 +11,7 @@ public class HexagonPacketView extends PacketView {
 
     public HexagonPacketView(HexagonPacket packet) {
         super(packet);
-        this.hexagonShape = (Polygon) createPacketShape();
+        this.hexagonShape = (Polygon) packetShape;
         setupHexagonAppearance();
     }
 
@@ -48,19 +48,25 @@ public class HexagonPacketView extends PacketView {
     public void updateHealth() {
         super.updateHealth();
         
-        // Additional hexagon-specific health visualization
-        double healthPercentage = (double) packet.getCurrentHealth() / packet.getHealth();
-        
         // Change color based on health (darker when damaged)
-        if (healthPercentage <= 0.5) {
-            hexagonShape.setFill(Color.DARKRED);
-        } else if (healthPercentage <= 0.75) {
-            hexagonShape.setFill(Color.DARKGRAY);
-        } else {
-            hexagonShape.setFill(Color.BLACK);
+        switch (healthBand(packet)) {
+            case 2: hexagonShape.setFill(Color.DARKRED); break;
+            case 1: hexagonShape.setFill(Color.DARKGRAY); break;
+            default: hexagonShape.setFill(Color.BLACK);
         }
     }
 
+    /**
+     * 0 above 75% health, 1 down to 50%, 2 below that
+     */
+    static int healthBand(Packet packet) {
+        double healthPercentage = (double) packet.getCurrentHealth() / packet.getHealth();
+        if (healthPercentage <= 0.5) return 2;
+        if (healthPercentage <= 0.75) return 1;
+        return 0;
+    }
+
+    @Override
     public void updateMovementState() {
         // Update visual representation based on movement state
         HexagonPacket hexagonPacket = (HexagonPacket) getPacket();
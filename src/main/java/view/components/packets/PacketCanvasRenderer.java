@@ -0,0 +1,107 @@
+package view.components.packets;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import model.entity.packets.Packet;
+
+/**
+ * Draws packets onto one canvas per frame instead of keeping a node per packet.
+ * Each packet look is rendered once from its regular {@link PacketView}, in the packet's current
+ * state, into a glyph image cached under {@link PacketView#glyphKey}. Glyphs are placed with the
+ * view's own anchor offset, so both modes look the same. The canvas ignores the mouse and sits
+ * above the layer.
+ */
+public class PacketCanvasRenderer {
+    private final Canvas canvas = new Canvas();
+    private final Function<Packet, PacketView> viewFactory;
+    private final Map<String, Glyph> glyphs = new HashMap<>();
+    private Pane layer;
+
+    public PacketCanvasRenderer(Function<Packet, PacketView> viewFactory) {
+        this.viewFactory = viewFactory;
+        canvas.setMouseTransparent(true);
+        canvas.getStyleClass().add("packet-canvas");
+    }
+
+    public void attach(Pane layer) {
+        if (this.layer == layer) return;
+        detach();
+        this.layer = layer;
+        canvas.widthProperty().bind(layer.widthProperty());
+        canvas.heightProperty().bind(layer.heightProperty());
+        layer.getChildren().add(canvas);
+    }
+
+    public void detach() {
+        if (layer == null) return;
+        layer.getChildren().remove(canvas);
+        canvas.widthProperty().unbind();
+        canvas.heightProperty().unbind();
+        canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        layer = null;
+    }
+
+    public boolean isAttached() {
+        return layer != null;
+    }
+
+    /**
+     * Redraw the canvas with the given packets
+     */
+    public void render(Iterable<Packet> packets) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (Packet packet : packets) {
+            if (packet.getPosition() == null) continue;
+            Glyph glyph = glyphFor(packet);
+            if (glyph == null) continue;
+            double x = packet.getPosition().getX() + packet.getDeflectedX();
+            double y = packet.getPosition().getY() + packet.getDeflectedY();
+            gc.drawImage(glyph.image, x + glyph.offsetX, y + glyph.offsetY);
+        }
+    }
+
+    private Glyph glyphFor(Packet packet) {
+        String key = PacketView.glyphKey(packet);
+        Glyph glyph = glyphs.get(key);
+        if (glyph == null) {
+            PacketView view = viewFactory.apply(packet);
+            if (view == null) return null;
+            view.updateHealth();
+            view.updateMovementState();
+            SnapshotParameters params = new SnapshotParameters();
+            params.setFill(Color.TRANSPARENT);
+            WritableImage image = view.snapshot(params, null);
+            // Offsets from the packet position to the image's top-left: the view sits at
+            // position - anchor, and its bounds start (min - layout) from there
+            Bounds bounds = view.getBoundsInParent();
+            Point2D anchor = view.anchorOffset();
+            glyph = new Glyph(image,
+                    bounds.getMinX() - view.getLayoutX() - anchor.getX(),
+                    bounds.getMinY() - view.getLayoutY() - anchor.getY());
+            glyphs.put(key, glyph);
+        }
+        return glyph;
+    }
+
+    private static final class Glyph {
+        final WritableImage image;
+        final double offsetX;
+        final double offsetY;
+
+        Glyph(WritableImage image, double offsetX, double offsetY) {
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+    }
+}
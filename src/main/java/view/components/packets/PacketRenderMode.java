@@ -0,0 +1,23 @@
+package view.components.packets;
+
+/**
+ * How packets are drawn: one scene-graph node each, one shared canvas, or nodes until the
+ * packet count makes the canvas worthwhile.
+ */
+public enum PacketRenderMode {
+    NODES,
+    CANVAS,
+    AUTO;
+
+    /**
+     * Parse a level display setting ("nodes", "canvas", "auto"); anything else means AUTO
+     */
+    public static PacketRenderMode fromConfig(String value) {
+        if (value != null) {
+            for (PacketRenderMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.trim())) return mode;
+            }
+        }
+        return AUTO;
+    }
+}
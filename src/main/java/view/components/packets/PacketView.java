@@ -1,5 +1,6 @@
 package view.components.packets;
 
+import javafx.geometry.Point2D;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Shape;
 import model.entity.packets.Packet;
@@ -32,21 +33,9 @@ public abstract class PacketView extends StackPane {
             centerX += deflectedX;
             centerY += deflectedY;
             
-            // Calculate Y-offset based on packet type for proper centering
-            double yOffset = 0;
-            if (packet instanceof model.entity.packets.SquarePacket) {
-                yOffset = 7.0; // Half of 14 (square packet visual size)
-            } else if (packet instanceof model.entity.packets.TrianglePacket) {
-                yOffset = 8.0; // Half of 16 (triangle packet visual size)
-            } else if (packet instanceof model.entity.packets.HexagonPacket) {
-                yOffset = 8.0; // Half of 16 (hexagon packet visual size)
-            } else if (packet instanceof ConfidentialPacket) {
-                yOffset = 8.0; // Half of 16 (confidential pentagon visual size)
-            } else if (packet instanceof model.entity.packets.MassivePacket) {
-                yOffset = 8.0; // Center circle with radius 8
-            }
-            
-            centerY -= yOffset;
+            Point2D anchor = anchorOffset();
+            centerX -= anchor.getX();
+            centerY -= anchor.getY();
             
             // Set the packet's layout position to the centered coordinates
             this.setLayoutX(centerX);
@@ -54,9 +43,68 @@ public abstract class PacketView extends StackPane {
         }
     }
     
+    /**
+     * Offset subtracted from the packet position to get this view's layout position.
+     * Called from the constructor, so overrides may only use constants.
+     */
+    protected Point2D anchorOffset() {
+        return new Point2D(0, visualYOffset(packet));
+    }
+
+    /**
+     * Key of everything that changes how a packet is drawn apart from its position; packets with
+     * equal keys render identically, which lets the canvas renderer share one glyph between them
+     */
+    public static String glyphKey(Packet packet) {
+        if (packet instanceof model.entity.packets.ProtectedPacket) {
+            // The health bar is sized by the current health
+            return packet.getType() + ":" + packet.getCurrentHealth();
+        } else if (packet instanceof model.entity.packets.HexagonPacket) {
+            boolean returning = ((model.entity.packets.HexagonPacket) packet).getMovementState()
+                    == model.logic.packet.PacketState.RETURNING;
+            return packet.getType() + ":" + HexagonPacketView.healthBand(packet) + (returning ? ":R" : "");
+        } else if (packet instanceof model.entity.packets.bits.BitCirclePacket
+                || packet instanceof model.entity.packets.bits.BitRectPacket) {
+            return packet.getType() + ":" + bitHue(packet);
+        }
+        return packet.getType().name();
+    }
+
+    /**
+     * Colour hue of a bit fragment, derived from its id so every view of it agrees
+     */
+    static double bitHue(Packet packet) {
+        String id = packet.getId();
+        return id != null ? Math.floorMod(id.hashCode(), 360) : 0;
+    }
+
+    /**
+     * Y-offset applied to a packet's position so the drawn shape is centred on the wire
+     */
+    public static double visualYOffset(Packet packet) {
+        if (packet instanceof model.entity.packets.SquarePacket) {
+            return 7.0; // Half of 14 (square packet visual size)
+        } else if (packet instanceof model.entity.packets.TrianglePacket) {
+            return 8.0; // Half of 16 (triangle packet visual size)
+        } else if (packet instanceof model.entity.packets.HexagonPacket) {
+            return 8.0; // Half of 16 (hexagon packet visual size)
+        } else if (packet instanceof ConfidentialPacket) {
+            return 8.0; // Half of 16 (confidential pentagon visual size)
+        } else if (packet instanceof model.entity.packets.MassivePacket) {
+            return 8.0; // Center circle with radius 8
+        } else if (packet instanceof model.entity.packets.ProtectedPacket) {
+            return 8.0; // Half of 16 (protected diamond visual size)
+        }
+        return 0;
+    }
+
     public void updateHealth() {
         // Do nothing: keep packet color and opacity static regardless of health or collisions
     }
+
+    public void updateMovementState() {
+        // Only hexagon packets show their movement state
+    }
     
     public void updateDeflection() {
         // Apply deflection visual effects
@@ -64,7 +112,9 @@ public abstract class PacketView extends StackPane {
         double deflectedY = packet.getDeflectedY();
         if (Math.abs(deflectedX) > 0.1 || Math.abs(deflectedY) > 0.1) {
             // Add shake effect for deflection
-            packetShape.getStyleClass().add("packet-deflected");
+            if (!packetShape.getStyleClass().contains("packet-deflected")) {
+                packetShape.getStyleClass().add("packet-deflected");
+            }
         } else {
             packetShape.getStyleClass().remove("packet-deflected");
         }
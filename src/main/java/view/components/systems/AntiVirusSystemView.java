@@ -4,13 +4,13 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.control.Label;
 import javafx.geometry.Pos;
 import model.entity.systems.AntiVirusSystem;
+import model.entity.systems.BufferingSystem;
 
 public class AntiVirusSystemView extends SystemView {
     private Label antivirusLabel;
     private Label capacityLabel;
     private Label statusLabel;
     private int currentCapacity = 0;
-    private final int maxCapacity = 5;
     
     public AntiVirusSystemView(AntiVirusSystem system) {
         super(system, "");  // No bottom label for AntiVirus systems
@@ -40,7 +40,7 @@ public class AntiVirusSystemView extends SystemView {
         antivirusLabel.setStyle("-fx-text-fill: #ffff00; -fx-font-weight: bold; -fx-font-size: 12;");
         
         // Create capacity label
-        capacityLabel = new Label(currentCapacity + "/" + maxCapacity);
+        capacityLabel = new Label(currentCapacity + "/" + getMaxCapacity());
         capacityLabel.getStyleClass().addAll("capacity-label", "capacity-normal");
         
         // Create status label for disabled state
@@ -66,13 +66,13 @@ public class AntiVirusSystemView extends SystemView {
     public void updateCapacity(int currentCapacity) {
         this.currentCapacity = currentCapacity;
         if (capacityLabel != null) {
-            capacityLabel.setText(currentCapacity + "/" + maxCapacity);
+            capacityLabel.setText(currentCapacity + "/" + getMaxCapacity());
             
             // Change color based on capacity
-            if (currentCapacity >= maxCapacity) {
+            if (currentCapacity >= getMaxCapacity()) {
                 capacityLabel.getStyleClass().removeAll("capacity-normal", "capacity-warning");
                 capacityLabel.getStyleClass().add("capacity-full");
-            } else if (currentCapacity >= maxCapacity * 0.7) {
+            } else if (currentCapacity >= getMaxCapacity() * 0.7) {
                 capacityLabel.getStyleClass().removeAll("capacity-normal", "capacity-full");
                 capacityLabel.getStyleClass().add("capacity-warning");
             } else {
@@ -117,4 +117,8 @@ public class AntiVirusSystemView extends SystemView {
     public AntiVirusSystem getAntiVirusSystem() {
         return (AntiVirusSystem) system;
     }
-} 
\ No newline at end of file
+
+    public int getMaxCapacity() {
+        return ((BufferingSystem) system).getStorageCapacity();
+    }
+}
@@ -4,12 +4,12 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.control.Label;
 import javafx.geometry.Pos;
 import model.entity.systems.DDosSystem;
+import model.entity.systems.BufferingSystem;
 
 public class DDosSystemView extends SystemView {
     private Label ddosLabel;
     private Label capacityLabel;
     private int currentCapacity = 0;
-    private final int maxCapacity = 5;
     
     public DDosSystemView(DDosSystem system) {
         super(system, "");  // No bottom label for DDoS systems
@@ -39,7 +39,7 @@ public class DDosSystemView extends SystemView {
         ddosLabel.setStyle("-fx-text-fill: #ff6600; -fx-font-weight: bold; -fx-font-size: 14;");
         
         // Create capacity label
-        capacityLabel = new Label(currentCapacity + "/" + maxCapacity);
+        capacityLabel = new Label(currentCapacity + "/" + getMaxCapacity());
         capacityLabel.getStyleClass().addAll("capacity-label", "capacity-normal");
         
         // Position labels
@@ -55,7 +55,7 @@ public class DDosSystemView extends SystemView {
     public void updateCapacity(int newCapacity) {
         if (capacityLabel != null) {
             String oldText = capacityLabel.getText();
-            String newText = newCapacity + "/" + maxCapacity;
+            String newText = newCapacity + "/" + getMaxCapacity();
             capacityLabel.setText(newText);
             
             // Update visibility based on capacity
@@ -69,7 +69,7 @@ public class DDosSystemView extends SystemView {
     }
     
     public int getMaxCapacity() {
-        return maxCapacity;
+        return ((BufferingSystem) system).getStorageCapacity();
     }
     
     public Label getCapacityLabel() {
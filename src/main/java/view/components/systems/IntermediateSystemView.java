@@ -4,12 +4,12 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.control.Label;
 import javafx.geometry.Pos;
 import model.entity.systems.IntermediateSystem;
+import model.entity.systems.BufferingSystem;
 
 public class IntermediateSystemView extends SystemView {
     private Label normalLabel;
     private Label capacityLabel;
     private int currentCapacity = 0;
-    private final int maxCapacity = 5;
     
     public IntermediateSystemView(IntermediateSystem system) {
         super(system, "");  // No bottom label for intermediate systems
@@ -30,7 +30,7 @@ public class IntermediateSystemView extends SystemView {
         normalLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14;");
         
         // Create capacity label
-        capacityLabel = new Label(currentCapacity + "/" + maxCapacity);
+        capacityLabel = new Label(currentCapacity + "/" + getMaxCapacity());
         capacityLabel.getStyleClass().addAll("capacity-label", "capacity-normal");
         
         // Position labels
@@ -46,7 +46,7 @@ public class IntermediateSystemView extends SystemView {
     public void updateCapacity(int newCapacity) {
         if (capacityLabel != null) {
             String oldText = capacityLabel.getText();
-            String newText = newCapacity + "/" + maxCapacity;
+            String newText = newCapacity + "/" + getMaxCapacity();
             capacityLabel.setText(newText);
             
             // Update visibility based on capacity
@@ -60,7 +60,7 @@ public class IntermediateSystemView extends SystemView {
     }
     
     public int getMaxCapacity() {
-        return maxCapacity;
+        return ((BufferingSystem) system).getStorageCapacity();
     }
     
     public Label getCapacityLabel() {
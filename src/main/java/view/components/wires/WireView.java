@@ -10,13 +10,11 @@ import javafx.scene.text.Text;
 import javafx.geometry.Point2D;
 
 import model.wire.Wire;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import view.components.ViewRegistry;
 import java.util.ArrayList;
 import java.util.List;
 
 public class WireView extends Group {
-    private static final Map<Wire, WireView> REGISTRY = new ConcurrentHashMap<>();
     private final Wire wireModel;
     private final List<QuadCurve> curves = new ArrayList<>();
     private final List<Circle> bendPointIndicators = new ArrayList<>();
@@ -49,8 +47,17 @@ public class WireView extends Group {
     }
 
     public WireView(Wire wireModel) {
+        this(wireModel, true);
+    }
+
+    /**
+     * @param register false for drag previews, which are never looked up and must not shadow a real wire's view
+     */
+    public WireView(Wire wireModel, boolean register) {
         this.wireModel = wireModel;
-        REGISTRY.put(wireModel, this);
+        if (register) {
+            ViewRegistry.register(this);
+        }
         this.wireLabel = new Text();
         this.outOfWireWarning = new Text("Out of wire!");
         
@@ -99,7 +106,7 @@ public class WireView extends Group {
      * Mark a wire as disabled in the UI by changing its color to red.
      */
     public static void markDisabled(Wire wire) {
-        WireView view = REGISTRY.get(wire);
+        WireView view = ViewRegistry.getWireView(wire);
         if (view == null) return;
         for (QuadCurve curve : view.curves) {
             curve.setStroke(Color.RED);
@@ -109,6 +116,15 @@ public class WireView extends Group {
         view.outOfWireWarning.setVisible(false);
     }
 
+    /**
+     * Undo {@link #markDisabled(Wire)} after the wire was reattached (timeline rewind).
+     */
+    public static void markEnabled(Wire wire) {
+        WireView view = ViewRegistry.getWireView(wire);
+        if (view == null) return;
+        view.createWireShape();
+    }
+
     public void createWireShape() {
         // Clear existing curves and bend indicators
         getChildren().removeAll(curves);
@@ -560,7 +576,7 @@ public class WireView extends Group {
      * Safe no-op if there is no view registered for the given wire.
      */
     public static void refresh(Wire wire) {
-        WireView view = REGISTRY.get(wire);
+        WireView view = ViewRegistry.getWireView(wire);
         if (view == null) return;
         view.createWireShape();
         view.updatePosition();
@@ -600,15 +616,8 @@ public class WireView extends Group {
     }
 
     private double distanceToCurve(javafx.scene.shape.QuadCurve c, Point2D p) {
-        double min = Double.MAX_VALUE;
-        for (int i = 0; i <= 100; i++) {
-            double t = i / 100.0;
-            double x = (1-t)*(1-t)*c.getStartX() + 2*(1-t)*t*c.getControlX() + t*t*c.getEndX();
-            double y = (1-t)*(1-t)*c.getStartY() + 2*(1-t)*t*c.getControlY() + t*t*c.getEndY();
-            double d = p.distance(x, y);
-            if (d < min) min = d;
-        }
-        return min;
+        return model.wire.QuadraticBezier.distance(c.getStartX(), c.getStartY(), c.getControlX(), c.getControlY(),
+            c.getEndX(), c.getEndY(), p.getX(), p.getY());
     }
 
     public Text getWireLabel() {
@@ -58,11 +58,6 @@ public class GameScene extends StackPane {
         // Initialize GameController and related components
         initializeGameController();
 
-        // Add existing packets to the view (if any)
-        for (model.entity.packets.Packet packet : level.getPackets()) {
-            packetController.addPacket(packet);
-        }
-
         // Set up ShopManager and ShopScene
         shopManager = new ShopManager(level);
         shopOverlay = new ShopScene(shopManager, level);
@@ -311,11 +306,6 @@ public class GameScene extends StackPane {
         
         // Set up ShopManager
         this.shopManager = gameController.getShopManager();
-        
-        // Add existing packets to the view (if any)
-        for (model.entity.packets.Packet packet : level.getPackets()) {
-            packetController.addPacket(packet);
-        }
     }
 
     /**
@@ -18,6 +18,7 @@ public class HUDScene extends VBox {
     private final javafx.scene.control.Button aergiaButton;
     private final javafx.scene.control.Button sisyphusButton;
     private final javafx.scene.control.Button eliphasButton;
+    private final Button timeScaleButton;
     private final Button toggleHudButton;
     private final TemporalProgress temporalProgress;
     private final HBox statsContainer;
@@ -91,11 +92,16 @@ public class HUDScene extends VBox {
         eliphasButton.getStyleClass().addAll("button", "eliphas-button");
         eliphasButton.setPrefWidth(120);
 
+        // Fast-forward toggle
+        timeScaleButton = new Button("Speed 1x");
+        timeScaleButton.getStyleClass().addAll("button", "time-scale-button");
+        timeScaleButton.setPrefWidth(120);
+
         // Button container for centering
         HBox buttonContainer = new HBox();
         buttonContainer.setAlignment(Pos.CENTER);
         buttonContainer.setSpacing(20);
-        buttonContainer.getChildren().addAll(toggleHudButton, aergiaButton, sisyphusButton, eliphasButton);
+        buttonContainer.getChildren().addAll(toggleHudButton, aergiaButton, sisyphusButton, eliphasButton, timeScaleButton);
 
         // Add all components to the main VBox
         this.getChildren().addAll(statsContainer, buttonContainer);
@@ -160,4 +166,5 @@ public class HUDScene extends VBox {
     public Button getAergiaButton() { return aergiaButton; }
     public Button getSisyphusButton() { return sisyphusButton; }
     public Button getEliphasButton() { return eliphasButton; }
+    public Button getTimeScaleButton() { return timeScaleButton; }
 }
@@ -1,5 +1,7 @@
 package view.game;
 
+import java.util.function.DoubleConsumer;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.shape.Circle;
@@ -11,6 +13,12 @@ public class TemporalProgress extends HBox {
     private final ProgressBar progressBar;
     private final Circle thumb;
     private final Label timeLabel;
+    private DoubleConsumer onSeek;
+    // Range last shown, used to preview the target time while the thumb is dragged
+    private long oldestNanos = -1;
+    private long newestNanos = -1;
+    private long windowNanos = 1;
+    private boolean scrubbing = false;
 
     public TemporalProgress(Level level) {
         this.setSpacing(10);
@@ -26,6 +34,69 @@ public class TemporalProgress extends HBox {
         timeLabel.getStyleClass().add("time-label");
         
         this.getChildren().addAll(progressBar, thumb, timeLabel);
+
+        // Dragging only previews the target; the rewind happens once, on release
+        progressBar.setOnMousePressed(this::preview);
+        progressBar.setOnMouseDragged(this::preview);
+        progressBar.setOnMouseReleased(this::seek);
+    }
+
+    /**
+     * @param onSeek receives the released position as a fraction (0-1) of the bar
+     */
+    public void setOnSeek(DoubleConsumer onSeek) {
+        this.onSeek = onSeek;
+    }
+
+    /**
+     * Show how much rewind history is recorded and place the thumb at the current time.
+     * While the thumb is being dragged only the filled part of the bar follows the level.
+     * @param oldestNanos clock time of the oldest restorable frame, or -1 if none
+     * @param newestNanos clock time of the newest frame, or -1 if none
+     * @param windowNanos history length the full bar stands for
+     * @param clockNanos simulated level time shown in the label
+     */
+    public void showTimeline(long oldestNanos, long newestNanos, long windowNanos, long clockNanos) {
+        this.oldestNanos = oldestNanos;
+        this.newestNanos = newestNanos;
+        this.windowNanos = Math.max(1, windowNanos);
+        double fraction = (double) (newestNanos - oldestNanos) / this.windowNanos;
+        progressBar.setProgress(Math.max(0, Math.min(1, fraction)));
+        if (!scrubbing) {
+            placeThumb(fraction, clockNanos);
+        }
+    }
+
+    private void placeThumb(double fraction, long clockNanos) {
+        double clamped = Math.max(0, Math.min(1, fraction));
+        // The thumb is laid out after the bar; shift it back onto the bar
+        thumb.setTranslateX(progressBar.getLayoutX() + clamped * progressBar.getWidth() - thumb.getLayoutX());
+        long seconds = Math.max(0, clockNanos) / 1_000_000_000L;
+        timeLabel.setText(String.format("%02d:%02d", seconds / 60, seconds % 60));
+    }
+
+    private void preview(MouseEvent event) {
+        double fraction = fractionAt(event);
+        if (fraction < 0) return;
+        scrubbing = true;
+        // Same mapping the controller applies on release
+        long target = oldestNanos < 0 ? 0 : Math.min(newestNanos, oldestNanos + (long) (fraction * windowNanos));
+        placeThumb(fraction, target);
+        event.consume();
+    }
+
+    private void seek(MouseEvent event) {
+        double fraction = fractionAt(event);
+        scrubbing = false;
+        if (onSeek == null || fraction < 0) return;
+        onSeek.accept(fraction);
+        event.consume();
+    }
+
+    private double fractionAt(MouseEvent event) {
+        double width = progressBar.getWidth();
+        if (width <= 0) return -1;
+        return Math.max(0, Math.min(1, event.getX() / width));
     }
 
     public ProgressBar getProgressBar() { return progressBar; }